@@ -0,0 +1,77 @@
+package talkie;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * Displays one message of the conversation in the GUI's message list.
+ * <p>
+ * The list only creates as many cells as fit on screen and reuses them as the user scrolls. Each cell creates at
+ * most one user dialog box and one Talkie dialog box, the first time it shows a message from each, and afterwards
+ * only changes their text.
+ * </p>
+ */
+public class ChatCell extends ListCell<ChatMessage> {
+
+    private final Image userImage;
+    private final Image talkieImage;
+    private DialogBox userDialog;
+    private DialogBox talkieDialog;
+
+    /**
+     * Constructs a {@code ChatCell} that shows messages with the given images.
+     *
+     * @param userImage   The image shown beside the user's messages.
+     * @param talkieImage The image shown beside Talkie's messages.
+     */
+    public ChatCell(Image userImage, Image talkieImage) {
+        this.userImage = userImage;
+        this.talkieImage = talkieImage;
+    }
+
+    /**
+     * Shows a message in this cell, or nothing if the cell is empty.
+     *
+     * @param message The message to show.
+     * @param empty   Whether the cell has no message.
+     */
+    @Override
+    protected void updateItem(ChatMessage message, boolean empty) {
+        super.updateItem(message, empty);
+        if (empty || message == null) {
+            setGraphic(null);
+            return;
+        }
+
+        DialogBox dialog = message.getSender() == ChatMessage.Sender.USER ? getUserDialog() : getTalkieDialog();
+        dialog.setText(message.getText());
+        setGraphic(dialog);
+    }
+
+    private DialogBox getUserDialog() {
+        if (userDialog == null) {
+            userDialog = fitToList(DialogBox.getUserDialog("", userImage));
+        }
+        return userDialog;
+    }
+
+    private DialogBox getTalkieDialog() {
+        if (talkieDialog == null) {
+            talkieDialog = fitToList(DialogBox.getTalkieDialog("", talkieImage));
+        }
+        return talkieDialog;
+    }
+
+    /**
+     * Makes a dialog box as wide as the list, less its scroll bar, so that long messages wrap instead of scrolling
+     * sideways.
+     *
+     * @param dialog The dialog box to fit.
+     * @return The same dialog box.
+     */
+    private DialogBox fitToList(DialogBox dialog) {
+        dialog.prefWidthProperty().bind(getListView().widthProperty().subtract(20));
+        dialog.maxWidthProperty().bind(dialog.prefWidthProperty());
+        return dialog;
+    }
+}
@@ -0,0 +1,89 @@
+package talkie;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Limits how many messages the GUI keeps in memory.
+ * <p>
+ * When the conversation grows past the capacity, the oldest quarter of the retained messages is appended to a
+ * history file and removed from the list, so long sessions use bounded memory while the full conversation is still
+ * kept on disk. Spilling a batch at a time, rather than one message per new message, keeps the file appends rare.
+ * </p>
+ * <p>
+ * The capacity can be changed with the {@value #CAPACITY_PROPERTY} system property.
+ * </p>
+ */
+public class ChatHistory {
+
+    /** The system property that sets the number of messages kept in memory. */
+    public static final String CAPACITY_PROPERTY = "talkie.history.capacity";
+
+    /** The number of messages kept in memory when no capacity is configured. */
+    public static final int DEFAULT_CAPACITY = 500;
+
+    private static final Path DEFAULT_SPILL_FILE = Paths.get("./data/chat-history.txt");
+
+    private final int capacity;
+    private final Path spillFile;
+
+    /**
+     * Constructs a {@code ChatHistory} that spills messages beyond the given capacity to the given file.
+     *
+     * @param capacity  The number of messages kept in memory, at least 1.
+     * @param spillFile The file that older messages are appended to.
+     */
+    public ChatHistory(int capacity, Path spillFile) {
+        this.capacity = Math.max(1, capacity);
+        this.spillFile = spillFile;
+    }
+
+    /**
+     * Creates a {@code ChatHistory} with the configured capacity, spilling to the default history file.
+     *
+     * @return The chat history.
+     */
+    public static ChatHistory fromSystemProperties() {
+        return new ChatHistory(Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY), DEFAULT_SPILL_FILE);
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Moves the oldest messages to the history file if there are more messages than the capacity.
+     * <p>
+     * If the file cannot be written to, the messages are left in the list so that none are lost.
+     * </p>
+     *
+     * @param messages The messages of the conversation, oldest first.
+     * @return The number of messages moved.
+     * @throws IOException If the history file cannot be written to.
+     */
+    public int trim(List<ChatMessage> messages) throws IOException {
+        if (messages.size() <= this.capacity) {
+            return 0;
+        }
+
+        int count = messages.size() - this.capacity + this.capacity / 4;
+        Path parent = this.spillFile.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(this.spillFile,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (ChatMessage message : messages.subList(0, count)) {
+                writer.write(message.toString());
+                writer.newLine();
+            }
+        }
+        messages.subList(0, count).clear();
+        return count;
+    }
+}
@@ -0,0 +1,61 @@
+package talkie;
+
+/**
+ * Represents one message in the conversation shown by the GUI.
+ * <p>
+ * A {@code ChatMessage} is plain data: who sent it and what it says. The GUI keeps the conversation as a list of
+ * messages and only creates dialog boxes for the messages that are on screen.
+ * </p>
+ */
+public class ChatMessage {
+
+    /**
+     * The sender of a message.
+     */
+    public enum Sender {
+        USER,
+        TALKIE
+    }
+
+    private final Sender sender;
+    private final String text;
+
+    /**
+     * Constructs a {@code ChatMessage} with the given sender and text.
+     *
+     * @param sender The sender of the message.
+     * @param text   The text of the message.
+     */
+    public ChatMessage(Sender sender, String text) {
+        this.sender = sender;
+        this.text = text;
+    }
+
+    public Sender getSender() {
+        return this.sender;
+    }
+
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * Returns a message from the same sender with different text, such as when a pending response arrives.
+     *
+     * @param text The new text.
+     * @return The new message.
+     */
+    public ChatMessage withText(String text) {
+        return new ChatMessage(this.sender, text);
+    }
+
+    /**
+     * Returns the message as a line of the spilled history file.
+     *
+     * @return The sender followed by the text.
+     */
+    @Override
+    public String toString() {
+        return (this.sender == Sender.USER ? "You: " : "Talkie: ") + this.text;
+    }
+}
@@ -0,0 +1,116 @@
+package talkie;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import talkie.components.Cancellation;
+
+/**
+ * Runs user commands one at a time on a background thread, so that slow commands do not freeze the GUI.
+ * <p>
+ * All commands submitted to a {@code CommandExecutor} run on the same single thread, in the order they were
+ * submitted, so the task list is only ever read and changed by that thread and needs no locking. Each command's
+ * response is delivered through a {@link CompletableFuture}, and the GUI hands it back to its own thread to be
+ * displayed.
+ * </p>
+ * <p>
+ * A command can be cancelled by cancelling its future. A command that has not started yet is skipped. A command
+ * that is running is never interrupted, as an interrupt could stop a save part way through writing the data file.
+ * Instead, query scans and listings check for the cancellation between tasks through {@link Cancellation} and stop
+ * with a {@link CancellationException}; commands that change the task list finish regardless, so the list is
+ * never left half changed.
+ * </p>
+ *
+ * @param <T> The type of the responses.
+ */
+public class CommandExecutor<T> {
+
+    private final Function<String, T> handler;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "talkie-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean isShutdown;
+
+    /**
+     * Constructs a {@code CommandExecutor} that runs commands with the given handler.
+     *
+     * @param handler Returns the response to a line of user input, such as {@link Talkie#getResponse(String)}.
+     */
+    public CommandExecutor(Function<String, T> handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Constructs a {@code CommandExecutor} that only runs work given to {@link #run(Supplier)}, for callers such as
+     * the servers that keep separate state for each client and so run each command with that client's state.
+     */
+    public CommandExecutor() {
+        this.handler = null;
+    }
+
+    /**
+     * Queues a line of user input to be run after every line submitted before it.
+     *
+     * @param input The user input.
+     * @return A future that is completed with the response, completed exceptionally if the handler fails, or
+     *         cancelled if the command is cancelled.
+     * @throws IllegalStateException If this executor was constructed without a handler.
+     */
+    public CompletableFuture<T> submit(String input) {
+        if (this.handler == null) {
+            throw new IllegalStateException("Commands must be given to run, as there is no handler");
+        }
+        return this.run(() -> this.handler.apply(input));
+    }
+
+    /**
+     * Queues other work that reads or changes the task list, such as a search, to be run on the same thread after
+     * everything submitted before it.
+     *
+     * @param work The work to run.
+     * @param <U> The type of the result of the work.
+     * @return A future that is completed with the result, completed exceptionally if the work fails, or cancelled
+     *         if the work is cancelled.
+     */
+    public <U> CompletableFuture<U> run(Supplier<U> work) {
+        CompletableFuture<U> response = new CompletableFuture<>();
+        Future<?> task = this.executor.submit(() -> {
+            if (response.isDone()) {
+                return;
+            }
+            if (this.isShutdown) {
+                response.cancel(false);
+                return;
+            }
+            try {
+                response.complete(Cancellation.run(response::isCancelled, work));
+            } catch (CancellationException e) {
+                response.cancel(false);
+            } catch (RuntimeException e) {
+                response.completeExceptionally(e);
+            }
+        });
+        response.whenComplete((result, error) -> {
+            if (response.isCancelled()) {
+                task.cancel(false);
+            }
+        });
+        return response;
+    }
+
+    /**
+     * Stops accepting commands, and skips the commands that have not started yet. The command that is running, if
+     * any, is left to finish, so that a save is never cut short.
+     */
+    public void shutdown() {
+        this.isShutdown = true;
+        this.executor.shutdown();
+    }
+}
@@ -1,14 +1,7 @@
 package talkie;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -24,36 +17,66 @@ import javafx.scene.text.Font;
  * to adjust the positioning of the image and text, depending on whether the dialog is from
  * the user or the application (Talkie).
  * </p>
+ * <p>
+ * Dialog boxes are built directly in code rather than loaded from FXML, so creating one costs a few node
+ * allocations instead of parsing a layout file. The font, stylesheet and insets are shared by every dialog box,
+ * and images are passed in so that all dialog boxes of a speaker share the same {@code Image}.
+ * </p>
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
+
+    /** The font of dialog text and the input controls. */
+    static final Font FONT = Font.font("Verdana");
+
+    private static final String STYLESHEET = DialogBox.class.getResource("/css/dialog-box.css").toExternalForm();
+    private static final Insets BOX_PADDING = new Insets(15, 5, 15, 5);
+    private static final Insets LABEL_MARGIN = new Insets(0, 7, 0, 7);
+    private static final Insets LABEL_PADDING = new Insets(6);
+    private static final double PICTURE_SIZE = 99;
+
+    private final Label dialog;
+    private final ImageView displayPicture;
 
     /**
      * Constructs a {@code DialogBox} instance with the specified text and image.
      * <p>
-     * This constructor loads the FXML layout for the dialog box, sets the dialog text,
-     * and assigns the provided image to the {@code ImageView}.
+     * This constructor lays out the label and the {@code ImageView} with the text on the left
+     * and the image on the right, and assigns the provided image to the {@code ImageView}.
      * </p>
      *
      * @param text The text to be displayed in the dialog.
      * @param img  The image to be displayed in the {@code ImageView}.
      */
     private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        dialog = new Label(text);
+        dialog.setFont(FONT);
+        dialog.setWrapText(true);
+        dialog.setMinHeight(USE_PREF_SIZE);
+        dialog.setPadding(LABEL_PADDING);
+        HBox.setMargin(dialog, LABEL_MARGIN);
 
+        displayPicture = new ImageView(img);
+        displayPicture.setId("displayPicture");
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setPreserveRatio(true);
+        displayPicture.setPickOnBounds(true);
+
+        getChildren().addAll(dialog, displayPicture);
+        getStylesheets().add(STYLESHEET);
+        setAlignment(Pos.TOP_RIGHT);
+        setPadding(BOX_PADDING);
+        setPrefWidth(400);
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+    }
+
+    /**
+     * Replaces the text displayed in the dialog, such as when a pending response arrives.
+     *
+     * @param text The new text to be displayed.
+     */
+    public void setText(String text) {
         dialog.setText(text);
-        dialog.setFont(Font.font("Verdana"));
-        displayPicture.setImage(img);
     }
 
     /**
@@ -64,9 +87,7 @@ public class DialogBox extends HBox {
      * </p>
      */
     private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
+        getChildren().setAll(displayPicture, dialog);
         setAlignment(Pos.TOP_LEFT);
         dialog.getStyleClass().add("reply-label");
     }
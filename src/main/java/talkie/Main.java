@@ -5,7 +5,6 @@ import java.io.IOException;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
 
@@ -37,11 +36,10 @@ public class Main extends Application {
             FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
             AnchorPane ap = fxmlLoader.load();
             Scene scene = new Scene(ap);
-            Image icon = new Image(this.getClass().getResourceAsStream("/images/baby-yoda.png"));
 
             stage.setScene(scene);
             stage.setTitle("Talkie TaskBot");
-            stage.getIcons().add(icon);
+            stage.getIcons().add(MainWindow.TALKIE_IMAGE);
 
             fxmlLoader.<MainWindow>getController().setTalkie(talkie); // inject the Talkie instance
             stage.show();
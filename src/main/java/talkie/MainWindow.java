@@ -1,31 +1,65 @@
 package talkie;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
+import javafx.geometry.Side;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.ListView;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.SplitPane;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
-import javafx.scene.text.Font;
 import javafx.util.Duration;
 
+import talkie.exception.TalkieException;
+import talkie.task.Task;
+
 /**
  * Controller for the main GUI.
  * <p>
  * The {@code MainWindow} class handles the primary user interface of the Talkie application. It manages the dialog
  * between the user and Talkie, displays the responses, and handles application exit based on user commands.
  * </p>
+ * <p>
+ * Commands are run by a {@link CommandExecutor} off the JavaFX application thread, so the window stays responsive
+ * while a slow command runs. Each command shows a pending reply until its response arrives, and pressing Esc
+ * cancels the commands that have not responded yet. The task list itself is loaded the same way, so the window
+ * appears straight away and shows how much of the list has been loaded.
+ * </p>
+ * <p>
+ * The conversation is kept as a list of {@link ChatMessage}s shown in a {@link ListView}, which only creates dialog
+ * boxes for the messages on screen and reuses them as the user scrolls. A {@link ChatHistory} moves the oldest
+ * messages to disk once the conversation grows past its capacity.
+ * </p>
+ * <p>
+ * When {@code list}, {@code find} or {@code sort} finds many tasks, the reply only holds the first page, and every
+ * task found is shown in a {@link TaskTable} below the conversation. While the user is typing a {@code find}
+ * command, its first matches are shown in the same table as soon as the user pauses. Pressing Tab completes the
+ * word being typed.
+ * </p>
  */
 public class MainWindow extends AnchorPane {
 
     @FXML
-    private ScrollPane scrollPane;
+    private SplitPane contentPane;
 
     @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> messageList;
 
     @FXML
     private TextField userInput;
@@ -33,28 +67,64 @@ public class MainWindow extends AnchorPane {
     @FXML
     private Button sendButton;
 
-    private Talkie talkie;
+    /** The image beside the user's messages, shared by every dialog box. */
+    static final Image USER_IMAGE = new Image(MainWindow.class.getResourceAsStream("/images/travis.png"));
+
+    /** The image beside Talkie's messages, shared by every dialog box and the window icon. */
+    static final Image TALKIE_IMAGE = new Image(MainWindow.class.getResourceAsStream("/images/baby-yoda.png"));
+
+    private static final String PENDING_MESSAGE = "Working on it... (press Esc to cancel)";
+    private static final String CANCELLED_MESSAGE = "Okay, I've cancelled that command.";
+    private static final String LOADING_MESSAGE = "Loading your tasks... ";
 
-    private Image userImage = new Image(this.getClass().getResourceAsStream("/images/travis.png"));
-    private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/baby-yoda.png"));
+    // Results with more tasks than this are also shown in the task table
+    private static final int TABLE_THRESHOLD = 20;
+
+    // Live search starts once the user stops typing for this long
+    private static final Duration SEARCH_DELAY = Duration.millis(150);
+    private static final int SEARCH_LIMIT = 500;
+    private static final String FIND_PREFIX = "find ";
+
+    private Talkie talkie;
+    private CommandExecutor<Reply> executor;
+    private final Deque<CompletableFuture<Reply>> pendingResponses = new ArrayDeque<>();
+    private final ObservableList<ChatMessage> messages = FXCollections.observableArrayList();
+    private final ChatHistory history = ChatHistory.fromSystemProperties();
+    private final TaskTable taskTable = new TaskTable();
+    private final PauseTransition searchDelay = new PauseTransition(SEARCH_DELAY);
+    private CompletableFuture<List<TaskRow>> pendingSearch;
+    private ChatMessage loadingStatus;
+    private final ContextMenu completionMenu = new ContextMenu();
 
     /**
      * Initializes the main window components.
      * <p>
-     * This method binds the scroll pane's vertical value to the dialog container's height to ensure that new messages
-     * are always visible. It also sets the font for the input and send button and displays a greeting message in the
-     * dialog container.
+     * This method sets up the message list to show each message with a reusable dialog box. It also sets the font for
+     * the input and send button and displays a greeting message in the message list.
      * </p>
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
-        sendButton.setFont(Font.font("Verdana"));
-        userInput.setFont(Font.font("Verdana"));
+        messageList.setItems(messages);
+        messageList.setCellFactory(view -> new ChatCell(USER_IMAGE, TALKIE_IMAGE));
+        messageList.setFocusTraversable(false);
+        sendButton.setFont(DialogBox.FONT);
+        userInput.setFont(DialogBox.FONT);
         String greeting = "Welcome! I'm Talkie.\nWhat can I do for you?";
-        dialogContainer.getChildren().add(
-                DialogBox.getTalkieDialog(greeting, dukeImage)
-        );
+        addMessages(new ChatMessage(ChatMessage.Sender.TALKIE, greeting));
+        userInput.textProperty().addListener((observable, oldText, newText) -> searchDelay.playFromStart());
+        searchDelay.setOnFinished(event -> searchAsYouType());
+        userInput.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.TAB) {
+                event.consume();
+                completeInput();
+            }
+        });
+        userInput.setOnKeyPressed(event -> {
+            if (event.getCode() == KeyCode.ESCAPE) {
+                cancelPendingResponses();
+            }
+        });
     }
 
     /**
@@ -67,27 +137,218 @@ public class MainWindow extends AnchorPane {
      */
     public void setTalkie(Talkie t) {
         talkie = t;
+        executor = new CommandExecutor<>(input -> new Reply(t.getResponse(input), TaskRow.of(t.takeListedTasks())));
+        loadTasks();
+    }
+
+    /**
+     * Loads the task list on the command thread, showing how far it has got in a reply that is updated as it loads.
+     * <p>
+     * Loading is the first work given to the command thread, so commands entered while it runs wait for it and then
+     * run in the order they were entered.
+     * </p>
+     */
+    private void loadTasks() {
+        loadingStatus = new ChatMessage(ChatMessage.Sender.TALKIE, LOADING_MESSAGE + "0%");
+        addMessages(loadingStatus);
+        AtomicInteger shownPercent = new AtomicInteger();
+        executor.run(() -> talkie.loadTasks(fraction -> {
+            int percent = (int) Math.round(fraction * 100);
+            if (shownPercent.getAndSet(percent) != percent) {
+                Platform.runLater(() -> showLoadingStatus(LOADING_MESSAGE + percent + "%"));
+            }
+        })).whenComplete((text, error) -> Platform.runLater(() ->
+                showLoadingStatus(error == null ? text : "Oops! Something went wrong: " + error.getMessage())));
+    }
+
+    private void showLoadingStatus(String text) {
+        loadingStatus = replaceMessage(loadingStatus, text);
     }
 
     /**
      * Handles user input and generates a response from Talkie.
      * <p>
-     * This method reads the user's input, processes it to generate a response, and displays both the input and response
-     * in dialog boxes. If the user inputs "bye", the application will close after a short delay.
+     * This method reads the user's input and displays it in the message list, followed by a pending reply. The input is
+     * run in the background, and the reply is replaced with the response on the JavaFX application thread when it
+     * arrives. If the user inputs "bye", the application will close a short delay after the response arrives.
      * </p>
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText().toLowerCase().trim();
-        String response = talkie.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getTalkieDialog(response, dukeImage)
-        );
+        ChatMessage reply = new ChatMessage(ChatMessage.Sender.TALKIE, PENDING_MESSAGE);
+        addMessages(new ChatMessage(ChatMessage.Sender.USER, input), reply);
         userInput.clear();
 
-        if (input.equals("bye")) {
-            closeAfterDelay();
+        CompletableFuture<Reply> response = executor.submit(input);
+        pendingResponses.add(response);
+        response.whenComplete((result, error) -> Platform.runLater(() -> {
+            pendingResponses.remove(response);
+            if (error instanceof CancellationException) {
+                replaceMessage(reply, CANCELLED_MESSAGE);
+                return;
+            }
+            if (error == null) {
+                replaceMessage(reply, result.text);
+                showListedTasks(result.listedTasks);
+            } else {
+                replaceMessage(reply, "Oops! Something went wrong: " + error.getMessage());
+            }
+            if (input.equals("bye")) {
+                closeAfterDelay();
+            }
+        }));
+    }
+
+    /**
+     * Adds messages to the end of the conversation and scrolls to them, moving the oldest messages to disk if the
+     * conversation has grown past the history's capacity.
+     *
+     * @param added The messages to add.
+     */
+    private void addMessages(ChatMessage... added) {
+        messages.addAll(added);
+        try {
+            history.trim(messages);
+        } catch (IOException e) {
+            // Keeps the messages in memory until the history file can be written to.
+        }
+        messageList.scrollTo(messages.size() - 1);
+    }
+
+    /**
+     * Completes the last word of the input, as when Tab is pressed.
+     * <p>
+     * A single completion replaces the input straight away. When there are several, they are offered in a menu
+     * below the input. Completions are looked up on the command thread and ignored if the user has typed on since.
+     * </p>
+     */
+    private void completeInput() {
+        String input = userInput.getText();
+        executor.run(() -> talkie.complete(input)).thenAccept(completions -> Platform.runLater(() -> {
+            if (completions.isEmpty() || !userInput.getText().equals(input)) {
+                return;
+            }
+            if (completions.size() == 1) {
+                setInput(completions.get(0));
+                return;
+            }
+
+            completionMenu.getItems().clear();
+            for (String completion : completions) {
+                MenuItem item = new MenuItem(completion);
+                item.setOnAction(event -> setInput(completion));
+                completionMenu.getItems().add(item);
+            }
+            completionMenu.show(userInput, Side.TOP, 0, 0);
+        }));
+    }
+
+    private void setInput(String text) {
+        userInput.setText(text + " ");
+        userInput.positionCaret(userInput.getLength());
+    }
+
+    /**
+     * Searches for the tasks matching a {@code find} command that is still being typed, and shows them in the task
+     * table.
+     * <p>
+     * The search runs on the command thread, so keystrokes never wait for it. It runs only after the user has
+     * paused typing, and a search still running when the user types again is cancelled, so at most one search
+     * is ever queued and its results are always those of the latest input.
+     * </p>
+     */
+    private void searchAsYouType() {
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false);
+            pendingSearch = null;
+        }
+
+        String input = userInput.getText().toLowerCase().trim();
+        if (!input.startsWith(FIND_PREFIX)) {
+            return;
+        }
+        String query = input.substring(FIND_PREFIX.length());
+        CompletableFuture<List<TaskRow>> search = executor.run(() -> TaskRow.of(findTasks(query)));
+        pendingSearch = search;
+        search.thenAccept(tasks -> Platform.runLater(() -> {
+            if (search == pendingSearch) {
+                pendingSearch = null;
+                showTable(tasks);
+            }
+        }));
+    }
+
+    /**
+     * Returns the first tasks matching a query, or no tasks if the query is not complete enough to be valid.
+     *
+     * @param query The query typed so far.
+     * @return The matching tasks.
+     */
+    private List<Task> findTasks(String query) {
+        try {
+            return talkie.findTasks(query, SEARCH_LIMIT);
+        } catch (TalkieException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * Shows the tasks listed by a command in the task table if there are many of them, or hides the table if there
+     * are few. Commands that do not list tasks leave the table as it is.
+     *
+     * @param tasks The rows of the tasks listed by the command, or {@code null} if it did not list tasks.
+     */
+    private void showListedTasks(List<TaskRow> tasks) {
+        if (tasks == null) {
+            return;
+        }
+
+        if (tasks.size() <= TABLE_THRESHOLD) {
+            contentPane.getItems().remove(taskTable);
+            return;
+        }
+        showTable(tasks);
+    }
+
+    /**
+     * Shows tasks in the task table, opening it below the conversation if it is not open.
+     *
+     * @param tasks The rows of the tasks to show.
+     */
+    private void showTable(List<TaskRow> tasks) {
+        taskTable.showTasks(tasks);
+        if (!contentPane.getItems().contains(taskTable)) {
+            contentPane.getItems().add(taskTable);
+            contentPane.setDividerPositions(0.5);
+        }
+    }
+
+    /**
+     * Replaces the text of a message that is still in the conversation, such as a pending reply whose response has
+     * arrived. A message that has already been moved to disk is left as it is.
+     *
+     * @param message The message to replace.
+     * @param text    The new text of the message.
+     * @return The message that replaced it, or the same message if it is no longer in the conversation.
+     */
+    private ChatMessage replaceMessage(ChatMessage message, String text) {
+        int index = messages.lastIndexOf(message);
+        if (index < 0) {
+            return message;
+        }
+        ChatMessage replacement = message.withText(text);
+        messages.set(index, replacement);
+        return replacement;
+    }
+
+    /**
+     * Cancels every command that has not responded yet, newest first so that queued commands are skipped rather than
+     * started.
+     */
+    private void cancelPendingResponses() {
+        while (!pendingResponses.isEmpty()) {
+            pendingResponses.pollLast().cancel(false);
         }
     }
 
@@ -103,4 +364,18 @@ public class MainWindow extends AnchorPane {
         pause.setOnFinished(event -> Platform.exit());
         pause.play();
     }
+
+    /**
+     * Holds the response to a command and the rows of the tasks it listed, which are made on the command thread so
+     * that they belong to that command and show the tasks as that command left them.
+     */
+    private static class Reply {
+        private final String text;
+        private final List<TaskRow> listedTasks;
+
+        Reply(String text, List<TaskRow> listedTasks) {
+            this.text = text;
+            this.listedTasks = listedTasks;
+        }
+    }
 }
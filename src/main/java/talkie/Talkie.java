@@ -1,10 +1,32 @@
 package talkie;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.DoubleConsumer;
+
 import talkie.command.Command;
+import talkie.command.WorkspaceCommand;
+import talkie.components.Completer;
 import talkie.components.Parser;
-import talkie.components.Storage;
 import talkie.components.Ui;
+import talkie.components.Workspace;
 import talkie.exception.TalkieException;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.exception.TalkieMissingArgumentException;
+import talkie.query.Query;
+import talkie.query.QueryPlanner;
+import talkie.server.LineServer;
+import talkie.server.TalkieServer;
+import talkie.task.Task;
 import talkie.task.TaskList;
 
 /**
@@ -13,38 +35,94 @@ import talkie.task.TaskList;
  * The {@code Talkie} class initializes the user interface, task list, and storage components. It handles loading and
  * saving tasks, and manages the main program loop where user commands are processed.
  * </p>
+ * <p>
+ * Started with <code>--batch script [--quiet]</code>, it runs the commands in a script file instead of reading
+ * from standard input, and saves the task list once at the end.
+ * </p>
+ * <p>
+ * A line holding several commands separated by {@code ;} is run as a pipeline, and a pipeline of the form
+ * <code>begin; ...; commit</code> is run as a transaction whose changes are all kept or all undone. Either way,
+ * the responses are combined into one and the task list is saved once for the whole line.
+ * </p>
  */
 public class Talkie {
 
+    private static final String BATCH_USAGE =
+            "Usage: talkie.Talkie [--batch <script> [--quiet] | --serve [<port>] | --listen [<port>]]";
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final String BEGIN = "begin";
+    private static final String COMMIT = "commit";
+    private static final String ROLLBACK = "rollback";
+    private static final int COMPLETION_LIMIT = 5;
+    private static final String COMPLETION_KEY = "\t";
+
     private static String filePath = "./data/talkie.Talkie.txt";
     private Ui ui;
-    private TaskList tasks;
-    private Storage storage;
+    private Workspace workspace;
+    private final Completer completer = new Completer();
+
+    /**
+     * Constructs a {@code Talkie} instance that stores tasks in the default data file.
+     */
+    public Talkie() {
+        this(Talkie.filePath);
+    }
 
     /**
      * Constructs a {@code Talkie} instance with the specified file path for storage.
      * <p>
-     * Initializes the user interface, storage, and task list. Loads existing tasks from storage if available,
-     * otherwise initializes an empty task list. Handles any exceptions related to loading data.
+     * Initializes the user interface and storage. The task list is only loaded from storage when the first command
+     * needs it, so the first prompt is shown without waiting for a long task list to be read and indexed.
      * </p>
+     * <p>
+     * The file holds the user's main list. Other named lists, chosen with the {@code use} command, are kept in a
+     * {@link Workspace} and stored beside it.
+     * </p>
+     *
+     * @param filePath The path of the file where tasks are stored.
      */
-    public Talkie() {
+    public Talkie(String filePath) {
         ui = new Ui();
-        storage = new Storage(Talkie.filePath);
+        workspace = Workspace.fromSystemProperties(filePath, ui::showTalkieException);
 
-        // Assert that UI and Storage objects are initialized
+        // Assert that UI and Workspace objects are initialized
         assert ui != null : "UI component should be initialized";
-        assert storage != null : "Storage component should be initialized";
+        assert workspace != null : "Workspace component should be initialized";
+    }
 
+    /**
+     * Returns the task list in use, loading it from storage the first time it is needed.
+     * <p>
+     * Loads existing tasks from storage if available, otherwise initializes an empty task list. Any exception
+     * related to loading data is shown to the user.
+     * </p>
+     *
+     * @return The task list.
+     */
+    private TaskList getTaskList() {
+        return workspace.getTaskList();
+    }
+
+    /**
+     * Loads the task list from storage if it has not been loaded yet, reporting how much of it has been read.
+     * <p>
+     * The GUI calls this method on its command thread as soon as the window is shown, so the window appears before
+     * a long task list has been read, and commands entered in the meantime run once it is ready.
+     * </p>
+     *
+     * @param progress Receives the fraction of the data file read so far, from 0 to 1.
+     * @return A message saying how many tasks were loaded, or why they could not be.
+     */
+    public String loadTasks(DoubleConsumer progress) {
         try {
-            tasks = new TaskList(this.storage.loadData());
+            TaskList tasks = workspace.load(progress);
 
             // Assert that tasks are loaded correctly
             assert tasks != null : "TaskList should be initialized after loading data";
 
+            return ui.loadedMessage(tasks.size());
         } catch (TalkieException e) {
-            ui.showTalkieException(e);
-            tasks = new TaskList();
+            return e.toString();
         }
     }
 
@@ -54,24 +132,50 @@ public class Talkie {
      * Displays the welcome message, reads user commands, and processes them until an exit command is issued. Handles
      * any exceptions related to command execution and displays appropriate messages to the user.
      * </p>
+     * <p>
+     * Responses are written straight to a buffered standard output, which is flushed once per command, so listing
+     * a long task list never builds the whole response as a string.
+     * </p>
+     * <p>
+     * A line that ends with a tab is not run. Instead, the most likely completions of its last word are shown.
+     * </p>
      */
     public void runTalkie() {
-        System.out.print(ui.welcomeMessage());
-        boolean isExit = false;
-        while (!isExit) {
-            try {
-                String input = this.ui.readCommand();
-                Command c = Parser.getCommand(input);
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out), OUTPUT_BUFFER_SIZE);
+        try {
+            out.write(ui.welcomeMessage());
+            out.flush();
+            boolean isExit = false;
+            while (!isExit) {
+                try {
+                    String input = this.ui.readCommand();
+                    if (input.endsWith(COMPLETION_KEY)) {
+                        out.write(this.ui.completionMessage(this.complete(input.substring(0, input.length() - 1))));
+                        out.write(System.lineSeparator());
+                        out.flush();
+                        continue;
+                    }
+                    List<String> commands = Parser.splitPipeline(input);
+                    if (isPipeline(commands)) {
+                        out.write(this.runPipeline(commands));
+                    } else {
+                        Command c = Parser.getCommand(input);
 
-                // Assert that the command is not null
-                assert c != null : "Command should not be null";
+                        // Assert that the command is not null
+                        assert c != null : "Command should not be null";
 
-                String response = c.execute(this.tasks, this.ui, this.storage);
-                System.out.println(response);
-                isExit = c.isExit();
-            } catch (TalkieException e) {
-                System.out.println(e);
+                        this.completer.recordCommand(input);
+                        c.execute(this.workspace, this.ui, out);
+                        isExit = c.isExit();
+                    }
+                } catch (TalkieException e) {
+                    out.write(e.toString());
+                }
+                out.write(System.lineSeparator());
+                out.flush();
             }
+        } catch (IOException e) {
+            System.err.println("Oops! Something went wrong when writing to the output: " + e.getMessage());
         }
     }
 
@@ -87,16 +191,380 @@ public class Talkie {
      * @return The response generated by executing the command.
      */
     public String getResponse(String input) {
+        return this.getResponse(input, this.ui);
+    }
+
+    /**
+     * Generates a response for a chat message from one of several users sharing this {@code Talkie}.
+     * <p>
+     * The state a command leaves for the next one, such as the cursor of the next page and the tasks listed, is
+     * kept in the given UI component, so each user has their own.
+     * </p>
+     *
+     * @param input The user's input string.
+     * @param ui    The UI component of the user.
+     * @return The response generated by executing the command.
+     */
+    public String getResponse(String input, Ui ui) {
+        ui.setListedTasks(null);
         try {
+            List<String> commands = Parser.splitPipeline(input);
+            if (isPipeline(commands)) {
+                return this.runPipeline(commands, ui);
+            }
+
             Command c = Parser.getCommand(input);
-            return c.execute(this.tasks, this.ui, this.storage);
+            this.completer.recordCommand(input);
+            return c.execute(this.workspace, ui);
         } catch (TalkieException e) {
             return e.toString();
         }
     }
 
+    /**
+     * Returns all the tasks listed by the last command, and forgets them.
+     * <p>
+     * Commands such as {@code list}, {@code find} and {@code sort} only respond with the first page of a long
+     * result. The GUI uses this method to show the whole result in a table. The tasks are copied, so the list does
+     * not change when later commands change the task list.
+     * </p>
+     *
+     * @return The tasks listed by the last command given to {@link #getResponse(String)}, or {@code null} if it did
+     *         not list tasks.
+     */
+    public List<Task> takeListedTasks() {
+        List<Task> listed = this.ui.getListedTasks();
+        this.ui.setListedTasks(null);
+        return listed == null ? null : List.copyOf(listed);
+    }
+
+    /**
+     * Returns the most likely completions of the last word of a partly typed command.
+     * <p>
+     * The command keyword is completed with the commands run most often, and later words with the words used most
+     * often in task descriptions.
+     * </p>
+     *
+     * @param input The command typed so far.
+     * @return The completed commands, most likely first.
+     */
+    public List<String> complete(String input) {
+        return this.completer.complete(input, this.getTaskList().getIndex(), COMPLETION_LIMIT);
+    }
+
+    /**
+     * Runs a single command and saves the task list afterwards.
+     * <p>
+     * Unlike {@link #getResponse(String)}, a command that fails throws its exception, so that callers such as the
+     * HTTP server can tell failures apart from responses. Each request of such a caller stands alone, so the
+     * command is run with a UI component of its own, and leaves nothing behind for later commands.
+     * </p>
+     *
+     * @param input The command.
+     * @return The response to the command.
+     * @throws TalkieException If the command cannot be parsed or fails.
+     * @throws IOException If the task list cannot be saved.
+     */
+    public String runAndSave(String input) throws TalkieException, IOException {
+        Command c = Parser.getCommand(input);
+        String response = c.execute(this.workspace, new Ui());
+        this.workspace.save();
+        return response;
+    }
+
+    /**
+     * Saves each task list that has been loaded and has changed since it was loaded or last saved.
+     * <p>
+     * The session manager uses this method to save a user's tasks before forgetting them.
+     * </p>
+     *
+     * @return Whether any task list was saved.
+     * @throws IOException If a task list cannot be saved.
+     */
+    public boolean saveIfChanged() throws IOException {
+        return this.workspace.saveAll();
+    }
+
+    /**
+     * Returns the number of tasks held in memory.
+     *
+     * @return The number of tasks in the task lists that have been loaded.
+     */
+    public int getLoadedTaskCount() {
+        return this.workspace.getLoadedTaskCount();
+    }
+
+    /**
+     * Returns every task, in the order they are listed.
+     *
+     * @return An unmodifiable view of the tasks, which must only be read on the thread that runs commands.
+     */
+    public List<Task> getTasks() {
+        return this.getTaskList().getTasks();
+    }
+
+    /**
+     * Returns the first tasks that match a query, without changing what is shown or remembered for paging.
+     * <p>
+     * The GUI uses this method to show live results while the user is still typing a {@code find} command.
+     * </p>
+     *
+     * @param query The query, as it would be given to the {@code find} command.
+     * @param limit The largest number of tasks to return.
+     * @return A copy of the first matching tasks, in the order of the list.
+     * @throws TalkieInvalidArgumentException If the query is not valid.
+     */
+    public List<Task> findTasks(String query, int limit) throws TalkieInvalidArgumentException {
+        return List.copyOf(QueryPlanner.plan(Query.parse(query, "find"), this.getTaskList()).execute(limit));
+    }
+
+    /**
+     * Runs the commands of a pipeline as one unit, and saves the task list once if any of them made changes.
+     * <p>
+     * Every command is parsed before any is run, so a pipeline with a mistyped command changes nothing. The
+     * commands are then run in order until one fails. In a plain pipeline, the changes of the commands before the
+     * failed one are kept and the rest are skipped. In a transaction, which starts with {@code begin} and ends with
+     * {@code commit} or {@code rollback}, a failure or a final {@code rollback} undoes every change made by the
+     * transaction, using the undo journal of the {@link TaskList}.
+     * </p>
+     *
+     * @param commands The commands of the pipeline, as split by {@link Parser#splitPipeline(String)}.
+     * @return The responses to the commands, followed by a summary of the outcome.
+     * @throws TalkieException If a command cannot be parsed, a transaction is not properly ended, or the pipeline
+     *         holds an exit command.
+     */
+    public String runPipeline(List<String> commands) throws TalkieException {
+        return this.runPipeline(commands, this.ui);
+    }
+
+    private String runPipeline(List<String> commands, Ui ui) throws TalkieException {
+        StringJoiner responses = new StringJoiner("\n");
+        this.runPipeline(commands, ui, true, responses);
+        return responses.toString();
+    }
+
+    /**
+     * Runs the commands of a pipeline as {@link #runPipeline(List)} does, adding the responses to the given ones.
+     *
+     * @return Whether every command of the pipeline succeeded.
+     */
+    private boolean runPipeline(List<String> commands, Ui ui, boolean isSaved, StringJoiner responses)
+            throws TalkieException {
+        boolean isTransaction = commands.get(0).equalsIgnoreCase(BEGIN);
+        boolean isCommit = true;
+        List<String> body = commands;
+        if (isTransaction) {
+            String end = commands.get(commands.size() - 1);
+            if (commands.size() == 1 || !(end.equalsIgnoreCase(COMMIT) || end.equalsIgnoreCase(ROLLBACK))) {
+                throw new TalkieMissingArgumentException(BEGIN,
+                        "A transaction must end with commit or rollback, e.g. begin; todo read; mark 1; commit");
+            }
+            isCommit = end.equalsIgnoreCase(COMMIT);
+            body = commands.subList(1, commands.size() - 1);
+        }
+
+        List<Command> parsed = new ArrayList<>(body.size());
+        for (String command : body) {
+            if (command.equalsIgnoreCase(BEGIN) || command.equalsIgnoreCase(COMMIT)
+                    || command.equalsIgnoreCase(ROLLBACK)) {
+                throw new TalkieInvalidArgumentException(command,
+                        "Only one transaction can be run at a time, from begin to commit or rollback.");
+            }
+            Command c = Parser.getCommand(command);
+            if (isTransaction && c instanceof WorkspaceCommand) {
+                throw new TalkieInvalidArgumentException(command,
+                        "A transaction works on one list. Switch or move between lists outside of it.");
+            }
+            if (c.isExit()) {
+                throw new TalkieInvalidArgumentException(command,
+                        "Exit commands cannot be part of a pipeline. Enter them on their own line.");
+            }
+            parsed.add(c);
+        }
+
+        int completedCount = 0;
+        boolean isFailed = true;
+        if (isTransaction) {
+            this.getTaskList().beginTransaction();
+        }
+        try {
+            for (Command c : parsed) {
+                responses.add(c.execute(this.workspace, ui));
+                completedCount++;
+            }
+            isFailed = false;
+        } catch (TalkieException e) {
+            responses.add(e.toString());
+        } finally {
+            if (isTransaction && (isFailed || !isCommit)) {
+                this.getTaskList().rollbackTransaction();
+            } else if (isTransaction) {
+                this.getTaskList().commitTransaction();
+            }
+        }
+
+        if (isTransaction && (isFailed || !isCommit)) {
+            responses.add(ui.rollbackMessage());
+            return !isFailed;
+        }
+        if (isFailed) {
+            responses.add(ui.pipelineStoppedMessage(parsed.size() - completedCount - 1));
+        } else if (isTransaction) {
+            responses.add(ui.commitMessage(parsed.size()));
+        }
+
+        if (isSaved && completedCount > 0) {
+            try {
+                this.workspace.save();
+            } catch (IOException e) {
+                responses.add("Oops! Something went wrong when saving the data!");
+            }
+        }
+        return !isFailed;
+    }
+
+    /**
+     * Runs the commands in a script file without interaction, then saves the task list once.
+     * <p>
+     * Commands are read from the script one line at a time, and their responses are written to standard output
+     * through a buffer instead of being printed one by one. Blank lines and lines starting with {@code #} are
+     * skipped, and the script ends at the first exit command. A line may also be a pipeline or transaction, as in
+     * {@link #runTalkie()}, which counts as one failed command if it stops part way. Unlike {@link #runTalkie()},
+     * the task list is saved once at the end of the script rather than by the {@code bye} command or after each
+     * pipeline, and the number of commands run per second is reported on standard error.
+     * </p>
+     *
+     * @param script The path of the script.
+     * @param isQuiet Whether to leave out the responses to commands that succeed.
+     * @return The number of commands that failed.
+     * @throws IOException If the script cannot be read or the task list cannot be saved.
+     */
+    public int runBatch(Path script, boolean isQuiet) throws IOException {
+        int commandCount = 0;
+        int failureCount = 0;
+        long start = System.nanoTime();
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out), OUTPUT_BUFFER_SIZE);
+        try (BufferedReader reader = Files.newBufferedReader(script)) {
+            String input;
+            while ((input = reader.readLine()) != null) {
+                if (input.isBlank() || input.startsWith("#")) {
+                    continue;
+                }
+
+                commandCount++;
+                try {
+                    List<String> commands = Parser.splitPipeline(input);
+                    if (isPipeline(commands)) {
+                        StringJoiner responses = new StringJoiner(System.lineSeparator());
+                        boolean isDone = this.runPipeline(commands, this.ui, false, responses);
+                        failureCount += isDone ? 0 : 1;
+                        if (!isQuiet || !isDone) {
+                            out.write(responses.toString());
+                            out.write(System.lineSeparator());
+                        }
+                        continue;
+                    }
+
+                    Command c = Parser.getCommand(input);
+                    if (c.isExit()) {
+                        break;
+                    }
+                    c.execute(this.workspace, this.ui, isQuiet ? Writer.nullWriter() : out);
+                    if (!isQuiet) {
+                        out.write(System.lineSeparator());
+                    }
+                } catch (TalkieException e) {
+                    failureCount++;
+                    out.write(e.toString());
+                    out.write(System.lineSeparator());
+                }
+            }
+        } finally {
+            out.flush();
+        }
+
+        this.workspace.save();
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        System.err.printf("Ran %d commands in %.3f s (%.0f commands/s), %d failed%n",
+                commandCount, seconds, commandCount / seconds, failureCount);
+        return failureCount;
+    }
+
+    private static void serve(String[] args) {
+        if (args.length > 2 || (args.length == 2 && !args[1].matches("\\d{1,5}"))) {
+            System.err.println(BATCH_USAGE);
+            System.exit(2);
+        }
+        boolean isHttp = args[0].equals("--serve");
+        int defaultPort = isHttp ? TalkieServer.DEFAULT_PORT : LineServer.DEFAULT_PORT;
+        int port = args.length == 2 ? Integer.parseInt(args[1]) : defaultPort;
+
+        try {
+            if (isHttp) {
+                TalkieServer server = new TalkieServer(new Talkie(), port);
+                server.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+                System.out.println("Talkie is serving tasks at http://localhost:" + server.getPort() + "/tasks");
+            } else {
+                LineServer server = new LineServer(new Talkie(), port);
+                server.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> stopOnExit(server)));
+                System.out.println("Talkie is listening for commands on port " + server.getPort());
+            }
+        } catch (IOException e) {
+            System.err.println("Oops! Something went wrong when starting the server: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Stops a line server when the process is ending, so that the changes of clients that did not say {@code bye}
+     * are saved.
+     */
+    private static void stopOnExit(LineServer server) {
+        try {
+            server.stop();
+        } catch (IOException e) {
+            System.err.println("Oops! Something went wrong when saving the tasks: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean isPipeline(List<String> commands) {
+        return commands.size() > 1 || commands.get(0).trim().equalsIgnoreCase(BEGIN);
+    }
+
+    /**
+     * Starts Talkie in the command line, either interactively, running a script, serving the HTTP API or listening
+     * for command lines over TCP.
+     *
+     * @param args Either no arguments, <code>--batch script</code> optionally followed by
+     *             <code>--quiet</code>, or <code>--serve</code> or <code>--listen</code> optionally followed by a
+     *             port.
+     */
     public static void main(String[] args) {
-        // Start of talkie.Talkie
-        new Talkie().runTalkie();
+        if (args.length == 0) {
+            new Talkie().runTalkie();
+            return;
+        }
+        if (args[0].equals("--serve") || args[0].equals("--listen")) {
+            serve(args);
+            return;
+        }
+
+        boolean isQuiet = args.length == 3 && args[2].equals("--quiet");
+        if (!args[0].equals("--batch") || args.length < 2 || (args.length == 3 && !isQuiet) || args.length > 3) {
+            System.err.println(BATCH_USAGE);
+            System.exit(2);
+        }
+
+        try {
+            int failureCount = new Talkie().runBatch(Paths.get(args[1]), isQuiet);
+            System.exit(failureCount == 0 ? 0 : 1);
+        } catch (IOException e) {
+            System.err.println("Oops! Something went wrong when running the script: " + e.getMessage());
+            System.exit(2);
+        }
     }
 }
@@ -0,0 +1,63 @@
+package talkie;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import talkie.task.Task;
+
+/**
+ * Represents one row of the {@link TaskTable}: the values shown for a task, as they were when the row was made.
+ * <p>
+ * Tasks are only read and changed on the command thread, so rows are made there and handed to the JavaFX
+ * application thread, which never reads a task itself. A {@code TaskRow} is plain data that never changes, so a
+ * command that changes a task while the table is showing it cannot be seen half done.
+ * </p>
+ */
+public class TaskRow {
+
+    private final String type;
+    private final String status;
+    private final String description;
+    private final LocalDateTime date;
+
+    private TaskRow(String type, String status, String description, LocalDateTime date) {
+        this.type = type;
+        this.status = status;
+        this.description = description;
+        this.date = date;
+    }
+
+    /**
+     * Makes the rows showing some tasks. This must be called on the thread that runs commands.
+     *
+     * @param tasks The tasks, or {@code null}.
+     * @return A row for each task, in the same order, or {@code null} if there are no tasks.
+     */
+    public static List<TaskRow> of(List<Task> tasks) {
+        if (tasks == null) {
+            return null;
+        }
+        List<TaskRow> rows = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            rows.add(new TaskRow(task.getType(), task.getStatusIcon(), task.getDesc(), task.getDate()));
+        }
+        return rows;
+    }
+
+    public String getType() {
+        return this.type;
+    }
+
+    public String getStatus() {
+        return this.status;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    public LocalDateTime getDate() {
+        return this.date;
+    }
+}
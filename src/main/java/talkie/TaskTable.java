@@ -0,0 +1,72 @@
+package talkie;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import talkie.task.Task;
+
+/**
+ * Shows a long list of tasks as a table, with a column for each of the type, status, description and date.
+ * <p>
+ * The table only creates cells for the rows on screen and reuses them as the user scrolls, so showing a list of any
+ * length costs about the same. Each row is a {@link TaskRow} made on the command thread, so the table never reads a
+ * task that a command may be changing. Clicking a column header sorts the rows by that column without changing the
+ * order of the task list.
+ * </p>
+ */
+public class TaskTable extends TableView<TaskRow> {
+
+    /**
+     * Constructs an empty {@code TaskTable}.
+     */
+    public TaskTable() {
+        TableColumn<TaskRow, String> type = column("Type", TaskRow::getType, 50);
+        TableColumn<TaskRow, String> status = column("Done", TaskRow::getStatus, 50);
+        TableColumn<TaskRow, String> description = column("Description", TaskRow::getDescription, 180);
+        TableColumn<TaskRow, LocalDateTime> date = column("Date", TaskRow::getDate, 120);
+        date.setComparator(Comparator.nullsLast(Comparator.naturalOrder()));
+        date.setCellFactory(column -> new TableCell<>() {
+            @Override
+            protected void updateItem(LocalDateTime item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : item.format(Task.DATE_TIME_FORMAT));
+            }
+        });
+
+        getColumns().add(type);
+        getColumns().add(status);
+        getColumns().add(description);
+        getColumns().add(date);
+        setPlaceholder(new Label("No tasks to show."));
+        setColumnResizePolicy(CONSTRAINED_RESIZE_POLICY);
+    }
+
+    /**
+     * Replaces the rows of the table with the given rows, in the order given until a column is sorted.
+     *
+     * @param tasks The rows of the tasks to show, which the table keeps and must not change afterwards.
+     */
+    public void showTasks(List<TaskRow> tasks) {
+        SortedList<TaskRow> rows = new SortedList<>(FXCollections.observableList(tasks));
+        rows.comparatorProperty().bind(comparatorProperty());
+        setItems(rows);
+        scrollTo(0);
+    }
+
+    private static <T> TableColumn<TaskRow, T> column(String title, Function<TaskRow, T> value, double width) {
+        TableColumn<TaskRow, T> column = new TableColumn<>(title);
+        column.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(value.apply(row.getValue())));
+        column.setPrefWidth(width);
+        return column;
+    }
+}
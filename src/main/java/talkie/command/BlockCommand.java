@@ -0,0 +1,81 @@
+package talkie.command;
+
+import talkie.components.CommandLexer;
+import talkie.components.Storage;
+import talkie.components.Ui;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.exception.TalkieMissingArgumentException;
+import talkie.exception.TalkieNoTaskFoundException;
+import talkie.task.Task;
+import talkie.task.TaskList;
+
+/**
+ * Represents a command to record that a task is blocked by another task.
+ * <p>
+ * A blocked task is not ready to be done until every task blocking it is done. The command is rejected if the
+ * blocking task is itself blocked by the task, directly or through other tasks.
+ * </p>
+ */
+public class BlockCommand extends TaskListCommand {
+
+    private final int index;
+    private final int blockerIndex;
+
+    /**
+     * Constructs a {@code BlockCommand} recording that one task is blocked by another.
+     *
+     * @param index The 1-based index of the blocked task.
+     * @param blockerIndex The 1-based index of the blocking task.
+     */
+    public BlockCommand(int index, int blockerIndex) {
+        this.index = index;
+        this.blockerIndex = blockerIndex;
+    }
+
+    /**
+     * Creates a {@code BlockCommand} from a command line of the form <code>block index /by index</code>.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given tasks.
+     * @throws TalkieMissingArgumentException If either task index is missing.
+     * @throws TalkieInvalidArgumentException If a task index is not an integer.
+     */
+    public static BlockCommand parse(CommandLexer lexer)
+            throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
+        DependencyArguments.validate(lexer);
+        return new BlockCommand(lexer.intValue(1), lexer.intValue(3));
+    }
+
+    /**
+     * Executes the {@code BlockCommand} by updating the relation between the two tasks.
+     *
+     * @param tasks   The task list containing all current tasks.
+     * @param ui      The UI component used to display messages to the user.
+     * @param storage The storage component used to save task data.
+     * @return A string containing a confirmation message about the blocked task.
+     * @throws TalkieInvalidArgumentException If the relation would be circular.
+     * @throws TalkieNoTaskFoundException If either task does not exist in the list.
+
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage)
+            throws TalkieInvalidArgumentException, TalkieNoTaskFoundException {
+        Task task = DependencyArguments.getTask(this.index, tasks);
+        Task blocker = DependencyArguments.getTask(this.blockerIndex, tasks);
+        if (!tasks.blockTask(task, blocker)) {
+            throw new TalkieInvalidArgumentException("block",
+                    "A task cannot be blocked by itself or by a task that it blocks");
+        }
+        return ui.blockMessage(task, blocker);
+    }
+
+    /**
+     * Indicates that this command does not terminate the application.
+     *
+     * @return {@code false}, as this command does not end the program.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -13,7 +13,7 @@ import talkie.task.TaskList;
  * and displaying a goodbye message to the user before the application exits.
  * </p>
  */
-public class ByeCommand extends Command {
+public class ByeCommand extends TaskListCommand {
 
     /**
      * Executes the {@code ByeCommand}, which saves the current task list to storage
@@ -1,37 +1,52 @@
 package talkie.command;
 
-import talkie.components.Storage;
+import java.io.IOException;
+
 import talkie.components.Ui;
+import talkie.components.Workspace;
 import talkie.exception.TalkieException;
-import talkie.task.TaskList;
 
 /**
  * Represents an abstract command in the Talkie application.
  * <p>
  * Commands are actions that the user can perform, such as adding tasks, deleting tasks, or exiting the application.
- * Subclasses of {@code Command} must implement the {@code execute} method to define the specific action the command
- * performs. Additionally, subclasses must implement the {@code isExit} method to define whether the command will
- * cause the program to exit.
+ * Talkie runs commands in a {@link Workspace} of named task lists. Most commands only work on the list in use, and
+ * extend {@link TaskListCommand}; commands that work across lists extend {@link WorkspaceCommand}. Additionally,
+ * subclasses must implement the {@code isExit} method to define whether the command will cause the program to exit.
+ * </p>
+ * <p>
+ * A command can also write its response to an {@link Appendable}, such as a buffered standard output, so that a
+ * response that grows with the size of the task list is never held in memory as a whole.
  * </p>
  */
 public abstract class Command {
 
     /**
-     * Executes the command with the given task list, user interface, and storage.
-     * <p>
-     * This method is abstract and must be implemented by all subclasses to define the specific behavior of the command.
-     * The method interacts with the task list, the user interface, and the storage system,
-     * and may throw a {@code TalkieException} if an error occurs during execution.
-     * </p>
+     * Executes the command in a workspace.
      *
-     * @param tasks   The task list containing all current tasks.
-     * @param ui      The UI component used to interact with the user.
-     * @param storage The storage component used to save or load task data.
+     * @param workspace The workspace holding the task lists.
+     * @param ui        The UI component used to interact with the user.
      * @return A string representing the result of the command's execution, typically a message to be
      *         displayed to the user.
      * @throws TalkieException If an error occurs during the execution of the command.
      */
-    public abstract String execute(TaskList tasks, Ui ui, Storage storage) throws TalkieException;
+    public abstract String execute(Workspace workspace, Ui ui) throws TalkieException;
+
+    /**
+     * Executes the command in a workspace, writing its response to an output instead of returning it.
+     * <p>
+     * By default, this writes the response returned by {@link #execute(Workspace, Ui)}.
+     * </p>
+     *
+     * @param workspace The workspace holding the task lists.
+     * @param ui        The UI component used to interact with the user.
+     * @param out       The output to write the response to.
+     * @throws TalkieException If an error occurs during the execution of the command.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void execute(Workspace workspace, Ui ui, Appendable out) throws TalkieException, IOException {
+        out.append(this.execute(workspace, ui));
+    }
 
     /**
      * Indicates whether the command will terminate the application.
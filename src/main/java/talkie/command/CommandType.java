@@ -8,5 +8,9 @@ public enum CommandType {
     BYE, LIST, DELETE,
     MARK, UNMARK, TODO,
     EVENT, DEADLINE, FIND,
-    SORT
+    SORT, RECUR, TAG,
+    UNTAG, PRIORITY, EXPLAIN,
+    DEDUPE, BLOCK, UNBLOCK,
+    NEXT, MORE, LISTS,
+    USE, MOVE, SYNC
 }
@@ -1,9 +1,8 @@
 package talkie.command;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
+import talkie.components.CommandLexer;
 import talkie.components.Storage;
 import talkie.components.Ui;
 import talkie.exception.TalkieMissingArgumentException;
@@ -16,73 +15,69 @@ import talkie.task.TaskList;
  * The command parses the user input to create a {@code Deadline} task with a description
  * and a specific deadline date and time.
  */
-public class DeadlineCommand extends Command {
+public class DeadlineCommand extends TaskListCommand {
 
-    private static final String DATE_TIME_FORMAT = "yyyy-MM-dd HHmm";
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT);
+    private final String description;
+    private final LocalDateTime by;
 
-    private final String fullCommand;
+    /**
+     * Constructs a new {@code DeadlineCommand} with the details of the deadline.
+     *
+     * @param description The description of the deadline.
+     * @param by The date/time the task is due, or {@code null} if the user did not enter a valid date/time.
+     */
+    public DeadlineCommand(String description, LocalDateTime by) {
+        this.description = description;
+        this.by = by;
+    }
 
     /**
-     * Constructs a new {@code DeadlineCommand} with the full user input.
+     * Creates a {@code DeadlineCommand} from a command line of the form
+     * <code>deadline description /by yyyy-MM-dd HHmm</code>.
      *
-     * @param fullCommand The full user input containing the command type and details of the deadline.
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given deadline.
+     * @throws TalkieMissingArgumentException If the command is missing the required description or deadline.
      */
-    public DeadlineCommand(String fullCommand) {
-        this.fullCommand = fullCommand;
+    public static DeadlineCommand parse(CommandLexer lexer) throws TalkieMissingArgumentException {
+        if (lexer.tokenCount() == 1) {
+            throw new TalkieMissingArgumentException(lexer.text(0),
+                    "The 'description' and 'by' of deadline cannot be empty.");
+        }
+
+        int byToken = lexer.indexOf("/by", 1);
+        if (byToken == CommandLexer.NOT_FOUND || byToken == 1 || byToken == lexer.tokenCount() - 1
+                || lexer.indexOf("/by", byToken + 1) != CommandLexer.NOT_FOUND) {
+            throw new TalkieMissingArgumentException("deadline",
+                    "The deadline must be in the format: description /by yyyy-MM-dd HHmm");
+        }
+
+        LocalDateTime by = lexer.tokenCount() == byToken + 3 ? lexer.parseDateTime(byToken + 1) : null;
+        return new DeadlineCommand(lexer.text(1, byToken), by);
     }
 
     /**
-     * Executes the {@code DeadlineCommand} by parsing the input to create a new {@code Deadline} task,
+     * Executes the {@code DeadlineCommand} by creating a new {@code Deadline} task,
      * adding it to the task list, and displaying an appropriate message to the user.
      *
      * @param tasks   The {@code TaskList} containing all current tasks.
      * @param ui      The {@code Ui} component used to display messages to the user.
      * @param storage The {@code Storage} component used to save task data.
      * @return A string containing a confirmation message about the added deadline task, or an error message if the
-     *         input is invalid.
-     * @throws TalkieMissingArgumentException If the command is missing the required description or deadline.
+     *         date/time is invalid.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) throws TalkieMissingArgumentException {
-        try {
-            String[] parts = splitCommand();
-            validateParts(parts);
-
-            String[] deadlineParts = splitDeadlineParts(parts[1]);
-            String description = deadlineParts[0].trim();
-            LocalDateTime time = parseDateTime(deadlineParts[1].trim());
-
-            Task newDeadline = new Deadline(description, time);
-            tasks.addTask(newDeadline);
-            return ui.addMessage(newDeadline, tasks.size());
-        } catch (DateTimeParseException e) {
+    public String execute(TaskList tasks, Ui ui, Storage storage) {
+        if (this.by == null) {
             return ui.wrongDateTimeFormatMessage();
         }
-    }
 
-    private String[] splitCommand() {
-        return fullCommand.split(" ", 2);
-    }
-
-    private void validateParts(String[] parts) throws TalkieMissingArgumentException {
-        if (parts.length != 2) {
-            throw new TalkieMissingArgumentException(parts[0],
-                    "The 'description' and 'by' of deadline cannot be empty.");
+        Task newDeadline = new Deadline(this.description, this.by);
+        if (tasks.containsDuplicate(newDeadline)) {
+            return ui.duplicateMessage(newDeadline);
         }
-    }
-
-    private String[] splitDeadlineParts(String details) throws TalkieMissingArgumentException {
-        String[] deadlineParts = details.split("/by ");
-        if (deadlineParts.length != 2) {
-            throw new TalkieMissingArgumentException("deadline",
-                    "The deadline must be in the format: description /by yyyy-MM-dd HHmm");
-        }
-        return deadlineParts;
-    }
-
-    private LocalDateTime parseDateTime(String dateTimeString) {
-        return LocalDateTime.parse(dateTimeString, FORMATTER);
+        tasks.addTask(newDeadline);
+        return ui.addMessage(newDeadline, tasks.size());
     }
 
     /**
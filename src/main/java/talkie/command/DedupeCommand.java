@@ -0,0 +1,43 @@
+package talkie.command;
+
+import java.util.List;
+
+import talkie.components.Storage;
+import talkie.components.Ui;
+import talkie.task.Task;
+import talkie.task.TaskList;
+
+/**
+ * Represents a command to remove duplicate tasks from the task list.
+ * <p>
+ * Tasks are duplicates if they are of the same type, have the same dates and have descriptions that differ only
+ * in case and whitespace. The first of each set of duplicates is kept, and the list is compacted in one pass.
+ * </p>
+ */
+public class DedupeCommand extends TaskListCommand {
+
+    /**
+     * Executes the {@code DedupeCommand} by removing every task that duplicates an earlier task in the list.
+     *
+     * @param tasks   The {@code TaskList} to remove duplicates from.
+     * @param ui      The {@code Ui} component used to display messages to the user.
+     * @param storage The {@code Storage} component (not used in this method but included for method
+     *                signature consistency).
+     * @return A string listing the duplicate tasks that were removed.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) {
+        List<Task> duplicates = tasks.removeDuplicates();
+        return ui.dedupeMessage(duplicates, tasks.size());
+    }
+
+    /**
+     * Indicates that this command does not terminate the application.
+     *
+     * @return {@code false}, as this command does not end the program.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -1,5 +1,6 @@
 package talkie.command;
 
+import talkie.components.CommandLexer;
 import talkie.components.Storage;
 import talkie.components.Ui;
 import talkie.exception.TalkieInvalidArgumentException;
@@ -12,59 +13,64 @@ import talkie.task.TaskList;
  * Represents a command to delete a task from the task list in the Talkie application.
  * The command parses the user input to determine which task to delete based on its index in the task list.
  */
-public class DeleteCommand extends Command {
+public class DeleteCommand extends TaskListCommand {
 
-    private String fullCommand;
+    private final int index;
 
     /**
-     * Constructs a new {@code DeleteCommand} with the full user input.
+     * Constructs a new {@code DeleteCommand} for the task at the given index.
      *
-     * @param fullCommand The full user input containing the command type and the index of the task to be deleted.
+     * @param index The 1-based index of the task to delete.
      */
-    public DeleteCommand(String fullCommand) {
-        this.fullCommand = fullCommand;
+    public DeleteCommand(int index) {
+        this.index = index;
     }
 
     /**
-     * Executes the {@code DeleteCommand} by parsing the input to delete the specified task from the task list.
+     * Creates a {@code DeleteCommand} from a command line of the form <code>delete index</code>.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given task index.
+     * @throws TalkieMissingArgumentException If no task index is provided.
+     * @throws TalkieInvalidArgumentException If the argument provided is not a valid integer.
+     */
+    public static DeleteCommand parse(CommandLexer lexer)
+            throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
+        // Check if the user included an argument
+        if (lexer.tokenCount() == 1) {
+            throw new TalkieMissingArgumentException(lexer.text(0),
+                    "The 'delete' command requires an integer as argument");
+        }
+
+        // Check if the user included the correct integer argument
+        if (!lexer.isInteger(1)) {
+            throw new TalkieInvalidArgumentException(lexer.text(0),
+                    "The 'delete' command requires an integer as argument");
+        }
+        return new DeleteCommand(lexer.intValue(1));
+    }
+
+    /**
+     * Executes the {@code DeleteCommand} by deleting the specified task from the task list.
      * <p>
-     * The command expects an index of the task to delete. The input should be in the format:
-     * <code>delete index</code>. If the index is missing, invalid, or the specified task does not exist,
-     * appropriate exceptions are thrown.
+     * If the specified task does not exist, an exception is thrown.
      * </p>
      *
-     * @param tasks   The {@code TaskList} containing all current tasks.
-     * @param ui      The {@code Ui} component used to display messages to the user.
-     * @param storage The {@code Storage} component used to save task data.
-     * @return A string containing a confirmation message about the deleted task or an error message if
-     *         the input is invalid.
-     * @throws TalkieMissingArgumentException  If the command is missing the required task index.
-     * @throws TalkieNoTaskFoundException      If the task index specified does not exist in the task list.
-     * @throws TalkieInvalidArgumentException  If the provided argument is not a valid integer.
+     * @param tasks   The task list containing all current tasks.
+     * @param ui      The UI component used to display messages to the user.
+     * @param storage The storage component used to save task data.
+     * @return A string containing a confirmation message about the deleted task.
+     * @throws TalkieNoTaskFoundException If the specified task does not exist in the list.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage)
-            throws TalkieMissingArgumentException, TalkieNoTaskFoundException, TalkieInvalidArgumentException {
-        String[] temp = this.fullCommand.split(" ");
-
-        // Check if user included an argument
-        if (temp.length == 1) {
-            throw new TalkieMissingArgumentException(temp[0], "The 'delete' command requires an integer as argument");
-
-            // Check if user included the correct integer argument
-        } else if (this.isInteger(temp[1])) {
-            int index = Integer.parseInt(temp[1]);
-
-            // Check if the task is in the list
-            if (index <= tasks.size()) {
-                Task task = tasks.deleteTask(index);
-                return ui.deleteMessage(task, tasks.size());
-            } else {
-                throw new TalkieNoTaskFoundException();
-            }
-        } else {
-            throw new TalkieInvalidArgumentException(temp[0], "The 'delete' command requires an integer as argument");
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws TalkieNoTaskFoundException {
+        // Check if the task is in the list
+        if (this.index < 1 || this.index > tasks.size()) {
+            throw new TalkieNoTaskFoundException();
         }
+
+        Task task = tasks.deleteTask(this.index);
+        return ui.deleteMessage(task, tasks.size());
     }
 
     /**
@@ -76,19 +82,4 @@ public class DeleteCommand extends Command {
     public boolean isExit() {
         return false;
     }
-
-    /**
-     * Checks if a given input string can be parsed as an integer.
-     *
-     * @param input The string to be checked.
-     * @return {@code true} if the input can be parsed as an integer; {@code false} otherwise.
-     */
-    private boolean isInteger(String input) {
-        try {
-            Integer.parseInt(input);
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
-    }
 }
@@ -0,0 +1,53 @@
+package talkie.command;
+
+import talkie.components.CommandLexer;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.exception.TalkieMissingArgumentException;
+import talkie.exception.TalkieNoTaskFoundException;
+import talkie.task.Task;
+import talkie.task.TaskList;
+
+/**
+ * Validates the arguments shared by the {@code block} and {@code unblock} commands.
+ */
+final class DependencyArguments {
+
+    private DependencyArguments() {
+    }
+
+    /**
+     * Checks that a command line has the form <code>command index /by index</code>.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @throws TalkieMissingArgumentException If either task index is missing.
+     * @throws TalkieInvalidArgumentException If a task index is not an integer.
+     */
+    static void validate(CommandLexer lexer) throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
+        String command = lexer.text(0);
+
+        // Check if the user included both indexes
+        if (lexer.tokenCount() != 4 || !lexer.matches(2, "/by")) {
+            throw new TalkieMissingArgumentException(command,
+                    "The '" + command + "' command must be in the format: " + command + " index /by index");
+        }
+        if (!lexer.isInteger(1) || !lexer.isInteger(3)) {
+            throw new TalkieInvalidArgumentException(command,
+                    "The '" + command + "' command requires integers as arguments");
+        }
+    }
+
+    /**
+     * Returns the task at a 1-based index in the list.
+     *
+     * @param index The index of the task.
+     * @param tasks The task list.
+     * @return The task at the index.
+     * @throws TalkieNoTaskFoundException If the task does not exist in the list.
+     */
+    static Task getTask(int index, TaskList tasks) throws TalkieNoTaskFoundException {
+        if (index < 1 || index > tasks.size()) {
+            throw new TalkieNoTaskFoundException();
+        }
+        return tasks.getTask(index);
+    }
+}
@@ -1,9 +1,8 @@
 package talkie.command;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
+import talkie.components.CommandLexer;
 import talkie.components.Storage;
 import talkie.components.Ui;
 import talkie.exception.TalkieMissingArgumentException;
@@ -15,71 +14,71 @@ import talkie.task.TaskList;
  * Represents a command to add a new event task to the task list in the Talkie application.
  * The command processes user input to create an event with a description, start time, and end time.
  */
-public class EventCommand extends Command {
+public class EventCommand extends TaskListCommand {
 
-    private String fullCommand;
+    private final String description;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
 
     /**
-     * Constructs a new {@code EventCommand} with the full user input.
+     * Constructs a new {@code EventCommand} with the details of the event.
      *
-     * @param fullCommand The full user input containing the command type and the details of the event.
+     * @param description The description of the event.
+     * @param from The start of the event, or {@code null} if the user did not enter a valid date/time.
+     * @param to The end of the event, or {@code null} if the user did not enter a valid date/time.
      */
-    public EventCommand(String fullCommand) {
-        this.fullCommand = fullCommand;
+    public EventCommand(String description, LocalDateTime from, LocalDateTime to) {
+        this.description = description;
+        this.from = from;
+        this.to = to;
     }
 
     /**
-     * Executes the {@code EventCommand} by parsing the input to add a new event task to the task list.
-     * <p>
-     * The event task includes a description, start time, and end time. The input is expected to follow the format:
-     * <code>event description /from yyyy-MM-dd HHmm /to yyyy-MM-dd HHmm</code>. If the input is missing any required
-     * components or if the date/time format is incorrect, appropriate exceptions are thrown.
-     * </p>
+     * Creates an {@code EventCommand} from a command line of the form
+     * <code>event description /from yyyy-MM-dd HHmm /to yyyy-MM-dd HHmm</code>.
      *
-     * @param tasks   The {@code TaskList} containing all current tasks.
-     * @param ui      The {@code Ui} component used to display messages to the user.
-     * @param storage The {@code Storage} component used to save task data.
-     * @return A string containing a confirmation message about the added event or an error message if the input
-     *         is invalid.
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given event.
      * @throws TalkieMissingArgumentException If the command is missing the required description, start time,
      *         or end time.
      */
-    @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) throws TalkieMissingArgumentException {
-        String[] parts = fullCommand.split(" ", 2); // Split into command type and the rest of the input
-
-        try {
-            if (parts.length == 2) {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
-                String details = parts[1]; // Rest of the input (e.g., description, from, to details)
-                String[] eventParts = details.split("/from | /to ");
-
-                if (eventParts.length < 3) {
-                    throw new TalkieMissingArgumentException(parts[0],
-                            "The 'description', 'from', and 'to' of event cannot be empty.");
-                }
-
-                String description = eventParts[0].trim();
-                String from = eventParts[1].trim();
-                String to = eventParts[2].trim();
-
-                LocalDateTime startTime = LocalDateTime.parse(from, formatter);
-                LocalDateTime endTime = LocalDateTime.parse(to, formatter);
+    public static EventCommand parse(CommandLexer lexer) throws TalkieMissingArgumentException {
+        int fromToken = lexer.indexOf("/from", 1);
+        int toToken = fromToken == CommandLexer.NOT_FOUND ? CommandLexer.NOT_FOUND : lexer.indexOf("/to", fromToken);
+        if (fromToken == CommandLexer.NOT_FOUND || toToken == CommandLexer.NOT_FOUND || fromToken == 1) {
+            throw new TalkieMissingArgumentException(lexer.text(0),
+                    "The 'description', 'from', and 'to' of event cannot be empty.");
+        }
 
-                if (startTime.isAfter(endTime)) {
-                    return "The end time must be after the start time!";
-                }
+        LocalDateTime from = toToken == fromToken + 3 ? lexer.parseDateTime(fromToken + 1) : null;
+        LocalDateTime to = lexer.tokenCount() == toToken + 3 ? lexer.parseDateTime(toToken + 1) : null;
+        return new EventCommand(lexer.text(1, fromToken), from, to);
+    }
 
-                Task newEvent = new Event(description, startTime, endTime);
-                tasks.addTask(newEvent);
-                return ui.addMessage(newEvent, tasks.size());
-            } else {
-                throw new TalkieMissingArgumentException(parts[0],
-                        "The 'description', 'from', and 'to' of event cannot be empty.");
-            }
-        } catch (DateTimeParseException e) {
+    /**
+     * Executes the {@code EventCommand} by adding a new event task to the task list.
+     *
+     * @param tasks   The {@code TaskList} containing all current tasks.
+     * @param ui      The {@code Ui} component used to display messages to the user.
+     * @param storage The {@code Storage} component used to save task data.
+     * @return A string containing a confirmation message about the added event or an error message if the
+     *         date/time is invalid.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) {
+        if (this.from == null || this.to == null) {
             return ui.wrongDateTimeFormatMessage();
         }
+        if (this.from.isAfter(this.to)) {
+            return "The end time must be after the start time!";
+        }
+
+        Task newEvent = new Event(this.description, this.from, this.to);
+        if (tasks.containsDuplicate(newEvent)) {
+            return ui.duplicateMessage(newEvent);
+        }
+        tasks.addTask(newEvent);
+        return ui.addMessage(newEvent, tasks.size());
     }
 
     /**
@@ -0,0 +1,74 @@
+package talkie.command;
+
+import talkie.components.CommandLexer;
+import talkie.components.Storage;
+import talkie.components.Ui;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.exception.TalkieMissingArgumentException;
+import talkie.query.Query;
+import talkie.query.QueryPlanner;
+import talkie.task.TaskList;
+
+/**
+ * Represents a command to show how a query would be run, without running it.
+ * <p>
+ * The {@code ExplainCommand} accepts the same queries as the {@code find} command and displays the access path
+ * chosen by the {@link QueryPlanner}, along with the ones it considered.
+ * </p>
+ */
+public class ExplainCommand extends TaskListCommand {
+
+    private final Query query;
+
+    /**
+     * Constructs an {@code ExplainCommand} for the given query.
+     *
+     * @param query The compiled query.
+     */
+    public ExplainCommand(Query query) {
+        this.query = query;
+    }
+
+    /**
+     * Creates an {@code ExplainCommand} from a command line of the form <code>explain query</code>,
+     * compiling the query.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given query.
+     * @throws TalkieMissingArgumentException If the query is not provided in the command.
+     * @throws TalkieInvalidArgumentException If the query is malformed.
+     */
+    public static ExplainCommand parse(CommandLexer lexer)
+            throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
+        // Check if user included an argument
+        if (lexer.tokenCount() == 1) {
+            throw new TalkieMissingArgumentException(lexer.text(0),
+                    "The 'explain' command requires a query as argument");
+        }
+        return new ExplainCommand(Query.parse(lexer.rest(1), lexer.text(0)));
+    }
+
+    /**
+     * Executes the {@code ExplainCommand} by planning the query and describing the plan.
+     *
+     * @param tasks   The {@code TaskList} to run the query against.
+     * @param ui      The {@code Ui} component used to display the result.
+     * @param storage The {@code Storage} component (not used in this method but included for method
+     *                signature consistency).
+     * @return A string describing the plan chosen for the query.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) {
+        return ui.explainMessage(QueryPlanner.plan(this.query, tasks).explain());
+    }
+
+    /**
+     * Indicates that this command does not terminate the application.
+     *
+     * @return {@code false}, as this command does not end the program.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -1,75 +1,106 @@
 package talkie.command;
 
+import java.io.IOException;
+import java.util.List;
+
+import talkie.components.CommandLexer;
 import talkie.components.Storage;
 import talkie.components.Ui;
+import talkie.exception.TalkieException;
 import talkie.exception.TalkieInvalidArgumentException;
 import talkie.exception.TalkieMissingArgumentException;
+import talkie.query.Query;
+import talkie.query.QueryPlanner;
+import talkie.task.Task;
 import talkie.task.TaskList;
 
 /**
- * Represents a command to find tasks containing a specific keyword.
+ * Represents a command to find tasks matching a query.
+ * <p>
+ * The {@code FindCommand} class processes a command that searches for tasks matching a {@link Query}, such as a
+ * single keyword or a combination like <code>type:D done:false "quarterly report"</code>. The query is compiled
+ * once and run by the {@link QueryPlanner}, which uses the task list's indexes where it can.
+ * </p>
  * <p>
- * The {@code FindCommand} class processes a command that searches for tasks with descriptions matching a given keyword.
- * It requires the keyword as an argument and handles any errors related to missing or invalid arguments.
+ * Like the {@code list} command, the matches are shown one page at a time when there are many of them, or when a
+ * page is asked for with <code>/page N /size K</code> at the end of the query.
  * </p>
  */
-public class FindCommand extends Command {
+public class FindCommand extends TaskListCommand {
 
-    private String fullCommand;
+    private final Query query;
+    private final PageRequest page;
 
     /**
-     * Constructs a {@code FindCommand} with the specified full command string.
-     * <p>
-     * Initializes the command with the full string provided by the user,
-     * which is used to parse and execute the find operation.
-     * </p>
+     * Constructs a {@code FindCommand} for the given query.
      *
-     * @param fullCommand The full command string input by the user.
+     * @param query The compiled query.
      */
-    public FindCommand(String fullCommand) {
-        this.fullCommand = fullCommand;
+    public FindCommand(Query query) {
+        this(query, null);
+    }
+
+    private FindCommand(Query query, PageRequest page) {
+        this.query = query;
+        this.page = page;
     }
 
     /**
-     * Executes the {@code FindCommand} to search for tasks containing the specified keyword.
-     * <p>
-     * This method splits the command string to extract the keyword. It checks if the keyword is provided
-     * and valid. If so, it uses the {@code Ui} component to display tasks that match the keyword.
-     * If the keyword is missing or invalid, the method throws appropriate exceptions.
-     * </p>
+     * Creates a {@code FindCommand} from a command line of the form <code>find query [/page N] [/size K]</code>,
+     * compiling the query.
      *
-     * @param tasks   The {@code TaskList} containing all the tasks to search within.
-     * @param ui      The {@code Ui} component used to display tasks matching the keyword.
-     * @param storage The {@code Storage} component (not used in this method but included for method
-     *                signature consistency).
-     * @return A string containing the search results, showing tasks that contain the specified keyword.
-     * @throws TalkieMissingArgumentException If the keyword is not provided in the command.
-     * @throws TalkieInvalidArgumentException If the argument is not a valid string.
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given query.
+     * @throws TalkieMissingArgumentException If the query is not provided in the command.
+     * @throws TalkieInvalidArgumentException If the query is malformed.
      */
-    @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage)
+    public static FindCommand parse(CommandLexer lexer)
             throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
-        String[] temp = this.fullCommand.split(" ");
-
         // Check if user included an argument
-        if (temp.length == 1) {
-            throw new TalkieMissingArgumentException(temp[0], "The 'find' command requires a string as argument");
+        int optionsStart = PageRequest.optionsStart(lexer, 1);
+        if (optionsStart == 1) {
+            throw new TalkieMissingArgumentException(lexer.text(0), "The 'find' command requires a string as argument");
         }
+        PageRequest page = optionsStart < lexer.tokenCount() ? PageRequest.parse(lexer, optionsStart) : null;
+        return new FindCommand(Query.parse(lexer.text(1, optionsStart), lexer.text(0)), page);
+    }
+
+    /**
+     * Executes the {@code FindCommand} by running the query against the task list and displaying the matches.
+     *
+     * @param tasks   The {@code TaskList} to run the query against.
+     * @param ui      The {@code Ui} component used to display the result.
+     * @param storage The {@code Storage} component (not used in this method but included for method
+     *                signature consistency).
+     * @return A string containing the search results, showing tasks that match the query.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws TalkieException {
+        return this.executeToString(tasks, ui, storage);
+    }
 
-        // Checks if the argument is a string
-        if (temp[1] != null) {
-            String keyword = temp[1];
-            return ui.findTasks(tasks, keyword);
-        } else {
-            throw new TalkieInvalidArgumentException(temp[0], "The 'find' command requires a string as argument");
+    /**
+     * Executes the {@code FindCommand}, writing the matches to an output one task at a time.
+     *
+     * @param tasks   The {@code TaskList} to run the query against.
+     * @param ui      The {@code Ui} component used to display the result.
+     * @param storage The {@code Storage} component (not used in this method).
+     * @param out     The output to write the matches to.
+     * @throws IOException If the output cannot be written to.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage, Appendable out) throws IOException {
+        List<Task> matches = QueryPlanner.plan(this.query, tasks).execute();
+        if (tasks.isEmpty()) {
+            ui.findTasks(tasks, matches, out);
+            return;
         }
+        PageCursor.showPage(matches, this.query.toString(), this.page, tasks.getVersion(), ui, out,
+                (from, to) -> ui.listFilteredTasks(matches, from, to, out));
     }
 
     /**
      * Indicates that this command does not terminate the application.
-     * <p>
-     * The {@code FindCommand} does not end the program, so this method always returns {@code false}.
-     * </p>
      *
      * @return {@code false}, as this command does not end the program.
      */
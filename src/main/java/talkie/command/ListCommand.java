@@ -1,24 +1,134 @@
 package talkie.command;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import talkie.components.CommandLexer;
 import talkie.components.Storage;
 import talkie.components.Ui;
+import talkie.exception.TalkieException;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.exception.TalkieMissingArgumentException;
+import talkie.task.Priority;
+import talkie.task.Task;
 import talkie.task.TaskList;
 
 /**
  * Represents a command to list all tasks in the task list in the Talkie application.
- * The command triggers the display of the current list of tasks to the user.
+ * The command triggers the display of the current list of tasks to the user. When given a time range, it instead
+ * displays every occurrence within that range, expanding recurring tasks lazily. When given tags or a priority,
+ * it displays only the matching tasks, found through the task list's bitmap indexes.
+ * <p>
+ * A long list is shown one page at a time, whether it is the whole task list, the tasks matching a filter or the
+ * occurrences in a time range. Given <code>/page N /size K</code> at the end of the command, only that page is
+ * displayed; otherwise, lists longer than {@value PageRequest#DEFAULT_SIZE} tasks show their first page. Each page
+ * ends with a cursor that the {@code more} command uses to show the next page.
+ * </p>
  */
-public class ListCommand extends Command {
+public class ListCommand extends TaskListCommand {
+
+    private static final String RANGE_HINT =
+            "A time range must be in the format: list /from yyyy-MM-dd HHmm /to yyyy-MM-dd HHmm";
+    private static final String FILTER_HINT =
+            "A filter must be in the format: list /tag tag [/tag tag...] [/priority level]";
 
-    private String fullCommand;
+    private final PageRequest page;
+    private final boolean isRange;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final List<String> tags;
+    private final Priority priority;
 
     /**
-     * Constructs a new {@code ListCommand} with the full user input.
+     * Constructs a new {@code ListCommand} that lists all tasks.
+     */
+    public ListCommand() {
+        this(null, false, null, null, null, null);
+    }
+
+    private ListCommand(PageRequest page, boolean isRange, LocalDateTime from, LocalDateTime to, List<String> tags,
+            Priority priority) {
+        this.page = page;
+        this.isRange = isRange;
+        this.from = from;
+        this.to = to;
+        this.tags = tags;
+        this.priority = priority;
+    }
+
+    /**
+     * Creates a {@code ListCommand} from a command line of the form <code>list</code>,
+     * <code>list /tag tag [/tag tag...] [/priority level]</code> or
+     * <code>list /from yyyy-MM-dd HHmm /to yyyy-MM-dd HHmm</code>, any of which may end with
+     * <code>/page N [/size K]</code>.
      *
-     * @param fullCommand The full user input containing the command type.
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given line.
+     * @throws TalkieMissingArgumentException If a page option, filter or time range is missing its value.
+     * @throws TalkieInvalidArgumentException If a page option is not a positive integer, or a tag or priority in a
+     *         filter is not valid.
      */
-    public ListCommand(String fullCommand) {
-        this.fullCommand = fullCommand;
+    public static ListCommand parse(CommandLexer lexer)
+            throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
+        if (lexer.tokenCount() == 1) {
+            return new ListCommand();
+        }
+        int optionsStart = PageRequest.optionsStart(lexer, 1);
+        PageRequest page = optionsStart < lexer.tokenCount() ? PageRequest.parse(lexer, optionsStart) : null;
+        if (optionsStart == 1) {
+            return new ListCommand(page, false, null, null, null, null);
+        }
+        if (lexer.matches(1, "/tag") || lexer.matches(1, "/priority")) {
+            return parseFilter(lexer, optionsStart, page);
+        }
+        return parseRange(lexer, optionsStart, page);
+    }
+
+    /**
+     * Parses the pairs of {@code /tag} and {@code /priority} options before a token.
+     */
+    private static ListCommand parseFilter(CommandLexer lexer, int end, PageRequest page)
+            throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
+        String command = lexer.text(0);
+        List<String> tags = new ArrayList<>();
+        Priority priority = null;
+        for (int token = 1; token < end; token += 2) {
+            if (token + 1 == end) {
+                throw new TalkieMissingArgumentException(command, FILTER_HINT);
+            }
+
+            if (lexer.matches(token, "/tag")) {
+                String tag = Task.normaliseTag(lexer.text(token + 1));
+                if (tag == null) {
+                    throw new TalkieInvalidArgumentException(command,
+                            "Tags can only contain letters, digits, '-' and '_'");
+                }
+                tags.add(tag);
+            } else if (lexer.matches(token, "/priority") && Priority.fromLabel(lexer.text(token + 1)) != null) {
+                priority = Priority.fromLabel(lexer.text(token + 1));
+            } else {
+                throw new TalkieInvalidArgumentException(command, FILTER_HINT);
+            }
+        }
+        return new ListCommand(page, false, null, null, tags, priority);
+    }
+
+    /**
+     * Parses a time range before a token, leaving out a start or end that is not a valid date/time.
+     */
+    private static ListCommand parseRange(CommandLexer lexer, int end, PageRequest page)
+            throws TalkieMissingArgumentException {
+        int toToken = lexer.indexOf("/to", 2);
+        if (!lexer.matches(1, "/from") || toToken == CommandLexer.NOT_FOUND || toToken >= end - 1) {
+            throw new TalkieMissingArgumentException(lexer.text(0), RANGE_HINT);
+        }
+
+        LocalDateTime from = toToken == 4 ? lexer.parseDateTime(2) : null;
+        LocalDateTime to = end == toToken + 3 ? lexer.parseDateTime(toToken + 1) : null;
+        return new ListCommand(page, true, from, to, null, null);
     }
 
     /**
@@ -28,6 +138,10 @@ public class ListCommand extends Command {
      * to present the tasks to the user. The storage component is not used in this command but is included
      * for consistency with the method signature.
      * </p>
+     * <p>
+     * Given a time range, only the occurrences of tasks within that range are displayed, in chronological order.
+     * Given tags or a priority, only the tasks with all of the given tags and the given priority are displayed.
+     * </p>
      *
      * @param tasks   The task list containing all current tasks.
      * @param ui      The UI component used to display the list of tasks to the user.
@@ -35,10 +149,58 @@ public class ListCommand extends Command {
      * @return A string containing the formatted list of all current tasks.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
-        return ui.listTasks(tasks);
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws TalkieException {
+        return this.executeToString(tasks, ui, storage);
+    }
+
+    /**
+     * Executes the {@code ListCommand}, writing the list of tasks to an output one task at a time.
+     *
+     * @param tasks   The task list containing all current tasks.
+     * @param ui      The UI component used to display the list of tasks to the user.
+     * @param storage The storage component used to save task data (not used in this command).
+     * @param out     The output to write the list to.
+     * @throws IOException If the output cannot be written to.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage, Appendable out) throws IOException {
+        if (this.tags != null) {
+            List<Task> matches = tasks.getTasksByIds(tasks.filterIds(this.tags, this.priority));
+            PageCursor.showPage(matches, this.toQuery(), this.page, tasks.getVersion(), ui, out,
+                    (from, to) -> ui.listFilteredTasks(matches, from, to, out));
+            return;
+        }
+        if (!this.isRange) {
+            PageCursor.showPage(tasks.getTasks(), null, this.page, tasks.getVersion(), ui, out,
+                    (from, to) -> ui.listTasks(tasks, from, to, out));
+            return;
+        }
+
+        if (this.from == null || this.to == null) {
+            out.append(ui.wrongDateTimeFormatMessage());
+            return;
+        }
+        if (this.from.isAfter(this.to)) {
+            out.append("The end time must be after the start time!");
+            return;
+        }
+        PageCursor.showOccurrences(tasks, this.from, this.to, this.page, ui, out);
     }
 
+    /**
+     * Returns the query that matches the same tasks as the filter, in the same order, which the {@code more}
+     * command runs to show the next page.
+     */
+    private String toQuery() {
+        StringJoiner query = new StringJoiner(" ");
+        for (String tag : this.tags) {
+            query.add("tag:" + tag);
+        }
+        if (this.priority != null) {
+            query.add("priority:" + this.priority.getLabel());
+        }
+        return query.toString();
+    }
 
     /**
      * Indicates that this command does not terminate the application.
@@ -0,0 +1,32 @@
+package talkie.command;
+
+import java.io.IOException;
+
+import talkie.components.Ui;
+import talkie.components.Workspace;
+
+/**
+ * Represents a command to show the names of the user's task lists, marking the one in use.
+ * <p>
+ * Lists that are not in memory are found by their files and are not loaded, so the command stays fast however
+ * many lists there are.
+ * </p>
+ */
+public class ListsCommand extends WorkspaceCommand {
+
+    /**
+     * Executes the {@code ListsCommand} by listing the names of the lists in the workspace.
+     *
+     * @param workspace The workspace holding the task lists.
+     * @param ui        The UI component used to display messages to the user.
+     * @return A string listing the lists, or an error message if they cannot be found.
+     */
+    @Override
+    public String execute(Workspace workspace, Ui ui) {
+        try {
+            return ui.listsMessage(workspace.getListNames(), workspace.getCurrentName());
+        } catch (IOException e) {
+            return "Oops! Something went wrong when looking for your lists!\n";
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package talkie.command;
 
+import talkie.components.CommandLexer;
 import talkie.components.Storage;
 import talkie.components.Ui;
 import talkie.exception.TalkieInvalidArgumentException;
@@ -12,25 +13,48 @@ import talkie.task.TaskList;
  * Represents a command to mark a task as done in the Talkie application.
  * The command marks a specified task as completed.
  */
-public class MarkCommand extends Command {
+public class MarkCommand extends TaskListCommand {
 
-    private String fullCommand;
+    private final int index;
 
     /**
-     * Constructs a new {@code MarkCommand} with the full user input.
+     * Constructs a new {@code MarkCommand} for the task at the given index.
      *
-     * @param fullCommand The full user input containing the command type and task index.
+     * @param index The 1-based index of the task to mark as done.
      */
-    public MarkCommand(String fullCommand) {
-        this.fullCommand = fullCommand;
+    public MarkCommand(int index) {
+        this.index = index;
     }
 
     /**
-     * Executes the {@code MarkCommand} by marking a specified task as done.
+     * Creates a {@code MarkCommand} from a command line of the form <code>mark index</code>.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given task index.
+     * @throws TalkieMissingArgumentException If no task index is provided.
+     * @throws TalkieInvalidArgumentException If the argument provided is not a valid integer.
+     */
+    public static MarkCommand parse(CommandLexer lexer)
+            throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
+        // Check if the user included an argument
+        if (lexer.tokenCount() == 1) {
+            throw new TalkieMissingArgumentException(lexer.text(0),
+                    "The 'mark' command requires an integer as argument");
+        }
+
+        // Check if the user included the correct integer argument
+        if (!lexer.isInteger(1)) {
+            throw new TalkieInvalidArgumentException(lexer.text(0),
+                    "The 'mark' command requires an integer as argument");
+        }
+        return new MarkCommand(lexer.intValue(1));
+    }
+
+    /**
+     * Executes the {@code MarkCommand} by marking the specified task as done.
      * <p>
-     * The method parses the command input to extract the task index and then marks the corresponding task in the
-     * task list as done. A confirmation message is generated to inform the user of the successful operation.
-     * If the index is not provided or is invalid, appropriate exceptions are thrown.
+     * A confirmation message is generated to inform the user of the successful operation.
+     * If the task is not in the list, an exception is thrown.
      * </p>
      *
      * @param tasks   The task list containing all current tasks.
@@ -38,36 +62,18 @@ public class MarkCommand extends Command {
      * @param storage The storage component used to save task data.
      * @return A string containing a confirmation message about the task being marked as done, including the
      *         task details.
-     * @throws TalkieInvalidArgumentException If the argument provided is not a valid integer or is not in the expected
-     *         format.
-     * @throws TalkieMissingArgumentException If no task index is provided in the command input.
-     * @throws TalkieNoTaskFoundException     If the specified task index does not correspond to any task in the list.
+     * @throws TalkieNoTaskFoundException If the specified task does not exist in the list.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage)
-            throws TalkieInvalidArgumentException, TalkieMissingArgumentException, TalkieNoTaskFoundException {
-        String[] temp = fullCommand.split(" ");
-
-        // Check if the user included an argument
-        if (temp.length == 1) {
-            throw new TalkieMissingArgumentException(temp[0], "The 'mark' command requires an integer as argument");
-
-            // Check if the user included the correct integer argument
-        } else if (this.isInteger(temp[1])) {
-            int index = Integer.parseInt(fullCommand.split(" ")[1]);
-
-            // Check if the task is in the list
-            if (index <= tasks.size()) {
-                Task task = tasks.getTask(index);
-                task.markAsDone();
-                return ui.markMessage(task);
-            } else {
-                throw new TalkieNoTaskFoundException();
-            }
-
-        } else {
-            throw new TalkieInvalidArgumentException(temp[0], "The 'mark' command requires an integer as argument");
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws TalkieNoTaskFoundException {
+        // Check if the task is in the list
+        if (this.index < 1 || this.index > tasks.size()) {
+            throw new TalkieNoTaskFoundException();
         }
+
+        Task task = tasks.getTask(this.index);
+        tasks.markTask(task);
+        return ui.markMessage(task);
     }
 
     /**
@@ -79,19 +85,4 @@ public class MarkCommand extends Command {
     public boolean isExit() {
         return false;
     }
-
-    /**
-     * Checks if a given string can be parsed as an integer.
-     *
-     * @param input The string to check.
-     * @return {@code true} if the string can be parsed as an integer, {@code false} otherwise.
-     */
-    private boolean isInteger(String input) {
-        try {
-            Integer.parseInt(input);
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
-    }
 }
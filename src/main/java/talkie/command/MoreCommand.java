@@ -0,0 +1,121 @@
+package talkie.command;
+
+import java.io.IOException;
+import java.util.List;
+
+import talkie.components.CommandLexer;
+import talkie.components.Storage;
+import talkie.components.Ui;
+import talkie.exception.TalkieException;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.query.Query;
+import talkie.query.QueryPlanner;
+import talkie.task.Task;
+import talkie.task.TaskList;
+
+/**
+ * Represents a command to show the next page of a paged list of tasks.
+ * <p>
+ * Without an argument, the {@code MoreCommand} continues the last paged list shown. Given the cursor printed at the
+ * end of a page, it continues that list instead, even if other lists have been shown or the task list has changed
+ * since. Only the tasks on the next page are displayed. The next page of occurrences in a period, as listed by
+ * <code>list /from ... /to ...</code>, is shown the same way.
+ * </p>
+ */
+public class MoreCommand extends TaskListCommand {
+
+    private final String cursor;
+
+    /**
+     * Constructs a {@code MoreCommand} that continues from the given cursor.
+     *
+     * @param cursor The cursor of the page to show, or {@code null} to continue the last paged list shown.
+     */
+    public MoreCommand(String cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * Creates a {@code MoreCommand} from a command line of the form <code>more [cursor]</code>.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given cursor, or for the last paged list if none is given.
+     * @throws TalkieInvalidArgumentException If more than one argument is given.
+     */
+    public static MoreCommand parse(CommandLexer lexer) throws TalkieInvalidArgumentException {
+        if (lexer.tokenCount() > 2) {
+            throw new TalkieInvalidArgumentException(lexer.text(0),
+                    "The 'more' command takes an optional cursor from the end of a page as argument");
+        }
+        return new MoreCommand(lexer.tokenCount() == 2 ? lexer.text(1) : null);
+    }
+
+    /**
+     * Executes the {@code MoreCommand} by displaying the next page of tasks.
+     *
+     * @param tasks   The task list containing all current tasks.
+     * @param ui      The UI component used to display the page.
+     * @param storage The storage component (not used in this method).
+     * @return A string containing the tasks on the next page.
+     * @throws TalkieException If the cursor is not valid.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws TalkieException {
+        return this.executeToString(tasks, ui, storage);
+    }
+
+    /**
+     * Executes the {@code MoreCommand}, writing the next page of tasks to an output.
+     *
+     * @param tasks   The task list containing all current tasks.
+     * @param ui      The UI component used to display the page.
+     * @param storage The storage component (not used in this method).
+     * @param out     The output to write the page to.
+     * @throws TalkieInvalidArgumentException If the cursor is not valid.
+     * @throws IOException If the output cannot be written to.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage, Appendable out)
+            throws TalkieInvalidArgumentException, IOException {
+        String token = this.cursor != null ? this.cursor : ui.getPageCursor();
+        if (token == null) {
+            out.append(ui.noMoreMessage());
+            return;
+        }
+
+        PageCursor cursor = PageCursor.decode(token, "more");
+        if (cursor.isRange()) {
+            cursor.showNextOccurrences(tasks, ui, out);
+            return;
+        }
+
+        String query = cursor.getQuery();
+        List<Task> items = query == null
+                ? tasks.getTasks()
+                : QueryPlanner.plan(Query.parse(query, "more"), tasks).execute();
+        int from = cursor.locate(items, tasks.getVersion());
+        if (from == items.size()) {
+            ui.setPageCursor(null);
+            out.append(ui.noMoreMessage());
+            return;
+        }
+
+        int to = (int) Math.min(items.size(), (long) from + cursor.getSize());
+        if (query == null) {
+            ui.listTasks(tasks, from, to, out);
+        } else {
+            ui.listFilteredTasks(items, from, to, out);
+        }
+        PageCursor.finishPage(items, query, from, to, cursor.getSize(), tasks.getVersion(), ui, out);
+    }
+
+    /**
+     * Indicates that this command does not terminate the application.
+     *
+     * @return {@code false}, as this command does not end the program.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+package talkie.command;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import talkie.components.CommandLexer;
+import talkie.components.Ui;
+import talkie.components.Workspace;
+import talkie.exception.TalkieException;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.exception.TalkieMissingArgumentException;
+import talkie.exception.TalkieNoTaskFoundException;
+import talkie.task.Task;
+import talkie.task.TaskList;
+
+/**
+ * Represents a command to move a task from the list in use to another list, which is created if it does not exist.
+ * <p>
+ * Blockers only relate tasks in the same list, so the moved task is no longer blocked by, or blocking, any task.
+ * Both lists are saved straight away, the list the task is moved to first, so that a failure part way through
+ * never loses the task.
+ * </p>
+ */
+public class MoveCommand extends WorkspaceCommand {
+
+    private static final String HINT = "The 'move' command requires a task number and a list, e.g. move 2 work";
+
+    private final int index;
+    private final String list;
+
+    /**
+     * Constructs a new {@code MoveCommand} for the task at the given index.
+     *
+     * @param index The 1-based index of the task to move.
+     * @param list The name of the list to move it to.
+     */
+    public MoveCommand(int index, String list) {
+        this.index = index;
+        this.list = list;
+    }
+
+    /**
+     * Creates a {@code MoveCommand} from a command line of the form <code>move index list</code>.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given task and list.
+     * @throws TalkieMissingArgumentException If the task number or list is missing.
+     * @throws TalkieInvalidArgumentException If the task number is not an integer or the list name is not valid.
+     */
+    public static MoveCommand parse(CommandLexer lexer)
+            throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
+        if (lexer.tokenCount() < 3) {
+            throw new TalkieMissingArgumentException(lexer.text(0), HINT);
+        }
+        if (lexer.tokenCount() > 3 || !lexer.isInteger(1) || !Workspace.isValidName(lexer.text(2))) {
+            throw new TalkieInvalidArgumentException(lexer.text(0), HINT);
+        }
+        return new MoveCommand(lexer.intValue(1), lexer.text(2));
+    }
+
+    /**
+     * Executes the {@code MoveCommand} by removing the task from the list in use and adding it to the other list.
+     *
+     * @param workspace The workspace holding the task lists.
+     * @param ui        The UI component used to display messages to the user.
+     * @return A string confirming the move, or an error message if the lists cannot be saved.
+     * @throws TalkieNoTaskFoundException If the specified task does not exist in the list in use.
+     * @throws TalkieInvalidArgumentException If the task is already in the named list.
+     */
+    @Override
+    public String execute(Workspace workspace, Ui ui) throws TalkieException {
+        if (this.list.equals(workspace.getCurrentName())) {
+            throw new TalkieInvalidArgumentException("move",
+                    "The task is already in the list " + this.list + ". Move it to another list.");
+        }
+        TaskList from = workspace.getTaskList();
+        if (this.index < 1 || this.index > from.size()) {
+            throw new TalkieNoTaskFoundException();
+        }
+
+        TaskList to = workspace.getTaskList(this.list);
+        Task task = from.deleteTask(this.index);
+        for (int blockerId : new ArrayList<>(task.getBlockerIds())) {
+            task.removeBlocker(blockerId);
+        }
+        to.addTask(task);
+
+        try {
+            workspace.save(this.list);
+            workspace.save();
+        } catch (IOException e) {
+            return "Oops! Something went wrong when saving the data!\n";
+        }
+        return ui.moveMessage(task, this.list, from.size());
+    }
+}
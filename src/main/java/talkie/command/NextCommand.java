@@ -0,0 +1,72 @@
+package talkie.command;
+
+import talkie.components.CommandLexer;
+import talkie.components.Storage;
+import talkie.components.Ui;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.task.TaskList;
+
+/**
+ * Represents a command to show the tasks that can be done next.
+ * <p>
+ * A task can be done next if it is not done and every task blocking it is done. The tasks are shown highest
+ * priority first, then earliest date first.
+ * </p>
+ */
+public class NextCommand extends TaskListCommand {
+
+    private static final int DEFAULT_LIMIT = 5;
+
+    private final int limit;
+
+    /**
+     * Constructs a {@code NextCommand} that shows up to the given number of tasks.
+     *
+     * @param limit The maximum number of tasks to show.
+     */
+    public NextCommand(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Creates a {@code NextCommand} from a command line of the form <code>next [count]</code>.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given count, or the default count if none is given.
+     * @throws TalkieInvalidArgumentException If the count is not a positive integer.
+     */
+    public static NextCommand parse(CommandLexer lexer) throws TalkieInvalidArgumentException {
+        if (lexer.tokenCount() == 1) {
+            return new NextCommand(DEFAULT_LIMIT);
+        }
+        if (lexer.tokenCount() > 2 || !lexer.isInteger(1) || lexer.intValue(1) < 1) {
+            throw new TalkieInvalidArgumentException(lexer.text(0),
+                    "The 'next' command takes an optional positive integer as argument");
+        }
+        return new NextCommand(lexer.intValue(1));
+    }
+
+    /**
+     * Executes the {@code NextCommand} by listing the tasks that are ready to be done.
+     *
+     * @param tasks   The task list containing all current tasks.
+     * @param ui      The UI component used to display messages to the user.
+     * @param storage The storage component (not used in this method but included for method signature
+     *                consistency).
+     * @return A string listing the tasks that are ready to be done.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) {
+        return ui.nextMessage(tasks.getReadyTasks(this.limit));
+    }
+
+    /**
+     * Indicates that this command does not terminate the application.
+     *
+     * @return {@code false}, as this command does not end the program.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
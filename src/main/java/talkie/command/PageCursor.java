@@ -0,0 +1,291 @@
+package talkie.command;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+
+import talkie.components.Ui;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.task.Occurrence;
+import talkie.task.Task;
+import talkie.task.TaskList;
+
+/**
+ * Represents the position of the next page of a paged list of tasks, shown to the user as an opaque string.
+ * <p>
+ * A cursor records the ID of the first task of the next page, that task's position and the version of the task
+ * list when the cursor was made. If the list has not changed since, the next page starts at the recorded position
+ * without any search. Otherwise the page starts at the task with the recorded ID, wherever it has moved to, so
+ * tasks added, deleted or sorted in between do not make the cursor skip or repeat tasks. If that task has been
+ * deleted, the page starts at the recorded position instead.
+ * </p>
+ * <p>
+ * A cursor for the matches of a query records the query, which is run again when the cursor is used.
+ * </p>
+ * <p>
+ * A cursor for the occurrences of tasks within a period records the time of the first occurrence of the next page,
+ * the ID of its task and the end of the period. Occurrences are generated again from that time onwards when the
+ * cursor is used, so a page costs the same however far into the period it is.
+ * </p>
+ */
+final class PageCursor {
+
+    private static final String LIST = "L";
+    private static final String QUERY = "Q";
+    private static final String RANGE = "R";
+    private static final String SEPARATOR = "|";
+    private static final int FIELD_COUNT = 6;
+
+    private final String query;
+    private final int anchorId;
+    private final int position;
+    private final long version;
+    private final int size;
+    private final LocalDateTime rangeStart;
+    private final LocalDateTime rangeEnd;
+
+    private PageCursor(String query, int anchorId, int position, long version, int size) {
+        this(query, anchorId, position, version, size, null, null);
+    }
+
+    private PageCursor(String query, int anchorId, int position, long version, int size, LocalDateTime rangeStart,
+            LocalDateTime rangeEnd) {
+        this.query = query;
+        this.anchorId = anchorId;
+        this.position = position;
+        this.version = version;
+        this.size = size;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+    }
+
+    /**
+     * Writes a page of a list of tasks, followed by a footer with the cursor of the next page if the list does not
+     * fit in one page.
+     * <p>
+     * If no page is asked for and the list is no longer than the default page size, the whole list is written
+     * without a footer, as if it were not paged.
+     * </p>
+     * <p>
+     * The UI also remembers all the tasks, so that views which can show a long list at once, such as the GUI's task
+     * table, can show every page.
+     * </p>
+     *
+     * @param items The tasks in all pages.
+     * @param query The query the tasks match, or {@code null} if they are the whole task list.
+     * @param page The page asked for, or {@code null} for the first page of the default size.
+     * @param version The version of the task list.
+     * @param ui The UI component, which remembers the cursor of the next page.
+     * @param out The output to write to.
+     * @param writer Writes the header of the list and the tasks on the page.
+     * @throws IOException If the output cannot be written to.
+     */
+    static void showPage(List<Task> items, String query, PageRequest page, long version, Ui ui, Appendable out,
+            PageWriter writer) throws IOException {
+        ui.setListedTasks(items);
+        PageRequest request = page == null ? PageRequest.FIRST : page;
+        if (request.getStart() > 0 && request.getStart() >= items.size()) {
+            out.append(ui.noPageMessage(request.getPage(), request.pageCount(items.size())));
+            return;
+        }
+
+        int from = (int) request.getStart();
+        int to = (int) Math.min(items.size(), request.getStart() + request.getSize());
+        writer.write(from, to);
+        if (page != null || to < items.size()) {
+            finishPage(items, query, from, to, request.getSize(), version, ui, out);
+        }
+    }
+
+    /**
+     * Writes the footer of a page and remembers the cursor of the next page, or forgets it if this is the last page.
+     *
+     * @param items The tasks in all pages.
+     * @param query The query the tasks match, or {@code null} if they are the whole task list.
+     * @param from The 0-based position of the first task on the page.
+     * @param to The position after the last task on the page.
+     * @param size The number of tasks on a page.
+     * @param version The version of the task list.
+     * @param ui The UI component, which remembers the cursor of the next page.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    static void finishPage(List<Task> items, String query, int from, int to, int size, long version, Ui ui,
+            Appendable out) throws IOException {
+        String cursor = null;
+        if (to < items.size()) {
+            cursor = new PageCursor(query, items.get(to).getId(), to, version, size).encode();
+        }
+        ui.setPageCursor(cursor);
+        ui.pageFooter(from, to, items.size(), cursor, out);
+    }
+
+    /**
+     * Writes a page of the occurrences of tasks within a period, followed by a footer with the cursor of the next
+     * page if there are more.
+     * <p>
+     * As with {@link #showPage}, a period with no more than the default page size of occurrences is written without
+     * a footer if no page is asked for. Occurrences are generated lazily and never held, so a page costs time
+     * proportional to its position in the period and no memory beyond the output's own buffer.
+     * </p>
+     *
+     * @param tasks The task list.
+     * @param from The start of the period, inclusive.
+     * @param to The end of the period, inclusive.
+     * @param page The page asked for, or {@code null} for the first page of the default size.
+     * @param ui The UI component, which remembers the cursor of the next page.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    static void showOccurrences(TaskList tasks, LocalDateTime from, LocalDateTime to, PageRequest page, Ui ui,
+            Appendable out) throws IOException {
+        PageRequest request = page == null ? PageRequest.FIRST : page;
+        Iterator<Occurrence> occurrences = tasks.occurrencesBetween(from, to);
+        long skipped = 0;
+        while (skipped < request.getStart() && occurrences.hasNext()) {
+            occurrences.next();
+            skipped++;
+        }
+        if (skipped > 0 && !occurrences.hasNext()) {
+            ui.setPageCursor(null);
+            out.append(ui.noPageMessage(request.getPage(), request.pageCount((int) skipped)));
+            return;
+        }
+        writeOccurrences(occurrences, from, to, (int) skipped, request.getSize(), page != null, ui, out);
+    }
+
+    /**
+     * Writes the page of occurrences that this cursor points to, followed by a footer with the cursor of the next
+     * page if there are more.
+     *
+     * @param tasks The task list, as it is now.
+     * @param ui The UI component, which remembers the cursor of the next page.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    void showNextOccurrences(TaskList tasks, Ui ui, Appendable out) throws IOException {
+        Iterator<Occurrence> occurrences = tasks.occurrencesBetween(this.rangeStart, this.anchorId, this.rangeEnd);
+        if (!occurrences.hasNext()) {
+            ui.setPageCursor(null);
+            out.append(ui.noMoreMessage());
+            return;
+        }
+        writeOccurrences(occurrences, this.rangeStart, this.rangeEnd, this.position, this.size, true, ui, out);
+    }
+
+    private static void writeOccurrences(Iterator<Occurrence> occurrences, LocalDateTime from, LocalDateTime to,
+            int position, int size, boolean hasFooter, Ui ui, Appendable out) throws IOException {
+        int end = ui.listOccurrences(occurrences, from, to, position, size, out);
+        String cursor = null;
+        if (occurrences.hasNext()) {
+            Occurrence next = occurrences.next();
+            cursor = new PageCursor(null, next.getTask().getId(), end, 0, size, next.getTime(), to).encode();
+        }
+        ui.setPageCursor(cursor);
+        if (hasFooter || cursor != null) {
+            ui.occurrenceFooter(position, end, cursor, out);
+        }
+    }
+
+    /**
+     * Decodes a cursor shown to the user.
+     *
+     * @param token The cursor as shown to the user.
+     * @param command The command the cursor was given to, used in error messages.
+     * @return The decoded cursor.
+     * @throws TalkieInvalidArgumentException If the cursor was not made by {@link #finishPage}.
+     */
+    static PageCursor decode(String token, String command) throws TalkieInvalidArgumentException {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] fields = decoded.split("\\" + SEPARATOR, FIELD_COUNT);
+            boolean isQuery = fields[0].equals(QUERY);
+            boolean isRange = fields[0].equals(RANGE);
+            boolean hasExtra = isQuery || isRange;
+            if (!(hasExtra || fields[0].equals(LIST)) || fields.length != (hasExtra ? FIELD_COUNT : FIELD_COUNT - 1)) {
+                throw new IllegalArgumentException("Unknown cursor format");
+            }
+
+            int anchorId = Integer.parseInt(fields[1]);
+            int position = Integer.parseInt(fields[2]);
+            long version = Long.parseLong(fields[3]);
+            int size = Integer.parseInt(fields[4]);
+            if (position < 0 || size < 1) {
+                throw new IllegalArgumentException("Cursor out of range");
+            }
+            if (!isRange) {
+                return new PageCursor(isQuery ? fields[5] : null, anchorId, position, version, size);
+            }
+
+            String[] range = fields[5].split("\\" + SEPARATOR);
+            if (range.length != 2) {
+                throw new IllegalArgumentException("Unknown cursor format");
+            }
+            return new PageCursor(null, anchorId, position, version, size, LocalDateTime.parse(range[0]),
+                    LocalDateTime.parse(range[1]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new TalkieInvalidArgumentException(command,
+                    "That cursor is not valid. Use the cursor shown at the end of a page.");
+        }
+    }
+
+    /**
+     * Returns the 0-based position in a list of tasks where the page of this cursor starts.
+     *
+     * @param items The tasks in all pages, as they are now.
+     * @param currentVersion The current version of the task list.
+     * @return The position of the first task on the page, which may be the end of the list.
+     */
+    int locate(List<Task> items, long currentVersion) {
+        boolean isAtPosition = this.position < items.size() && items.get(this.position).getId() == this.anchorId;
+        if (currentVersion == this.version || isAtPosition) {
+            return Math.min(this.position, items.size());
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getId() == this.anchorId) {
+                return i;
+            }
+        }
+        return Math.min(this.position, items.size());
+    }
+
+    String getQuery() {
+        return this.query;
+    }
+
+    boolean isRange() {
+        return this.rangeStart != null;
+    }
+
+    int getSize() {
+        return this.size;
+    }
+
+    private String encode() {
+        String kind = this.query != null ? QUERY : this.rangeStart != null ? RANGE : LIST;
+        StringBuilder fields = new StringBuilder(kind)
+                .append(SEPARATOR).append(this.anchorId)
+                .append(SEPARATOR).append(this.position)
+                .append(SEPARATOR).append(this.version)
+                .append(SEPARATOR).append(this.size);
+        if (this.query != null) {
+            fields.append(SEPARATOR).append(this.query);
+        } else if (this.rangeStart != null) {
+            fields.append(SEPARATOR).append(this.rangeStart).append(SEPARATOR).append(this.rangeEnd);
+        }
+        byte[] bytes = fields.toString().getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Writes the header of a list and the tasks on one of its pages.
+     */
+    @FunctionalInterface
+    interface PageWriter {
+        void write(int from, int to) throws IOException;
+    }
+}
@@ -0,0 +1,103 @@
+package talkie.command;
+
+import talkie.components.CommandLexer;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.exception.TalkieMissingArgumentException;
+
+/**
+ * Represents a page of a list of tasks asked for with <code>/page N /size K</code>.
+ */
+final class PageRequest {
+
+    /** The number of tasks on a page when no size is given, and the most shown without paging. */
+    static final int DEFAULT_SIZE = 100;
+
+    /** The first page, of the default size. */
+    static final PageRequest FIRST = new PageRequest(1, DEFAULT_SIZE);
+
+    private final int page;
+    private final int size;
+
+    private PageRequest(int page, int size) {
+        this.page = page;
+        this.size = size;
+    }
+
+    /**
+     * Returns the index of the first {@code /page} or {@code /size} option in a command line.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @param from The index of the first token to check.
+     * @return The index of the first option, or the number of tokens if there is none.
+     */
+    static int optionsStart(CommandLexer lexer, int from) {
+        for (int token = from; token < lexer.tokenCount(); token++) {
+            if (lexer.matches(token, "/page") || lexer.matches(token, "/size")) {
+                return token;
+            }
+        }
+        return lexer.tokenCount();
+    }
+
+    /**
+     * Parses the {@code /page} and {@code /size} options at the end of a command line, in either order.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @param from The index of the first option.
+     * @return The page asked for, which is the first page if only a size is given.
+     * @throws TalkieMissingArgumentException If an option is missing its value.
+     * @throws TalkieInvalidArgumentException If an option is repeated, unknown or not a positive integer.
+     */
+    static PageRequest parse(CommandLexer lexer, int from)
+            throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
+        String command = lexer.text(0);
+        String hint = "Pages must be in the format: " + command + " ... /page N [/size K]";
+        if ((lexer.tokenCount() - from) % 2 != 0) {
+            throw new TalkieMissingArgumentException(command, hint);
+        }
+
+        int page = 0;
+        int size = 0;
+        for (int token = from; token < lexer.tokenCount(); token += 2) {
+            boolean isPage = lexer.matches(token, "/page");
+            boolean isRepeated = isPage ? page != 0 : size != 0;
+            if (!(isPage || lexer.matches(token, "/size")) || isRepeated
+                    || !lexer.isInteger(token + 1) || lexer.intValue(token + 1) < 1) {
+                throw new TalkieInvalidArgumentException(command, hint);
+            }
+            if (isPage) {
+                page = lexer.intValue(token + 1);
+            } else {
+                size = lexer.intValue(token + 1);
+            }
+        }
+        return new PageRequest(Math.max(page, 1), size == 0 ? DEFAULT_SIZE : size);
+    }
+
+    int getPage() {
+        return this.page;
+    }
+
+    int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of pages needed to show a number of tasks, which is at least one.
+     *
+     * @param total The number of tasks.
+     * @return The number of pages.
+     */
+    int pageCount(int total) {
+        return (int) Math.max(1, ((long) total + this.size - 1) / this.size);
+    }
+
+    /**
+     * Returns the 0-based position of the first task on the page.
+     *
+     * @return The position, which may be past the end of the list.
+     */
+    long getStart() {
+        return (long) (this.page - 1) * this.size;
+    }
+}
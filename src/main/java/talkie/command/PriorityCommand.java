@@ -0,0 +1,90 @@
+package talkie.command;
+
+import talkie.components.CommandLexer;
+import talkie.components.Storage;
+import talkie.components.Ui;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.exception.TalkieMissingArgumentException;
+import talkie.exception.TalkieNoTaskFoundException;
+import talkie.task.Priority;
+import talkie.task.Task;
+import talkie.task.TaskList;
+
+/**
+ * Represents a command to change the priority of a task in the Talkie application.
+ * The priority can be {@code high}, {@code medium}, {@code low} or {@code none}.
+ */
+public class PriorityCommand extends TaskListCommand {
+
+    private final int index;
+    private final Priority priority;
+
+    /**
+     * Constructs a new {@code PriorityCommand} for the task at the given index.
+     *
+     * @param index The 1-based index of the task.
+     * @param priority The new priority of the task.
+     */
+    public PriorityCommand(int index, Priority priority) {
+        this.index = index;
+        this.priority = priority;
+    }
+
+    /**
+     * Creates a {@code PriorityCommand} from a command line of the form
+     * <code>priority index high|medium|low|none</code>.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given task index and priority.
+     * @throws TalkieMissingArgumentException If the task index or priority is missing.
+     * @throws TalkieInvalidArgumentException If the task index is not an integer or the priority is not valid.
+     */
+    public static PriorityCommand parse(CommandLexer lexer)
+            throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
+        // Check if the user included an index and a priority
+        if (lexer.tokenCount() != 3) {
+            throw new TalkieMissingArgumentException(lexer.text(0),
+                    "The 'priority' command requires an index and one of high, medium, low or none");
+        } else if (!lexer.isInteger(1)) {
+            throw new TalkieInvalidArgumentException(lexer.text(0),
+                    "The 'priority' command requires an integer as argument");
+        }
+
+        Priority priority = Priority.fromLabel(lexer.text(2));
+        if (priority == null) {
+            throw new TalkieInvalidArgumentException(lexer.text(0),
+                    "A priority must be one of high, medium, low or none");
+        }
+        return new PriorityCommand(lexer.intValue(1), priority);
+    }
+
+    /**
+     * Executes the {@code PriorityCommand} by changing the priority of the specified task.
+     *
+     * @param tasks   The task list containing all current tasks.
+     * @param ui      The UI component used to display messages to the user.
+     * @param storage The storage component used to save task data.
+     * @return A string containing a confirmation message about the updated task.
+     * @throws TalkieNoTaskFoundException If the specified task does not exist in the list.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws TalkieNoTaskFoundException {
+        if (this.index < 1 || this.index > tasks.size()) {
+            throw new TalkieNoTaskFoundException();
+        }
+
+        Task task = tasks.getTask(this.index);
+        tasks.setPriority(task, this.priority);
+        return ui.priorityMessage(task);
+    }
+
+    /**
+     * Indicates that this command does not terminate the application.
+     *
+     * @return {@code false}, as this command does not end the program.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -0,0 +1,186 @@
+package talkie.command;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import talkie.components.CommandLexer;
+import talkie.components.Storage;
+import talkie.components.Ui;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.exception.TalkieMissingArgumentException;
+import talkie.task.RecurrenceRule;
+import talkie.task.RecurringTask;
+import talkie.task.Task;
+import talkie.task.TaskList;
+
+/**
+ * Represents a command to add a recurring task to the task list in the Talkie application.
+ * The command parses the user input to create a {@code RecurringTask} with a description, a first occurrence
+ * and a recurrence rule, optionally bounded by an end date/time or a number of occurrences.
+ */
+public class RecurCommand extends TaskListCommand {
+
+    private static final String USAGE = "The recurring task must be in the format: description "
+            + "/from yyyy-MM-dd HHmm /every daily|weekly|monthly [/until yyyy-MM-dd HHmm] [/count N]";
+    private static final String[] OPTIONS = {"/from", "/every", "/until", "/count"};
+    private static final int FROM = 0;
+    private static final int EVERY = 1;
+    private static final int UNTIL = 2;
+    private static final int COUNT = 3;
+
+    private final String description;
+    private final LocalDateTime from;
+    private final RecurrenceRule.Frequency frequency;
+    private final LocalDateTime until;
+    private final int count;
+    private final boolean isValidTime;
+
+    /**
+     * Constructs a new {@code RecurCommand} with the details of the recurring task.
+     *
+     * @param description The description of the task.
+     * @param from The first occurrence, or {@code null} if the user did not enter a valid date/time.
+     * @param frequency How often the task recurs.
+     * @param until The end of the recurrence, or {@code null} if it has none.
+     * @param count The number of occurrences, or {@link RecurrenceRule#UNBOUNDED}.
+     */
+    public RecurCommand(String description, LocalDateTime from, RecurrenceRule.Frequency frequency,
+            LocalDateTime until, int count) {
+        this(description, from, frequency, until, count, from != null);
+    }
+
+    private RecurCommand(String description, LocalDateTime from, RecurrenceRule.Frequency frequency,
+            LocalDateTime until, int count, boolean isValidTime) {
+        this.description = description;
+        this.from = from;
+        this.frequency = frequency;
+        this.until = until;
+        this.count = count;
+        this.isValidTime = isValidTime;
+    }
+
+    /**
+     * Creates a {@code RecurCommand} from a command line of the form
+     * <code>recur description /from yyyy-MM-dd HHmm /every daily|weekly|monthly</code>, optionally followed by
+     * <code>/until yyyy-MM-dd HHmm</code> and/or <code>/count N</code>, in any order after the description.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given recurring task.
+     * @throws TalkieMissingArgumentException If the description, first occurrence or frequency is missing.
+     * @throws TalkieInvalidArgumentException If the frequency or count is not valid.
+     */
+    public static RecurCommand parse(CommandLexer lexer)
+            throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
+        String command = lexer.text(0);
+        if (lexer.tokenCount() == 1) {
+            throw new TalkieMissingArgumentException(command,
+                    "The 'description', 'from' and 'every' of a recurring task cannot be empty.");
+        }
+
+        // The token of each option, where a later one of the same option replaces an earlier one
+        int[] optionTokens = new int[OPTIONS.length];
+        Arrays.fill(optionTokens, CommandLexer.NOT_FOUND);
+        // The token after the value of each option, which is the next option or the end of the line
+        int[] valueEnds = new int[OPTIONS.length];
+        int firstOption = lexer.tokenCount();
+        int previous = CommandLexer.NOT_FOUND;
+        for (int token = 1; token < lexer.tokenCount(); token++) {
+            int option = optionAt(lexer, token);
+            if (option == CommandLexer.NOT_FOUND) {
+                continue;
+            }
+            firstOption = Math.min(firstOption, token);
+            if (previous != CommandLexer.NOT_FOUND) {
+                valueEnds[previous] = token;
+            }
+            optionTokens[option] = token;
+            valueEnds[option] = lexer.tokenCount();
+            previous = option;
+        }
+
+        if (firstOption == 1 || optionTokens[FROM] == CommandLexer.NOT_FOUND
+                || optionTokens[EVERY] == CommandLexer.NOT_FOUND) {
+            throw new TalkieMissingArgumentException(command, USAGE);
+        }
+
+        RecurrenceRule.Frequency frequency = RecurrenceRule.Frequency.fromLabel(
+                lexer.text(optionTokens[EVERY] + 1, valueEnds[EVERY]));
+        if (frequency == null) {
+            throw new TalkieInvalidArgumentException(command, "A task can only recur daily, weekly or monthly.");
+        }
+
+        int count = RecurrenceRule.UNBOUNDED;
+        if (optionTokens[COUNT] != CommandLexer.NOT_FOUND) {
+            int countToken = optionTokens[COUNT] + 1;
+            if (valueEnds[COUNT] != countToken + 1 || !lexer.isInteger(countToken) || lexer.intValue(countToken) < 1) {
+                throw new TalkieInvalidArgumentException(command,
+                        "The 'count' of a recurring task must be a positive integer.");
+            }
+            count = lexer.intValue(countToken);
+        }
+
+        LocalDateTime from = dateTimeOption(lexer, optionTokens[FROM], valueEnds[FROM]);
+        LocalDateTime until = null;
+        boolean isValidTime = from != null;
+        if (optionTokens[UNTIL] != CommandLexer.NOT_FOUND) {
+            until = dateTimeOption(lexer, optionTokens[UNTIL], valueEnds[UNTIL]);
+            isValidTime &= until != null;
+        }
+        return new RecurCommand(lexer.text(1, firstOption), from, frequency, until, count, isValidTime);
+    }
+
+    private static int optionAt(CommandLexer lexer, int token) {
+        for (int option = 0; option < OPTIONS.length; option++) {
+            if (lexer.matches(token, OPTIONS[option])) {
+                return option;
+            }
+        }
+        return CommandLexer.NOT_FOUND;
+    }
+
+    /**
+     * Returns the date/time given as the value of an option, or {@code null} if it is not exactly a valid
+     * date/time.
+     */
+    private static LocalDateTime dateTimeOption(CommandLexer lexer, int optionToken, int valueEnd) {
+        return valueEnd == optionToken + 3 ? lexer.parseDateTime(optionToken + 1) : null;
+    }
+
+    /**
+     * Executes the {@code RecurCommand} by adding a new {@code RecurringTask} to the task list, and displaying an
+     * appropriate message to the user.
+     *
+     * @param tasks   The {@code TaskList} containing all current tasks.
+     * @param ui      The {@code Ui} component used to display messages to the user.
+     * @param storage The {@code Storage} component used to save task data.
+     * @return A string containing a confirmation message about the added recurring task, or an error message if
+     *         the date/time format is invalid.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) {
+        if (!this.isValidTime) {
+            return ui.wrongDateTimeFormatMessage();
+        }
+        if (this.until != null && this.until.isBefore(this.from)) {
+            return "The end time must be after the start time!";
+        }
+
+        Task newRecurringTask = new RecurringTask(this.description, this.from,
+                new RecurrenceRule(this.frequency, this.until, this.count));
+        if (tasks.containsDuplicate(newRecurringTask)) {
+            return ui.duplicateMessage(newRecurringTask);
+        }
+        tasks.addTask(newRecurringTask);
+        return ui.addMessage(newRecurringTask, tasks.size());
+    }
+
+    /**
+     * Indicates that this command does not terminate the application.
+     *
+     * @return {@code false}, as this command does not end the program.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -1,5 +1,7 @@
 package talkie.command;
 
+import java.io.IOException;
+
 import talkie.components.Storage;
 import talkie.components.Ui;
 import talkie.exception.TalkieException;
@@ -9,7 +11,7 @@ import talkie.task.TaskList;
  * Represents a command to sort the list of tasks.
  * This command sorts the tasks by their description and displays the sorted list.
  */
-public class SortCommand extends Command {
+public class SortCommand extends TaskListCommand {
 
     private final String fullCommand;
 
@@ -20,9 +22,15 @@ public class SortCommand extends Command {
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws TalkieException {
 
+        return this.executeToString(tasks, ui, storage);
+    }
+
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage, Appendable out) throws IOException {
         // Sort list of tasks
         tasks.sortByDescription();
-        return ui.listSortedTasks(tasks);
+        PageCursor.showPage(tasks.getTasks(), null, null, tasks.getVersion(), ui, out,
+                (from, to) -> ui.listSortedTasks(tasks, from, to, out));
     }
 
 
@@ -0,0 +1,138 @@
+package talkie.command;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import talkie.components.CommandLexer;
+import talkie.components.Storage;
+import talkie.components.Ui;
+import talkie.components.Workspace;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.task.ChangeLog;
+import talkie.task.TaskChange;
+import talkie.task.TaskList;
+
+/**
+ * Represents a command that brings a client's copy of the list in use up to date, by sending only what has changed
+ * since the client last synced.
+ * <p>
+ * The response starts with a header line, followed by one line per task or change. Tasks are written in the same
+ * form as in the data file, which includes their IDs. If the change log holds every change since the given sync
+ * sequence number, the response is a delta:
+ * </p>
+ * <pre>
+ * delta &lt;SEQUENCE&gt; &lt;COUNT&gt;
+ * + &lt;INDEX&gt; &lt;TASK&gt;     the task was added at this position
+ * - &lt;INDEX&gt; &lt;ID&gt;       the task at this position, with this ID, was removed
+ * ~ &lt;TASK&gt;             the task with the same ID changed
+ * </pre>
+ * <p>
+ * Otherwise, such as on the first sync, the response is a snapshot of every task in order:
+ * </p>
+ * <pre>
+ * snapshot &lt;SEQUENCE&gt; &lt;COUNT&gt;
+ * &lt;TASK&gt;
+ * </pre>
+ * <p>
+ * Either way, the sequence number in the header is the one to sync from next time, and the changes are applied in
+ * order. The cost of a delta is proportional to the number of changes, not to the size of the list.
+ * </p>
+ */
+public class SyncCommand extends WorkspaceCommand {
+
+    private final long sequence;
+
+    /**
+     * Constructs a new {@code SyncCommand} from the given sync sequence number.
+     *
+     * @param sequence The sync sequence number of the client's copy, or 0 if it has none.
+     */
+    public SyncCommand(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * Creates a {@code SyncCommand} from a command line of the form <code>sync [sequence]</code>.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given sequence number, or 0 if none is given.
+     * @throws TalkieInvalidArgumentException If the sequence number is not a whole number.
+     */
+    public static SyncCommand parse(CommandLexer lexer) throws TalkieInvalidArgumentException {
+        if (lexer.tokenCount() == 1) {
+            return new SyncCommand(0);
+        }
+        try {
+            if (lexer.tokenCount() == 2 && lexer.text(1).matches("\\d+")) {
+                return new SyncCommand(Long.parseLong(lexer.text(1)));
+            }
+        } catch (NumberFormatException e) {
+            // Too large to be a sequence number, so reported below like any other invalid argument
+        }
+        throw new TalkieInvalidArgumentException(lexer.text(0),
+                "The 'sync' command takes the sequence number of your last sync, e.g. sync 1879442925893451778");
+    }
+
+    /**
+     * Executes the {@code SyncCommand} by building the delta or snapshot as a string.
+     *
+     * @param workspace The workspace holding the task lists.
+     * @param ui        The UI component, which is not used.
+     * @return The delta or snapshot.
+     */
+    @Override
+    public String execute(Workspace workspace, Ui ui) {
+        StringBuilder response = new StringBuilder();
+        try {
+            this.execute(workspace, ui, response);
+        } catch (IOException e) {
+            // A StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return response.toString();
+    }
+
+    /**
+     * Executes the {@code SyncCommand} by writing the delta or snapshot to an output, one line at a time.
+     *
+     * @param workspace The workspace holding the task lists.
+     * @param ui        The UI component, which is not used.
+     * @param out       The output to write the response to.
+     * @throws IOException If the output cannot be written to.
+     */
+    @Override
+    public void execute(Workspace workspace, Ui ui, Appendable out) throws IOException {
+        ChangeLog log = workspace.getChangeLog();
+        TaskList tasks = workspace.getTaskList();
+        Storage storage = workspace.getStorage();
+        List<TaskChange> changes = log.since(this.sequence);
+
+        if (changes == null) {
+            out.append("snapshot ").append(Long.toString(log.getSequence())).append(' ')
+                    .append(Integer.toString(tasks.size())).append('\n');
+            for (int i = 1; i <= tasks.size(); i++) {
+                out.append(storage.encode(tasks.getTask(i))).append('\n');
+            }
+            return;
+        }
+
+        out.append("delta ").append(Long.toString(log.getSequence())).append(' ')
+                .append(Integer.toString(changes.size())).append('\n');
+        for (TaskChange change : changes) {
+            switch (change.getKind()) {
+            case ADDED:
+                out.append("+ ").append(Integer.toString(change.getIndex())).append(' ')
+                        .append(storage.encode(change.getTask()));
+                break;
+            case REMOVED:
+                out.append("- ").append(Integer.toString(change.getIndex())).append(' ')
+                        .append(Integer.toString(change.getTaskId()));
+                break;
+            default:
+                out.append("~ ").append(storage.encode(change.getTask()));
+            }
+            out.append('\n');
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package talkie.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import talkie.components.CommandLexer;
+import talkie.components.Storage;
+import talkie.components.Ui;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.exception.TalkieMissingArgumentException;
+import talkie.exception.TalkieNoTaskFoundException;
+import talkie.task.Task;
+import talkie.task.TaskList;
+
+/**
+ * Represents a command to add one or more tags to a task in the Talkie application.
+ * <p>
+ * Tags are stored in lower case without the leading '#', so {@code #Work} and {@code work} are the same tag.
+ * </p>
+ */
+public class TagCommand extends TaskListCommand {
+
+    private final int index;
+    private final List<String> tags;
+
+    /**
+     * Constructs a new {@code TagCommand} for the task at the given index.
+     *
+     * @param index The 1-based index of the task.
+     * @param tags The normalised tags to add.
+     */
+    public TagCommand(int index, List<String> tags) {
+        this.index = index;
+        this.tags = tags;
+    }
+
+    /**
+     * Creates a {@code TagCommand} from a command line of the form
+     * <code>tag index tag [tag...]</code>.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given task index and tags.
+     * @throws TalkieMissingArgumentException If the task index or tags are missing.
+     * @throws TalkieInvalidArgumentException If the task index is not an integer or a tag is not valid.
+     */
+    public static TagCommand parse(CommandLexer lexer)
+            throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
+        // Check if the user included an index and at least one tag
+        if (lexer.tokenCount() < 3) {
+            throw new TalkieMissingArgumentException(lexer.text(0),
+                    "The 'tag' command requires an index and a tag");
+        } else if (!lexer.isInteger(1)) {
+            throw new TalkieInvalidArgumentException(lexer.text(0),
+                    "The 'tag' command requires an integer as argument");
+        }
+
+        List<String> tags = new ArrayList<>();
+        for (int i = 2; i < lexer.tokenCount(); i++) {
+            String tag = Task.normaliseTag(lexer.text(i));
+            if (tag == null) {
+                throw new TalkieInvalidArgumentException(lexer.text(0),
+                        "Tags can only contain letters, digits, '-' and '_'");
+            }
+            tags.add(tag);
+        }
+        return new TagCommand(lexer.intValue(1), tags);
+    }
+
+    /**
+     * Executes the {@code TagCommand} by adding the given tags to the specified task.
+     *
+     * @param tasks   The task list containing all current tasks.
+     * @param ui      The UI component used to display messages to the user.
+     * @param storage The storage component used to save task data.
+     * @return A string containing a confirmation message about the tagged task.
+     * @throws TalkieNoTaskFoundException If the specified task does not exist in the list.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws TalkieNoTaskFoundException {
+        if (this.index < 1 || this.index > tasks.size()) {
+            throw new TalkieNoTaskFoundException();
+        }
+
+        Task task = tasks.getTask(this.index);
+        for (String tag : this.tags) {
+            tasks.tagTask(task, tag);
+        }
+        return ui.tagMessage(task);
+    }
+
+    /**
+     * Indicates that this command does not terminate the application.
+     *
+     * @return {@code false}, as this command does not end the program.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -0,0 +1,98 @@
+package talkie.command;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import talkie.components.Storage;
+import talkie.components.Ui;
+import talkie.components.Workspace;
+import talkie.exception.TalkieException;
+import talkie.task.TaskList;
+
+/**
+ * Represents a command that only works on the task list in use, such as adding, marking or listing tasks.
+ * <p>
+ * Subclasses implement {@link #execute(TaskList, Ui, Storage)}, and are run in a {@link Workspace} by being given
+ * its list in use and that list's storage. Commands whose responses grow with the size of the task list also
+ * override {@link #execute(TaskList, Ui, Storage, Appendable)} to write their responses piece by piece, so the
+ * whole response is never held in memory.
+ * </p>
+ */
+public abstract class TaskListCommand extends Command {
+
+    /**
+     * Executes the command with the given task list, user interface, and storage.
+     * <p>
+     * This method is abstract and must be implemented by all subclasses to define the specific behavior of the command.
+     * The method interacts with the task list, the user interface, and the storage system,
+     * and may throw a {@code TalkieException} if an error occurs during execution.
+     * </p>
+     *
+     * @param tasks   The task list containing all current tasks.
+     * @param ui      The UI component used to interact with the user.
+     * @param storage The storage component used to save or load task data.
+     * @return A string representing the result of the command's execution, typically a message to be
+     *         displayed to the user.
+     * @throws TalkieException If an error occurs during the execution of the command.
+     */
+    public abstract String execute(TaskList tasks, Ui ui, Storage storage) throws TalkieException;
+
+    /**
+     * Executes the command, writing its response to an output instead of returning it.
+     * <p>
+     * By default, this writes the response returned by {@link #execute(TaskList, Ui, Storage)}.
+     * </p>
+     *
+     * @param tasks   The task list containing all current tasks.
+     * @param ui      The UI component used to interact with the user.
+     * @param storage The storage component used to save or load task data.
+     * @param out     The output to write the response to.
+     * @throws TalkieException If an error occurs during the execution of the command.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void execute(TaskList tasks, Ui ui, Storage storage, Appendable out) throws TalkieException, IOException {
+        out.append(this.execute(tasks, ui, storage));
+    }
+
+    /**
+     * Executes the command on the list in use of a workspace.
+     *
+     * @param workspace The workspace holding the task lists.
+     * @param ui        The UI component used to interact with the user.
+     * @return A string representing the result of the command's execution.
+     * @throws TalkieException If an error occurs during the execution of the command.
+     */
+    @Override
+    public String execute(Workspace workspace, Ui ui) throws TalkieException {
+        return this.execute(workspace.getTaskList(), ui, workspace.getStorage());
+    }
+
+    /**
+     * Executes the command on the list in use of a workspace, writing its response to an output.
+     *
+     * @param workspace The workspace holding the task lists.
+     * @param ui        The UI component used to interact with the user.
+     * @param out       The output to write the response to.
+     * @throws TalkieException If an error occurs during the execution of the command.
+     * @throws IOException If the output cannot be written to.
+     */
+    @Override
+    public void execute(Workspace workspace, Ui ui, Appendable out) throws TalkieException, IOException {
+        this.execute(workspace.getTaskList(), ui, workspace.getStorage(), out);
+    }
+
+    /**
+     * Returns the response that {@link #execute(TaskList, Ui, Storage, Appendable)} writes, for commands that
+     * override it.
+     */
+    protected String executeToString(TaskList tasks, Ui ui, Storage storage) throws TalkieException {
+        StringBuilder response = new StringBuilder();
+        try {
+            this.execute(tasks, ui, storage, response);
+        } catch (IOException e) {
+            // A StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return response.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package talkie.command;
 
+import talkie.components.CommandLexer;
 import talkie.components.Storage;
 import talkie.components.Ui;
 import talkie.exception.TalkieMissingArgumentException;
@@ -11,25 +12,39 @@ import talkie.task.ToDo;
  * Represents a command to create a new ToDo task in the Talkie application.
  * The command processes user input to add a new ToDo task with the specified description.
  */
-public class ToDoCommand extends Command {
+public class ToDoCommand extends TaskListCommand {
 
-    private String fullCommand;
+    private final String description;
 
     /**
-     * Constructs a new {@code ToDoCommand} with the full user input.
+     * Constructs a new {@code ToDoCommand} with the description of the task.
      *
-     * @param fullCommand The full user input containing the command type and task description.
+     * @param description The description of the ToDo task.
      */
-    public ToDoCommand(String fullCommand) {
-        this.fullCommand = fullCommand;
+    public ToDoCommand(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Creates a {@code ToDoCommand} from a command line of the form <code>todo description</code>.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given description.
+     * @throws TalkieMissingArgumentException If the description of the ToDo task is missing, indicating that
+     *         the user did not provide a task description in the command input.
+     */
+    public static ToDoCommand parse(CommandLexer lexer) throws TalkieMissingArgumentException {
+        if (lexer.tokenCount() == 1) {
+            throw new TalkieMissingArgumentException(lexer.text(0), "The 'description' of todo cannot be empty.");
+        }
+        return new ToDoCommand(lexer.rest(1));
     }
 
     /**
      * Executes the {@code ToDoCommand} by creating a new ToDo task with the given description.
      * <p>
-     * The method parses the command input to extract the task description and then creates a new ToDo task
-     * with the provided description. The task is added to the task list, and a confirmation message is generated
-     * to inform the user of the successful addition. If the description is missing, an exception is thrown.
+     * The task is added to the task list, and a confirmation message is generated to inform the user of the
+     * successful addition.
      * </p>
      *
      * @param tasks   The task list containing all current tasks.
@@ -37,21 +52,15 @@ public class ToDoCommand extends Command {
      * @param storage The storage component used to save task data.
      * @return A string containing a confirmation message about the newly added ToDo task, including the task details
      *         and the updated size of the task list.
-     * @throws TalkieMissingArgumentException If the description of the ToDo task is missing, indicating that
-     *         the user did not provide a task description in the command input.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) throws TalkieMissingArgumentException {
-        String[] parts = fullCommand.split(" ", 2); // Split into type and the rest of the input
-
-        if (parts.length == 2) {
-            String details = parts[1]; // Rest of the input (e.g., task description)
-            Task newToDo = new ToDo(details.trim());
-            tasks.addTask(newToDo);
-            return ui.addMessage(newToDo, tasks.size());
-        } else {
-            throw new TalkieMissingArgumentException(parts[0], "The 'description' of todo cannot be empty.");
+    public String execute(TaskList tasks, Ui ui, Storage storage) {
+        Task newToDo = new ToDo(this.description);
+        if (tasks.containsDuplicate(newToDo)) {
+            return ui.duplicateMessage(newToDo);
         }
+        tasks.addTask(newToDo);
+        return ui.addMessage(newToDo, tasks.size());
     }
 
     /**
@@ -1,5 +1,6 @@
 package talkie.command;
 
+import talkie.components.CommandLexer;
 import talkie.components.Storage;
 import talkie.components.Ui;
 import talkie.exception.TalkieInvalidArgumentException;
@@ -15,61 +16,65 @@ import talkie.task.TaskList;
  * by marking it as not done.
  * </p>
  */
-public class UnMarkCommand extends Command {
+public class UnMarkCommand extends TaskListCommand {
 
-    private String fullCommand;
+    private final int index;
 
     /**
-     * Constructs a new {@code UnMarkCommand} with the full user input.
+     * Constructs a new {@code UnMarkCommand} for the task at the given index.
      *
-     * @param fullCommand The full user input containing the command type and task index.
+     * @param index The 1-based index of the task to mark as not done.
      */
-    public UnMarkCommand(String fullCommand) {
-        this.fullCommand = fullCommand;
+    public UnMarkCommand(int index) {
+        this.index = index;
     }
 
     /**
-     * Executes the {@code UnMarkCommand} by marking a specified task as not done.
+     * Creates an {@code UnMarkCommand} from a command line of the form <code>unmark index</code>.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given task index.
+     * @throws TalkieMissingArgumentException If no task index is provided.
+     * @throws TalkieInvalidArgumentException If the argument provided is not a valid integer.
+     */
+    public static UnMarkCommand parse(CommandLexer lexer)
+            throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
+        // Check if the user included an argument
+        if (lexer.tokenCount() == 1) {
+            throw new TalkieMissingArgumentException(lexer.text(0),
+                    "The 'unmark' command requires an integer as argument");
+        }
+
+        // Check if the user included the correct integer argument
+        if (!lexer.isInteger(1)) {
+            throw new TalkieInvalidArgumentException(lexer.text(0),
+                    "The 'unmark' command requires an integer as argument");
+        }
+        return new UnMarkCommand(lexer.intValue(1));
+    }
+
+    /**
+     * Executes the {@code UnMarkCommand} by marking the specified task as not done.
      * <p>
-     * The method parses the task index from the user input and attempts to mark the corresponding
-     * task as not done. It performs validation to ensure the index is provided, is an integer, and
-     * corresponds to a valid task in the list. If any errors occur, appropriate exceptions are thrown.
+     * If the task is not in the list, an exception is thrown.
      * </p>
      *
      * @param tasks   The task list containing all current tasks.
      * @param ui      The UI component used to display messages to the user.
      * @param storage The storage component used to save task data.
-     * @return A string containing the result of marking the task as not done, or an error message if
-     *         the operation fails.
-     * @throws TalkieInvalidArgumentException If the argument provided is not a valid integer.
-     * @throws TalkieMissingArgumentException If no task index is provided.
-     * @throws TalkieNoTaskFoundException     If the specified task does not exist in the list.
+     * @return A string containing the result of marking the task as not done.
+     * @throws TalkieNoTaskFoundException If the specified task does not exist in the list.
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage)
-            throws TalkieInvalidArgumentException, TalkieMissingArgumentException, TalkieNoTaskFoundException {
-        String[] temp = fullCommand.split(" ");
-
-        // Check if the user included an argument
-        if (temp.length == 1) {
-            throw new TalkieMissingArgumentException(temp[0], "The 'unmark' command requires an integer as argument");
-
-            // Check if the user included the correct integer argument
-        } else if (this.isInteger(temp[1])) {
-            int index = Integer.parseInt(fullCommand.split(" ")[1]);
-
-            // Check if the task index is valid in the task list
-            if (index <= tasks.size()) {
-                Task task = tasks.getTask(index);
-                task.markAsNotDone();
-                return ui.unMarkMessage(task);
-            } else {
-                throw new TalkieNoTaskFoundException();
-            }
-
-        } else {
-            throw new TalkieInvalidArgumentException(temp[0], "The 'unmark' command requires an integer as argument");
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws TalkieNoTaskFoundException {
+        // Check if the task is in the list
+        if (this.index < 1 || this.index > tasks.size()) {
+            throw new TalkieNoTaskFoundException();
         }
+
+        Task task = tasks.getTask(this.index);
+        tasks.unmarkTask(task);
+        return ui.unMarkMessage(task);
     }
 
     /**
@@ -85,19 +90,4 @@ public class UnMarkCommand extends Command {
     public boolean isExit() {
         return false;
     }
-
-    /**
-     * Checks if a given string can be parsed as an integer.
-     *
-     * @param input The string to check.
-     * @return {@code true} if the string can be parsed as an integer, {@code false} otherwise.
-     */
-    private boolean isInteger(String input) {
-        try {
-            Integer.parseInt(input);
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
-    }
 }
@@ -0,0 +1,69 @@
+package talkie.command;
+
+import java.io.IOException;
+
+import talkie.components.CommandLexer;
+import talkie.components.Ui;
+import talkie.components.Workspace;
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.exception.TalkieMissingArgumentException;
+
+/**
+ * Represents a command to switch to another task list, which is created if it does not exist yet.
+ * <p>
+ * Later commands work on the chosen list until another is chosen. The list being left is saved if it has changed.
+ * </p>
+ */
+public class UseCommand extends WorkspaceCommand {
+
+    private final String name;
+
+    /**
+     * Constructs a new {@code UseCommand} for the list with the given name.
+     *
+     * @param name The name of the list.
+     */
+    public UseCommand(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Creates a {@code UseCommand} from a command line of the form <code>use name</code>.
+     *
+     * @param lexer The lexer holding the tokenized command line.
+     * @return The command for the given list.
+     * @throws TalkieMissingArgumentException If no list is named.
+     * @throws TalkieInvalidArgumentException If the name is not a valid list name.
+     */
+    public static UseCommand parse(CommandLexer lexer)
+            throws TalkieMissingArgumentException, TalkieInvalidArgumentException {
+        if (lexer.tokenCount() == 1) {
+            throw new TalkieMissingArgumentException(lexer.text(0),
+                    "The 'use' command requires the name of a list, e.g. use work");
+        }
+        if (lexer.tokenCount() > 2 || !Workspace.isValidName(lexer.text(1))) {
+            throw new TalkieInvalidArgumentException(lexer.text(0),
+                    "A list name is one word of up to 32 letters, digits, '_' and '-', e.g. use work");
+        }
+        return new UseCommand(lexer.text(1));
+    }
+
+    /**
+     * Executes the {@code UseCommand} by switching the workspace to the named list and loading it.
+     *
+     * @param workspace The workspace holding the task lists.
+     * @param ui        The UI component used to display messages to the user.
+     * @return A string saying which list is in use and how many tasks it has, or an error message if the list
+     *         being left cannot be saved.
+     */
+    @Override
+    public String execute(Workspace workspace, Ui ui) {
+        try {
+            workspace.use(this.name);
+        } catch (IOException e) {
+            return "Oops! Something went wrong when saving the data!\n";
+        }
+        ui.setPageCursor(null);
+        return ui.useMessage(this.name, workspace.getTaskList().size());
+    }
+}
@@ -0,0 +1,20 @@
+package talkie.command;
+
+import talkie.components.Workspace;
+
+/**
+ * Represents a command that works with the named task lists of a {@link Workspace}, rather than only the list in
+ * use, such as switching lists or moving a task to another list.
+ */
+public abstract class WorkspaceCommand extends Command {
+
+    /**
+     * Indicates that this command does not terminate the application.
+     *
+     * @return {@code false}, as this command does not end the program.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package talkie.components;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Lets work that only reads the task list, such as a query scan or a listing, stop early when the command running
+ * it is cancelled.
+ * <p>
+ * Work that may be cancelled is run with {@link #run}, which remembers on the running thread how to tell whether
+ * it has been cancelled. The work calls {@link #check} at points where it is safe to stop, such as between tasks.
+ * Threads are never interrupted to cancel a command, since an interrupt would also stop a save part way through
+ * writing the data file. A command that changes the task list never checks, so it always finishes.
+ * </p>
+ */
+public final class Cancellation {
+
+    private static final BooleanSupplier NEVER = () -> false;
+    private static final ThreadLocal<BooleanSupplier> IS_CANCELLED = ThreadLocal.withInitial(() -> NEVER);
+
+    private Cancellation() {
+    }
+
+    /**
+     * Runs work on the current thread, letting it stop at its next {@link #check} once it is cancelled.
+     *
+     * @param isCancelled Tells whether the work has been cancelled.
+     * @param work The work to run.
+     * @param <T> The type of the result of the work.
+     * @return The result of the work.
+     * @throws CancellationException If the work stopped because it was cancelled.
+     */
+    public static <T> T run(BooleanSupplier isCancelled, Supplier<T> work) {
+        BooleanSupplier outer = IS_CANCELLED.get();
+        IS_CANCELLED.set(isCancelled);
+        try {
+            return work.get();
+        } finally {
+            IS_CANCELLED.set(outer);
+        }
+    }
+
+    /**
+     * Stops the work running on the current thread if it has been cancelled.
+     *
+     * @param work What the work is, used in the message of the exception, such as "The listing".
+     * @throws CancellationException If the work has been cancelled.
+     */
+    public static void check(String work) {
+        if (IS_CANCELLED.get().getAsBoolean()) {
+            throw new CancellationException(work + " was cancelled");
+        }
+    }
+}
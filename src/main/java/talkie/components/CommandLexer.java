@@ -0,0 +1,304 @@
+package talkie.components;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+import talkie.command.CommandType;
+
+/**
+ * Splits a command line into whitespace-separated tokens in a single pass.
+ * <p>
+ * A {@code CommandLexer} records only the start and end offset of each token in buffers that are reused from one
+ * line to the next, so tokenizing a line allocates nothing once the buffers are large enough. The command word is
+ * looked up in a keyword table built once from {@link CommandType}, and integer and date/time arguments are parsed
+ * straight from the characters of the line, without creating intermediate strings or throwing exceptions.
+ * </p>
+ * <p>
+ * A lexer holds the state of the last line it tokenized, so it must not be shared between threads.
+ * </p>
+ */
+public class CommandLexer {
+
+    /** The value returned by {@link #indexOf(String, int)} when the word is not found. */
+    public static final int NOT_FOUND = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final CommandType[][] KEYWORDS = buildKeywordTable();
+
+    private String input = "";
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private int count;
+
+    /**
+     * Tokenizes a command line, replacing the tokens of the previous line.
+     *
+     * @param input The command line.
+     */
+    public void tokenize(String input) {
+        this.input = input;
+        this.count = 0;
+        int length = input.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(input.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(input.charAt(i))) {
+                i++;
+            }
+            this.append(start, i);
+        }
+    }
+
+    /**
+     * Returns the command line that was last tokenized.
+     *
+     * @return The command line.
+     */
+    public String getInput() {
+        return this.input;
+    }
+
+    /**
+     * Returns the number of tokens in the command line, including the command word.
+     *
+     * @return The number of tokens.
+     */
+    public int tokenCount() {
+        return this.count;
+    }
+
+    /**
+     * Looks up the command word, which is the first token, in the keyword table, ignoring case.
+     *
+     * @return The type of the command, or {@code null} if the line is empty or the command word is not known.
+     */
+    public CommandType commandType() {
+        if (this.count == 0) {
+            return null;
+        }
+        char first = Character.toLowerCase(this.input.charAt(this.starts[0]));
+        if (first < 'a' || first > 'z') {
+            return null;
+        }
+        int length = this.ends[0] - this.starts[0];
+        for (CommandType type : KEYWORDS[first - 'a']) {
+            String keyword = type.name();
+            if (keyword.length() == length && this.input.regionMatches(true, this.starts[0], keyword, 0, length)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the text of a token.
+     *
+     * @param token The index of the token, where 0 is the command word.
+     * @return The text of the token.
+     */
+    public String text(int token) {
+        return this.input.substring(this.starts[token], this.ends[token]);
+    }
+
+    /**
+     * Returns the text of a run of tokens, including the whitespace between them as typed.
+     *
+     * @param from The index of the first token.
+     * @param to The index after the last token.
+     * @return The text from the start of the first token to the end of the last, or an empty string if the run
+     *         is empty.
+     */
+    public String text(int from, int to) {
+        if (from >= to) {
+            return "";
+        }
+        return this.input.substring(this.starts[from], this.ends[to - 1]);
+    }
+
+    /**
+     * Returns the text from the start of a token to the end of the line, without trailing whitespace.
+     *
+     * @param from The index of the first token.
+     * @return The rest of the line, or an empty string if there are no tokens from that index.
+     */
+    public String rest(int from) {
+        return this.text(from, this.count);
+    }
+
+    /**
+     * Checks if a token is exactly the given word.
+     *
+     * @param token The index of the token.
+     * @param word The word to compare with.
+     * @return {@code true} if the token is the word.
+     */
+    public boolean matches(int token, String word) {
+        int length = this.ends[token] - this.starts[token];
+        return length == word.length() && this.input.regionMatches(this.starts[token], word, 0, length);
+    }
+
+    /**
+     * Returns the index of the first token from the given index that is exactly the given word.
+     *
+     * @param word The word to look for, such as {@code /by}.
+     * @param from The index of the first token to check.
+     * @return The index of the token, or {@link #NOT_FOUND} if there is none.
+     */
+    public int indexOf(String word, int from) {
+        for (int token = from; token < this.count; token++) {
+            if (this.matches(token, word)) {
+                return token;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Checks if a token is an integer that fits in an {@code int}, with an optional sign.
+     *
+     * @param token The index of the token.
+     * @return {@code true} if {@link #intValue(int)} can be called on the token.
+     */
+    public boolean isInteger(int token) {
+        return this.parseLong(this.starts[token], this.ends[token]) != Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns the value of a token that is an integer.
+     *
+     * @param token The index of the token, which must satisfy {@link #isInteger(int)}.
+     * @return The value of the token.
+     */
+    public int intValue(int token) {
+        assert this.isInteger(token) : "Token is not an integer";
+        return (int) this.parseLong(this.starts[token], this.ends[token]);
+    }
+
+    /**
+     * Parses a date/time written as two tokens in the format {@code yyyy-MM-dd HHmm}.
+     * <p>
+     * As with a {@code DateTimeFormatter} in its default resolver style, a day of month that is past the end of the
+     * month, but not past 31, resolves to the last day of the month.
+     * </p>
+     *
+     * @param token The index of the date token, which is followed by the time token.
+     * @return The date/time, or {@code null} if the tokens are missing or are not a valid date/time.
+     */
+    public LocalDateTime parseDateTime(int token) {
+        if (token + 1 >= this.count
+                || !this.hasShape(token, "dddd-dd-dd")
+                || !this.hasShape(token + 1, "dddd")) {
+            return null;
+        }
+        int date = this.starts[token];
+        int time = this.starts[token + 1];
+        int year = this.digits(date, 4);
+        int month = this.digits(date + 5, 2);
+        int day = this.digits(date + 8, 2);
+        int hour = this.digits(time, 2);
+        int minute = this.digits(time + 2, 2);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31 || hour > 23 || minute > 59) {
+            return null;
+        }
+        int lastDay = Month.of(month).length(Year.isLeap(year));
+        return LocalDateTime.of(year, month, Math.min(day, lastDay), hour, minute);
+    }
+
+    private void append(int start, int end) {
+        if (this.count == this.starts.length) {
+            int[] newStarts = new int[this.count * 2];
+            int[] newEnds = new int[this.count * 2];
+            System.arraycopy(this.starts, 0, newStarts, 0, this.count);
+            System.arraycopy(this.ends, 0, newEnds, 0, this.count);
+            this.starts = newStarts;
+            this.ends = newEnds;
+        }
+        this.starts[this.count] = start;
+        this.ends[this.count] = end;
+        this.count++;
+    }
+
+    /**
+     * Parses the characters between two offsets as an {@code int}, returning {@link Long#MIN_VALUE} if they are
+     * not one.
+     */
+    private long parseLong(int start, int end) {
+        int i = start;
+        boolean isNegative = false;
+        if (i < end && (this.input.charAt(i) == '-' || this.input.charAt(i) == '+')) {
+            isNegative = this.input.charAt(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            return Long.MIN_VALUE;
+        }
+
+        long value = 0;
+        for (; i < end; i++) {
+            char c = this.input.charAt(i);
+            if (c < '0' || c > '9') {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return Long.MIN_VALUE;
+            }
+        }
+        value = isNegative ? -value : value;
+        return value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+    }
+
+    /**
+     * Checks if a token matches a shape, where 'd' stands for any digit and every other character for itself.
+     */
+    private boolean hasShape(int token, String shape) {
+        if (this.ends[token] - this.starts[token] != shape.length()) {
+            return false;
+        }
+        for (int i = 0; i < shape.length(); i++) {
+            char c = this.input.charAt(this.starts[token] + i);
+            boolean isMatch = shape.charAt(i) == 'd' ? c >= '0' && c <= '9' : c == shape.charAt(i);
+            if (!isMatch) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int digits(int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            value = value * 10 + (this.input.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Groups the command types by the first letter of their keyword, so a command word is only compared with the
+     * keywords that start with the same letter.
+     */
+    private static CommandType[][] buildKeywordTable() {
+        List<List<CommandType>> buckets = new ArrayList<>();
+        for (char c = 'a'; c <= 'z'; c++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (CommandType type : CommandType.values()) {
+            buckets.get(Character.toLowerCase(type.name().charAt(0)) - 'a').add(type);
+        }
+
+        CommandType[][] table = new CommandType[buckets.size()][];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = buckets.get(i).toArray(new CommandType[0]);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,73 @@
+package talkie.components;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import talkie.command.CommandType;
+import talkie.index.CompletionTrie;
+import talkie.task.TaskIndex;
+
+/**
+ * Suggests completions of a partly typed command line.
+ * <p>
+ * The first word of a line is completed with command keywords, ranked by how often the user has run each
+ * command. Any later word is completed with the words of task descriptions, ranked by how often they are used, so
+ * long descriptions that are typed again and again only need their first few letters.
+ * </p>
+ */
+public class Completer {
+
+    private final CompletionTrie commands = new CompletionTrie();
+
+    /**
+     * Constructs a {@code Completer} that knows every command keyword.
+     */
+    public Completer() {
+        for (CommandType type : CommandType.values()) {
+            this.commands.add(type.name().toLowerCase());
+        }
+    }
+
+    /**
+     * Records that the user has run a command, so that its keyword is suggested before less used ones.
+     *
+     * @param input The command line that was run.
+     */
+    public void recordCommand(String input) {
+        String keyword = firstWord(input);
+        if (this.commands.count(keyword) > 0) {
+            this.commands.add(keyword);
+        }
+    }
+
+    /**
+     * Returns the most likely completions of the last word of a command line.
+     *
+     * @param line The command line typed so far.
+     * @param index The index of the task list, whose descriptions supply the words after the command keyword.
+     * @param limit The largest number of completions to return.
+     * @return The completed command lines, most likely first, or none if the line ends with a space.
+     */
+    public List<String> complete(String line, TaskIndex index, int limit) {
+        String trimmed = line.stripLeading();
+        int lastSpace = trimmed.lastIndexOf(' ');
+        String head = trimmed.substring(0, lastSpace + 1);
+        String prefix = trimmed.substring(lastSpace + 1).toLowerCase();
+        List<String> completions = new ArrayList<>();
+        if (prefix.isEmpty()) {
+            return completions;
+        }
+
+        List<String> words = lastSpace < 0 ? this.commands.complete(prefix, limit) : index.completeWord(prefix, limit);
+        for (String word : words) {
+            completions.add(head + word);
+        }
+        return completions;
+    }
+
+    private static String firstWord(String input) {
+        String trimmed = input.strip();
+        int space = trimmed.indexOf(' ');
+        return (space < 0 ? trimmed : trimmed.substring(0, space)).toLowerCase();
+    }
+}
@@ -1,69 +1,160 @@
 package talkie.components;
 
+import java.util.ArrayList;
+import java.util.List;
 
+import talkie.command.BlockCommand;
 import talkie.command.ByeCommand;
 import talkie.command.Command;
 import talkie.command.CommandType;
 import talkie.command.DeadlineCommand;
+import talkie.command.DedupeCommand;
 import talkie.command.DeleteCommand;
 import talkie.command.EventCommand;
+import talkie.command.ExplainCommand;
 import talkie.command.FindCommand;
 import talkie.command.ListCommand;
+import talkie.command.ListsCommand;
 import talkie.command.MarkCommand;
+import talkie.command.MoreCommand;
+import talkie.command.MoveCommand;
+import talkie.command.NextCommand;
+import talkie.command.PriorityCommand;
+import talkie.command.RecurCommand;
 import talkie.command.SortCommand;
+import talkie.command.SyncCommand;
+import talkie.command.TagCommand;
 import talkie.command.ToDoCommand;
+import talkie.command.UnBlockCommand;
 import talkie.command.UnMarkCommand;
+import talkie.command.UnTagCommand;
+import talkie.command.UseCommand;
+import talkie.exception.TalkieException;
 import talkie.exception.TalkieUnknownCommandException;
 
 /**
  * Parses user input and returns the corresponding {@link Command} object.
  * This class is responsible for converting user input into specific command instances
  * based on the input command type.
+ * <p>
+ * Each line is tokenized once by a {@link CommandLexer}, which is reused for every line parsed on the same thread.
+ * Commands with simple arguments are built from the tokens directly; the rest are given the full input.
+ * </p>
+ * <p>
+ * A line may also hold a pipeline of several commands separated by {@code ;}, which is split into its commands by
+ * {@link #splitPipeline(String)} before each command is parsed.
+ * </p>
  */
 public class Parser {
 
+    private static final char PIPELINE_SEPARATOR = ';';
+    private static final ThreadLocal<CommandLexer> LEXER = ThreadLocal.withInitial(CommandLexer::new);
+
     /**
      * Parses the given user input to determine the corresponding {@code Command} object.
      *
-     * <p>This method extracts the command type from the user input and creates an instance
-     * of the appropriate {@link Command} subclass based on the command type. If the command
+     * <p>This method looks up the command word of the user input in the lexer's keyword table and creates an
+     * instance of the appropriate {@link Command} subclass based on the command type. If the command
      * type is not recognized, it throws a {@link TalkieUnknownCommandException}.</p>
      *
      * @param input The user input containing the command and its arguments.
      * @return A {@code Command} object corresponding to the user input.
      * @throws TalkieUnknownCommandException If the command type is not recognized.
+     * @throws TalkieException If the arguments of the command are missing or invalid.
      */
-    public static Command getCommand(String input) throws TalkieUnknownCommandException {
-        try {
-            String inputCommand = input.split(" ", 2)[0];
-            CommandType command = CommandType.valueOf(inputCommand.toUpperCase());
+    public static Command getCommand(String input) throws TalkieException {
+        CommandLexer lexer = LEXER.get();
+        lexer.tokenize(input);
+        CommandType command = lexer.commandType();
+        if (command == null) {
+            throw new TalkieUnknownCommandException(input);
+        }
 
-            switch (command) {
-            case BYE:
-                return new ByeCommand();
-            case LIST:
-                return new ListCommand(input);
-            case DELETE:
-                return new DeleteCommand(input);
-            case MARK:
-                return new MarkCommand(input);
-            case UNMARK:
-                return new UnMarkCommand(input);
-            case TODO:
-                return new ToDoCommand(input);
-            case DEADLINE:
-                return new DeadlineCommand(input);
-            case EVENT:
-                return new EventCommand(input);
-            case FIND:
-                return new FindCommand(input);
-            case SORT:
-                return new SortCommand(input);
-            default:
-                throw new TalkieUnknownCommandException(input);
-            }
-        } catch (IllegalArgumentException e) {
+        switch (command) {
+        case BYE:
+            return new ByeCommand();
+        case LIST:
+            return ListCommand.parse(lexer);
+        case DELETE:
+            return DeleteCommand.parse(lexer);
+        case MARK:
+            return MarkCommand.parse(lexer);
+        case UNMARK:
+            return UnMarkCommand.parse(lexer);
+        case TODO:
+            return ToDoCommand.parse(lexer);
+        case DEADLINE:
+            return DeadlineCommand.parse(lexer);
+        case EVENT:
+            return EventCommand.parse(lexer);
+        case FIND:
+            return FindCommand.parse(lexer);
+        case SORT:
+            return new SortCommand(input);
+        case RECUR:
+            return RecurCommand.parse(lexer);
+        case TAG:
+            return TagCommand.parse(lexer);
+        case UNTAG:
+            return UnTagCommand.parse(lexer);
+        case PRIORITY:
+            return PriorityCommand.parse(lexer);
+        case EXPLAIN:
+            return ExplainCommand.parse(lexer);
+        case DEDUPE:
+            return new DedupeCommand();
+        case BLOCK:
+            return BlockCommand.parse(lexer);
+        case UNBLOCK:
+            return UnBlockCommand.parse(lexer);
+        case NEXT:
+            return NextCommand.parse(lexer);
+        case MORE:
+            return MoreCommand.parse(lexer);
+        case LISTS:
+            return new ListsCommand();
+        case USE:
+            return UseCommand.parse(lexer);
+        case MOVE:
+            return MoveCommand.parse(lexer);
+        case SYNC:
+            return SyncCommand.parse(lexer);
+        default:
             throw new TalkieUnknownCommandException(input);
         }
     }
+
+    /**
+     * Splits a line into the commands of a pipeline, which are separated by {@code ;}.
+     * <p>
+     * A {@code ;} inside double quotes, such as in a quoted phrase of a query, does not separate commands. Each
+     * command is trimmed and empty commands are left out.
+     * </p>
+     *
+     * @param input The user input.
+     * @return The commands in the order they were entered, or a list holding only the input if it has no
+     *         separator or holds no commands.
+     */
+    public static List<String> splitPipeline(String input) {
+        if (input.indexOf(PIPELINE_SEPARATOR) < 0) {
+            return List.of(input);
+        }
+
+        List<String> commands = new ArrayList<>();
+        boolean isQuoted = false;
+        int start = 0;
+        for (int i = 0; i <= input.length(); i++) {
+            char c = i < input.length() ? input.charAt(i) : PIPELINE_SEPARATOR;
+            if (c == '"') {
+                isQuoted = !isQuoted;
+            } else if (c == PIPELINE_SEPARATOR && (!isQuoted || i == input.length())) {
+                String command = input.substring(start, i).trim();
+                if (!command.isEmpty()) {
+                    commands.add(command);
+                }
+                start = i + 1;
+            }
+        }
+        return commands.isEmpty() ? List.of(input) : commands;
+    }
 }
@@ -9,10 +9,15 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Scanner;
+import java.util.function.DoubleConsumer;
+import java.util.stream.Collectors;
 
 import talkie.exception.TalkieNoTaskFoundException;
 import talkie.task.Deadline;
 import talkie.task.Event;
+import talkie.task.Priority;
+import talkie.task.RecurrenceRule;
+import talkie.task.RecurringTask;
 import talkie.task.Task;
 import talkie.task.TaskList;
 import talkie.task.ToDo;
@@ -23,6 +28,12 @@ import talkie.task.ToDo;
  * The {@code Storage} class is responsible for reading tasks from a file and
  * writing tasks to a file. It supports creating a new file if one does not exist.
  * </p>
+ * <p>
+ * Each line holds the fields written by {@link Task#stringifyTask()}, followed by optional metadata fields in the
+ * form {@code key:value}, such as {@code id:3}, {@code priority:high}, {@code tags:home,work} and {@code after:1,2},
+ * the IDs of the tasks blocking the task. Entries written before metadata existed have no such fields and are
+ * still read correctly.
+ * </p>
  */
 public class Storage {
 
@@ -48,19 +59,44 @@ public class Storage {
      * @throws TalkieNoTaskFoundException If an error occurs while parsing a task entry.
      */
     public ArrayList<Task> loadData() throws TalkieNoTaskFoundException {
+        return this.loadData(fraction -> { });
+    }
+
+    /**
+     * Loads tasks from the file specified by {@code filePath}, reporting how much of the file has been read.
+     * <p>
+     * Progress is reported each time another percent of the file has been read, and once more when the whole file
+     * has been read, so reporting costs at most about a hundred calls however long the file is.
+     * </p>
+     *
+     * @param progress Receives the fraction of the file read so far, from 0 to 1.
+     * @return An {@code ArrayList} of tasks loaded from the file.
+     * @throws TalkieNoTaskFoundException If an error occurs while parsing a task entry.
+     */
+    public ArrayList<Task> loadData(DoubleConsumer progress) throws TalkieNoTaskFoundException {
         File database = new File(this.filePath);
         ArrayList<Task> taskList = new ArrayList<>();
+        double size = Math.max(1, database.length());
+        long charsRead = 0;
+        int percentReported = 0;
 
         try {
             Scanner fileReader = new Scanner(database);
             while (fileReader.hasNextLine()) {
                 String entry = fileReader.nextLine();
                 taskList.add(readEntry(entry));
+                charsRead += entry.length() + 1;
+                int percent = (int) Math.min(100, charsRead * 100 / size);
+                if (percent > percentReported) {
+                    percentReported = percent;
+                    progress.accept(percent / 100.0);
+                }
             }
         } catch (FileNotFoundException e) {
             this.createDatabase();
         }
 
+        progress.accept(1);
         return taskList;
     }
 
@@ -74,20 +110,34 @@ public class Storage {
     private Task readEntry(String entry) throws TalkieNoTaskFoundException {
         String[] fields = entry.split(" \\| ");
         Task taskToBeAdded;
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+        int fieldCount;
+        DateTimeFormatter formatter = Task.DATE_TIME_FORMAT;
 
         switch(fields[0]) {
         case "T":
             taskToBeAdded = new ToDo(fields[2]);
+            fieldCount = 3;
             break;
         case "E":
             taskToBeAdded = new Event(fields[2],
                     LocalDateTime.parse(fields[3], formatter),
                     LocalDateTime.parse(fields[4], formatter));
+            fieldCount = 5;
             break;
         case "D":
             taskToBeAdded = new Deadline(fields[2],
                     LocalDateTime.parse(fields[3], formatter));
+            fieldCount = 4;
+            break;
+        case "R":
+            try {
+                taskToBeAdded = new RecurringTask(fields[2],
+                        LocalDateTime.parse(fields[3], formatter),
+                        RecurrenceRule.parse(fields[4]));
+                fieldCount = 5;
+            } catch (IllegalArgumentException e) {
+                throw new TalkieNoTaskFoundException();
+            }
             break;
         default:
             throw new TalkieNoTaskFoundException();
@@ -97,9 +147,94 @@ public class Storage {
             taskToBeAdded.markAsDone();
         }
 
+        for (int i = fieldCount; i < fields.length; i++) {
+            this.readMetadata(taskToBeAdded, fields[i]);
+        }
+
         return taskToBeAdded;
     }
 
+    /**
+     * Applies a single {@code key:value} metadata field to a task that has just been read.
+     *
+     * @param task The task the field belongs to.
+     * @param field The metadata field.
+     * @throws TalkieNoTaskFoundException If the field is malformed.
+     */
+    private void readMetadata(Task task, String field) throws TalkieNoTaskFoundException {
+        String[] keyValue = field.split(":", 2);
+        if (keyValue.length != 2) {
+            throw new TalkieNoTaskFoundException();
+        }
+
+        switch (keyValue[0]) {
+        case "id":
+            task.setId(Integer.parseInt(keyValue[1]));
+            break;
+        case "priority":
+            Priority priority = Priority.fromLabel(keyValue[1]);
+            if (priority == null) {
+                throw new TalkieNoTaskFoundException();
+            }
+            task.setPriority(priority);
+            break;
+        case "tags":
+            for (String tag : keyValue[1].split(",")) {
+                task.addTag(tag);
+            }
+            break;
+        case "after":
+            for (String blockerId : keyValue[1].split(",")) {
+                task.addBlocker(Integer.parseInt(blockerId));
+            }
+            break;
+        default:
+            // Ignore metadata written by newer versions of Talkie
+            break;
+        }
+    }
+
+    /**
+     * Returns the line of the data file that stores a task.
+     * <p>
+     * The line is cached in the task, so a task that has not changed since it was last encoded is not encoded
+     * again.
+     * </p>
+     *
+     * @param task The task to encode.
+     * @return The line, without a line separator.
+     */
+    public String encode(Task task) {
+        String line = task.getCachedStorageLine();
+        if (line == null) {
+            line = task.stringifyTask() + this.stringifyMetadata(task);
+            task.cacheStorageLine(line);
+        }
+        return line;
+    }
+
+    /**
+     * Serializes the metadata of a task into the optional fields that follow {@link Task#stringifyTask()}.
+     *
+     * @param task The task to serialize.
+     * @return The metadata fields, each preceded by the field separator.
+     */
+    private String stringifyMetadata(Task task) {
+        StringBuilder metadata = new StringBuilder(" | id:").append(task.getId());
+        if (task.getPriority() != Priority.NONE) {
+            metadata.append(" | priority:").append(task.getPriority().getLabel());
+        }
+        if (!task.getTags().isEmpty()) {
+            metadata.append(" | tags:").append(String.join(",", task.getTags()));
+        }
+        if (!task.getBlockerIds().isEmpty()) {
+            metadata.append(" | after:").append(task.getBlockerIds().stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+        }
+        return metadata.toString();
+    }
+
     /**
      * Creates a new database file if it does not already exist.
      * <p>
@@ -121,7 +256,8 @@ public class Storage {
     /**
      * Saves the list of tasks to the file specified by {@code filePath}.
      * <p>
-     * Writes each task to the file, overwriting any existing content.
+     * Writes each task to the file, overwriting any existing content. The line of each task is cached in the task,
+     * so tasks that have not changed since the last save are not encoded again.
      * </p>
      *
      * @param taskList The list of tasks to be saved.
@@ -132,7 +268,7 @@ public class Storage {
         BufferedWriter bufferedWriter = new BufferedWriter(writer);
 
         for (int i = 1; i <= taskList.size(); i++) {
-            bufferedWriter.write(taskList.getTask(i).stringifyTask());
+            bufferedWriter.write(this.encode(taskList.getTask(i)));
             bufferedWriter.newLine();
         }
 
@@ -1,8 +1,15 @@
 package talkie.components;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Scanner;
 
 import talkie.exception.TalkieException;
+import talkie.task.Occurrence;
 import talkie.task.Task;
 import talkie.task.TaskList;
 
@@ -12,6 +19,10 @@ import talkie.task.TaskList;
  * The {@code Ui} class manages the display of various types of messages to the user,
  * such as welcome messages, task addition, deletion, and error handling.
  * </p>
+ * <p>
+ * Messages that list tasks can also be written straight to an {@link Appendable}, one task at a time, so listing
+ * takes time linear in the number of tasks and needs no memory beyond the output's own buffer.
+ * </p>
  */
 public class Ui {
 
@@ -40,8 +51,30 @@ public class Ui {
         }
     }
 
-    // Scanner for input
-    private Scanner input = new Scanner(System.in);
+    // Scanner for input, created when input is first read so that a UI component that never reads is cheap
+    private Scanner input;
+
+    // Cursor of the next page of the last paged list shown, if there is one
+    private String pageCursor;
+
+    public String getPageCursor() {
+        return this.pageCursor;
+    }
+
+    public void setPageCursor(String pageCursor) {
+        this.pageCursor = pageCursor;
+    }
+
+    // All tasks in the last list, find or sort result, for views that show more than one page
+    private List<Task> listedTasks;
+
+    public List<Task> getListedTasks() {
+        return this.listedTasks;
+    }
+
+    public void setListedTasks(List<Task> listedTasks) {
+        this.listedTasks = listedTasks;
+    }
 
     /**
      * Reads the next line of input from the user.
@@ -49,6 +82,9 @@ public class Ui {
      * @return The user's input as a string.
      */
     public String readCommand() {
+        if (this.input == null) {
+            this.input = new Scanner(System.in);
+        }
         return this.input.nextLine();
     }
 
@@ -56,7 +92,9 @@ public class Ui {
      * Closes the {@code Scanner} used for user input.
      */
     public void closeInput() {
-        this.input.close();
+        if (this.input != null) {
+            this.input.close();
+        }
     }
 
     /**
@@ -80,6 +118,36 @@ public class Ui {
         return "Please enter the time in the format of <yyyy-MM-dd HHmm>!\n";
     }
 
+    /**
+     * Displays a message explaining that a task was not added because the task list already has it.
+     *
+     * @param t The task that was not added.
+     */
+    public String duplicateMessage(Task t) {
+        return "You already have this task in your list, so I've skipped it:\n"
+                + "  " + t + "\n";
+    }
+
+    /**
+     * Displays the duplicate tasks removed from the task list.
+     *
+     * @param duplicates The tasks that were removed.
+     * @param taskListSize The current size of the task list after removal.
+     */
+    public String dedupeMessage(List<Task> duplicates, int taskListSize) {
+        if (duplicates.isEmpty()) {
+            return "There are no duplicate tasks in your list! \n";
+        }
+
+        StringBuilder dedupeMessage = new StringBuilder("Noted. I've removed these duplicate tasks:\n");
+        for (int i = 0; i < duplicates.size(); i++) {
+            dedupeMessage.append(i + 1).append(". ").append(duplicates.get(i)).append("\n");
+        }
+        String taskWord = (taskListSize > 1) ? "tasks" : "task";
+        return dedupeMessage.append("Now you have ").append(taskListSize).append(" ").append(taskWord)
+                .append(" in the list.\n").toString();
+    }
+
     /**
      * Displays a message confirming that a task has been added to the task list.
      *
@@ -116,16 +184,32 @@ public class Ui {
      * @param tasks The list of tasks to display.
      */
     public String listTasks(TaskList tasks) {
-        String listMessage = "";
-        for (int i = 1; i <= tasks.size(); i++) {
-            Task currTask = tasks.getTask(i);
-            String description = (i) + ". " + currTask + "\n";
-            listMessage += description;
-        }
+        return render(out -> this.listTasks(tasks, out));
+    }
 
-        String finalMessage = "Here are the tasks in your list:\n" + listMessage;
+    /**
+     * Writes a list of all tasks in the task list to an output.
+     *
+     * @param tasks The list of tasks to display.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void listTasks(TaskList tasks, Appendable out) throws IOException {
+        this.listTasks(tasks, 0, tasks.size(), out);
+    }
 
-        return finalMessage;
+    /**
+     * Writes a page of the tasks in the task list to an output, numbered by their position in the list.
+     *
+     * @param tasks The list of tasks to display.
+     * @param from The 0-based position of the first task on the page.
+     * @param to The position after the last task on the page.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void listTasks(TaskList tasks, int from, int to, Appendable out) throws IOException {
+        out.append("Here are the tasks in your list:\n");
+        appendTasks(tasks.getTasks(), from, to, out);
     }
 
     /**
@@ -134,16 +218,76 @@ public class Ui {
      * @param tasks The list of sorted tasks to display.
      */
     public String listSortedTasks(TaskList tasks) {
-        String listMessage = "";
-        for (int i = 1; i <= tasks.size(); i++) {
-            Task currTask = tasks.getTask(i);
-            String description = (i) + ". " + currTask + "\n";
-            listMessage += description;
-        }
+        return render(out -> this.listSortedTasks(tasks, out));
+    }
 
-        String finalMessage = "Your task list after sorting:\n" + listMessage;
+    /**
+     * Writes a list of all tasks in the task list after sorting to an output.
+     *
+     * @param tasks The list of sorted tasks to display.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void listSortedTasks(TaskList tasks, Appendable out) throws IOException {
+        this.listSortedTasks(tasks, 0, tasks.size(), out);
+    }
 
-        return finalMessage;
+    /**
+     * Writes a page of the tasks in the task list after sorting to an output.
+     *
+     * @param tasks The list of sorted tasks to display.
+     * @param from The 0-based position of the first task on the page.
+     * @param to The position after the last task on the page.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void listSortedTasks(TaskList tasks, int from, int to, Appendable out) throws IOException {
+        out.append("Your task list after sorting:\n");
+        appendTasks(tasks.getTasks(), from, to, out);
+    }
+
+    /**
+     * Writes a page of the occurrences of tasks within the given period to an output, in chronological order,
+     * numbered by their position in the period.
+     * <p>
+     * Only the occurrences on the page are taken from the iterator, so recurring tasks are only expanded as far as
+     * the page reaches.
+     * </p>
+     *
+     * @param occurrences The occurrences from the first one on the page onwards.
+     * @param from The start of the period shown, inclusive.
+     * @param to The end of the period, inclusive.
+     * @param position The number of occurrences in the period before the page.
+     * @param size The largest number of occurrences on the page.
+     * @param out The output to write to.
+     * @return The number of occurrences in the period up to the end of the page.
+     * @throws IOException If the output cannot be written to.
+     */
+    public int listOccurrences(Iterator<Occurrence> occurrences, LocalDateTime from, LocalDateTime to, int position,
+            int size, Appendable out) throws IOException {
+        if (!occurrences.hasNext()) {
+            out.append("There are no tasks scheduled in this period! \n");
+            return position;
+        }
+
+        out.append("Here are the tasks between ");
+        Task.DATE_TIME_FORMAT.formatTo(from, out);
+        out.append(" and ");
+        Task.DATE_TIME_FORMAT.formatTo(to, out);
+        out.append(":\n");
+        int end = position;
+        while (end - position < size && occurrences.hasNext()) {
+            Cancellation.check("The listing");
+            Occurrence occurrence = occurrences.next();
+            end++;
+            appendNumber(end, out);
+            out.append(". ");
+            Task.DATE_TIME_FORMAT.formatTo(occurrence.getTime(), out);
+            out.append(' ');
+            occurrence.getTask().appendTo(out);
+            out.append('\n');
+        }
+        return end;
     }
 
     /**
@@ -170,6 +314,256 @@ public class Ui {
         return undoneMessage;
     }
 
+    /**
+     * Displays a message confirming that tags have been added to a task.
+     *
+     * @param task The task that was tagged.
+     */
+    public String tagMessage(Task task) {
+        return "Got it. I've tagged this task:\n"
+                + " " + task + "\n";
+    }
+
+    /**
+     * Displays a message confirming that tags have been removed from a task.
+     *
+     * @param task The task that was untagged.
+     */
+    public String unTagMessage(Task task) {
+        return "Got it. I've removed the tags from this task:\n"
+                + " " + task + "\n";
+    }
+
+    /**
+     * Displays a message confirming that the priority of a task has been changed.
+     *
+     * @param task The task whose priority was changed.
+     */
+    public String priorityMessage(Task task) {
+        return "Got it. I've set the priority of this task to " + task.getPriority().getLabel() + ":\n"
+                + " " + task + "\n";
+    }
+
+    /**
+     * Displays a message confirming that a task is now blocked by another.
+     *
+     * @param task The task that is blocked.
+     * @param blocker The task that must be done first.
+     */
+    public String blockMessage(Task task, Task blocker) {
+        return "Got it. This task:\n"
+                + " " + task + "\n"
+                + "is now blocked by:\n"
+                + " " + blocker + "\n";
+    }
+
+    /**
+     * Displays a message confirming that a task is no longer blocked by another.
+     *
+     * @param task The task that was blocked.
+     * @param blocker The task that had to be done first.
+     */
+    public String unBlockMessage(Task task, Task blocker) {
+        return "Got it. This task:\n"
+                + " " + task + "\n"
+                + "is no longer blocked by:\n"
+                + " " + blocker + "\n";
+    }
+
+    /**
+     * Displays the tasks that are ready to be done next.
+     *
+     * @param readyTasks The ready tasks, in the order they should be done.
+     */
+    public String nextMessage(List<Task> readyTasks) {
+        if (readyTasks.isEmpty()) {
+            return "There are no tasks ready to be done! \n";
+        }
+
+        StringBuilder nextMessage = new StringBuilder("Here are the tasks you can do next:\n");
+        for (int i = 0; i < readyTasks.size(); i++) {
+            nextMessage.append(i + 1).append(". ").append(readyTasks.get(i)).append("\n");
+        }
+        return nextMessage.toString();
+    }
+
+    /**
+     * Displays the tasks that match a tag or priority filter.
+     *
+     * @param matches The matching tasks, in the order they should be displayed.
+     */
+    public String listFilteredTasks(List<Task> matches) {
+        return render(out -> this.listFilteredTasks(matches, out));
+    }
+
+    /**
+     * Writes the tasks that match a tag or priority filter to an output.
+     *
+     * @param matches The matching tasks, in the order they should be displayed.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void listFilteredTasks(List<Task> matches, Appendable out) throws IOException {
+        this.listFilteredTasks(matches, 0, matches.size(), out);
+    }
+
+    /**
+     * Writes a page of the tasks that match a filter or query to an output, numbered by their position among the
+     * matches.
+     *
+     * @param matches The matching tasks, in the order they should be displayed.
+     * @param from The 0-based position of the first match on the page.
+     * @param to The position after the last match on the page.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void listFilteredTasks(List<Task> matches, int from, int to, Appendable out) throws IOException {
+        if (matches.isEmpty()) {
+            out.append("There are no tasks found in your list! \n");
+            return;
+        }
+
+        out.append("Here are the matching tasks in your list:\n");
+        appendTasks(matches, from, to, out);
+    }
+
+    /**
+     * Writes the line after a page of tasks, saying which tasks were shown and how to see the next page.
+     *
+     * @param from The 0-based position of the first task on the page.
+     * @param to The position after the last task on the page.
+     * @param total The number of tasks in all pages.
+     * @param cursor The cursor of the next page, or {@code null} if this is the last page.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void pageFooter(int from, int to, int total, String cursor, Appendable out) throws IOException {
+        if (to == 0) {
+            return;
+        }
+        out.append("Showing ");
+        appendNumber(from + 1, out);
+        out.append('-');
+        appendNumber(to, out);
+        out.append(" of ");
+        appendNumber(total, out);
+        out.append(".\n");
+        appendCursor(cursor, out);
+    }
+
+    /**
+     * Writes the line after a page of occurrences, saying which occurrences were shown and how to see the next page.
+     * <p>
+     * Unlike {@link #pageFooter(int, int, int, String, Appendable)}, it does not say how many there are in all, as
+     * occurrences are not counted beyond the page.
+     * </p>
+     *
+     * @param from The number of occurrences before the page.
+     * @param to The number of occurrences up to the end of the page.
+     * @param cursor The cursor of the next page, or {@code null} if this is the last page.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void occurrenceFooter(int from, int to, String cursor, Appendable out) throws IOException {
+        if (to == from) {
+            return;
+        }
+        out.append("Showing ");
+        appendNumber(from + 1, out);
+        out.append('-');
+        appendNumber(to, out);
+        out.append(".\n");
+        appendCursor(cursor, out);
+    }
+
+    /**
+     * Displays a message explaining that a page is past the end of the list.
+     *
+     * @param page The 1-based page that was asked for.
+     * @param pageCount The number of pages in the list.
+     */
+    public String noPageMessage(int page, int pageCount) {
+        String pageWord = (pageCount == 1) ? "page" : "pages";
+        return "There is no page " + page + "! There are only " + pageCount + " " + pageWord + " of tasks.\n";
+    }
+
+    /**
+     * Displays a message explaining that there are no more pages to show.
+     */
+    public String noMoreMessage() {
+        return "There are no more tasks to show! \n";
+    }
+
+    /**
+     * Displays a message saying how many tasks have been loaded.
+     *
+     * @param count The number of tasks loaded.
+     * @return A string with the number of tasks.
+     */
+    public String loadedMessage(int count) {
+        String taskWord = (count == 1) ? "task" : "tasks";
+        return "I've loaded your " + count + " " + taskWord + ".\n";
+    }
+
+    /**
+     * Displays the names of the user's task lists, marking the one in use.
+     *
+     * @param names The names of the lists, in the order to show them.
+     * @param current The name of the list in use.
+     * @return A string listing the lists.
+     */
+    public String listsMessage(Collection<String> names, String current) {
+        StringBuilder message = new StringBuilder("Here are your lists:\n");
+        for (String name : names) {
+            message.append(name.equals(current) ? "* " : "  ").append(name).append("\n");
+        }
+        return message.toString();
+    }
+
+    /**
+     * Displays a message confirming the switch to another task list.
+     *
+     * @param name The name of the list now in use.
+     * @param taskListSize The number of tasks in the list.
+     * @return A string with the list and its number of tasks.
+     */
+    public String useMessage(String name, int taskListSize) {
+        String taskWord = (taskListSize == 1) ? "task" : "tasks";
+        return "Now using the list " + name + ", which has " + taskListSize + " " + taskWord + ".\n";
+    }
+
+    /**
+     * Displays a message confirming that a task has been moved to another task list.
+     *
+     * @param t The task that was moved.
+     * @param name The name of the list it was moved to.
+     * @param taskListSize The number of tasks left in the list in use.
+     * @return A string with the moved task.
+     */
+    public String moveMessage(Task t, String name, int taskListSize) {
+        String taskWord = (taskListSize == 1) ? "task" : "tasks";
+        return "Okay! I've moved this task to the list " + name + ":\n"
+                + "  " + t + "\n"
+                + "Now you have " + taskListSize + " " + taskWord + " in this list.\n";
+    }
+
+    /**
+     * Displays the suggested completions of a partly typed command.
+     *
+     * @param completions The completed command lines, most likely first.
+     * @return A string listing the completions, or saying that there are none.
+     */
+    public String completionMessage(List<String> completions) {
+        if (completions.isEmpty()) {
+            return "I have no suggestions for that. \n";
+        }
+        StringBuilder message = new StringBuilder("Did you mean:\n");
+        for (String completion : completions) {
+            message.append("  ").append(completion).append("\n");
+        }
+        return message.toString();
+    }
+
     /**
      * Displays an error message when a {@link TalkieException} is encountered.
      *
@@ -180,44 +574,127 @@ public class Ui {
     }
 
     /**
-     * Searches for tasks containing the specified keyword and displays the matching tasks.
+     * Displays the tasks found by a search.
      * <p>
-     * This method iterates through the provided {@code TaskList}, checks each task for the presence of the keyword,
-     * and collects the tasks that match. It then displays the matching tasks or appropriate messages if no tasks
-     * are found or if the task list is empty.
+     * This method displays the matching tasks, or appropriate messages if no tasks are found or if the task list
+     * is empty.
      * </p>
      *
-     * @param tasks The {@code TaskList} containing all tasks to search through.
-     * @param keyword The keyword to search for in the task descriptions.
+     * @param tasks The {@code TaskList} that was searched.
+     * @param matches The tasks that matched the search.
+     */
+    public String findTasks(TaskList tasks, List<Task> matches) {
+        return render(out -> this.findTasks(tasks, matches, out));
+    }
+
+    /**
+     * Writes the tasks found by a search to an output.
+     *
+     * @param tasks The {@code TaskList} that was searched.
+     * @param matches The tasks that matched the search.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
      */
-    public String findTasks(TaskList tasks, String keyword) {
+    public void findTasks(TaskList tasks, List<Task> matches, Appendable out) throws IOException {
         if (tasks.isEmpty()) {
-            return "There are no tasks in your list! \n";
+            out.append("There are no tasks in your list! \n");
+            return;
         }
+        this.listFilteredTasks(matches, out);
+    }
+
+    /**
+     * Displays how a query will be run against the task list.
+     *
+     * @param plan The description of the plan chosen for the query.
+     */
+    public String explainMessage(String plan) {
+        return "Here is how I would run this query:\n" + plan;
+    }
+
+    /**
+     * Displays a message confirming that the changes of a transaction have been kept.
+     *
+     * @param commandCount The number of commands in the transaction.
+     */
+    public String commitMessage(int commandCount) {
+        String commandWord = (commandCount == 1) ? "command" : "commands";
+        return "Done! I've saved the changes of all " + commandCount + " " + commandWord + ".\n";
+    }
 
-        TaskList searchedList = new TaskList();
-        for (int i = 1; i <= tasks.size(); i++) {
-            Task currTask = tasks.getTask(i);
-            if (currTask.containsWord(keyword)) {
-                searchedList.addTask(currTask);
-            }
+    /**
+     * Displays a message confirming that the changes of a transaction have been undone.
+     */
+    public String rollbackMessage() {
+        return "Noted. I've undone every change in this transaction, so your list is as it was before.\n";
+    }
+
+    /**
+     * Displays a message explaining that a pipeline stopped at a command that failed.
+     *
+     * @param skippedCount The number of commands after the failed one that were not run.
+     */
+    public String pipelineStoppedMessage(int skippedCount) {
+        if (skippedCount == 0) {
+            return "The changes made by the earlier commands have been kept.\n";
         }
+        String commandWord = (skippedCount == 1) ? "command" : "commands";
+        return "I've stopped here and skipped the remaining " + skippedCount + " " + commandWord
+                + ". The changes made by the earlier commands have been kept.\n";
+    }
 
-        if (searchedList.isEmpty()) {
-            return "There are no tasks found in your list! \n";
+    private static void appendTasks(List<Task> tasks, int from, int to, Appendable out) throws IOException {
+        for (int i = from; i < to; i++) {
+            Cancellation.check("The listing");
+            appendTask(i + 1, tasks.get(i), out);
         }
+    }
 
-        StringBuilder searchedListMessage = new StringBuilder();
-        for (int i = 1; i <= searchedList.size(); i++) {
-            Task searchedTask = searchedList.getTask(i);
-            String description = (i) + ". " + searchedTask + "\n";
-            searchedListMessage.append(description);
+    private static void appendCursor(String cursor, Appendable out) throws IOException {
+        if (cursor != null) {
+            out.append("Enter 'more' to see the next page, or 'more ").append(cursor).append("' to come back to it.\n");
         }
+    }
+
+    /**
+     * Writes a numbered line for a task, in the form "1. [T][ ] description".
+     */
+    private static void appendTask(int number, Task task, Appendable out) throws IOException {
+        appendNumber(number, out);
+        out.append(". ");
+        task.appendTo(out);
+        out.append('\n');
+    }
 
-        String finalMessage = "Here are the matching tasks in your list:\n"
-                + searchedListMessage;
+    /**
+     * Writes the digits of a positive number one by one, instead of creating a string for the number.
+     */
+    private static void appendNumber(int number, Appendable out) throws IOException {
+        if (number >= 10) {
+            appendNumber(number / 10, out);
+        }
+        out.append((char) ('0' + number % 10));
+    }
 
-        return finalMessage;
+    /**
+     * Returns the message that a renderer writes, collected in a string.
+     */
+    private static String render(Renderer renderer) {
+        StringBuilder message = new StringBuilder();
+        try {
+            renderer.renderTo(message);
+        } catch (IOException e) {
+            // A StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return message.toString();
     }
 
+    /**
+     * Writes a message to an output.
+     */
+    @FunctionalInterface
+    private interface Renderer {
+        void renderTo(Appendable out) throws IOException;
+    }
 }
@@ -0,0 +1,360 @@
+package talkie.components;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.stream.Stream;
+
+import talkie.exception.TalkieException;
+import talkie.task.ChangeLog;
+import talkie.task.TaskList;
+
+/**
+ * Holds the named task lists of a user, each stored in its own file, and keeps track of the list in use.
+ * <p>
+ * The list named {@value #DEFAULT_LIST} is stored in the data file given. Any other list is stored beside it, in a
+ * file named after the data file with the list's name added before the extension, so the list {@code work} of
+ * {@code data/talkie.Talkie.txt} is stored in {@code data/talkie.Talkie.work.txt}. Each list has its own
+ * {@link Storage} and {@link TaskList}, and so its own index.
+ * </p>
+ * <p>
+ * A list is only loaded when it is first used, so starting up costs the same however many lists there are. At most
+ * {@value #CAPACITY_PROPERTY} lists are kept in memory, {@value #DEFAULT_CAPACITY} unless configured. When another
+ * list is loaded, the least recently used list other than the one in use is saved if it has changed and then
+ * unloaded, to be loaded again the next time it is used. Switching between the lists kept in memory is instant.
+ * </p>
+ */
+public class Workspace {
+
+    /** The name of the list stored in the data file itself, which is in use at first. */
+    public static final String DEFAULT_LIST = "main";
+
+    /** The system property that sets the number of lists kept in memory. */
+    public static final String CAPACITY_PROPERTY = "talkie.lists.capacity";
+
+    /** The number of lists kept in memory when no capacity is configured. */
+    public static final int DEFAULT_CAPACITY = 4;
+
+    private static final String NAME_PATTERN = "[A-Za-z0-9_-]{1,32}";
+
+    private final Path directory;
+    private final String stem;
+    private final String extension;
+    private final String filePath;
+    private final int capacity;
+    private final Consumer<TalkieException> onLoadError;
+    private final LinkedHashMap<String, NamedList> lists = new LinkedHashMap<>(16, 0.75f, true);
+    private String current = DEFAULT_LIST;
+
+    /**
+     * Constructs a {@code Workspace} whose default list is stored in a data file.
+     *
+     * @param filePath The path of the file where the default list is stored.
+     * @param capacity The number of lists kept in memory, at least 2.
+     * @param onLoadError Told about a list that could not be loaded when it is first used. The list is then used
+     *                    as if it were empty.
+     */
+    public Workspace(String filePath, int capacity, Consumer<TalkieException> onLoadError) {
+        Path file = Paths.get(filePath);
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        this.directory = file.getParent() == null ? Paths.get("") : file.getParent();
+        this.stem = dot > 0 ? fileName.substring(0, dot) : fileName;
+        this.extension = dot > 0 ? fileName.substring(dot) : "";
+        this.filePath = filePath;
+        this.capacity = Math.max(2, capacity);
+        this.onLoadError = onLoadError;
+    }
+
+    /**
+     * Creates a {@code Workspace} with the configured capacity.
+     *
+     * @param filePath The path of the file where the default list is stored.
+     * @param onLoadError Told about a list that could not be loaded when it is first used.
+     * @return The workspace.
+     */
+    public static Workspace fromSystemProperties(String filePath, Consumer<TalkieException> onLoadError) {
+        return new Workspace(filePath, Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY), onLoadError);
+    }
+
+    /**
+     * Returns whether a name can be used for a list.
+     *
+     * @param name The name.
+     * @return Whether the name is made of up to 32 letters, digits, {@code _} and {@code -}.
+     */
+    public static boolean isValidName(String name) {
+        return name.matches(NAME_PATTERN);
+    }
+
+    public String getCurrentName() {
+        return this.current;
+    }
+
+    /**
+     * Returns the storage of the list in use.
+     *
+     * @return The storage.
+     */
+    public Storage getStorage() {
+        return this.list(this.current).storage;
+    }
+
+    /**
+     * Returns the list in use, loading it if it is not in memory.
+     *
+     * @return The task list.
+     */
+    public TaskList getTaskList() {
+        return this.getTaskList(this.current);
+    }
+
+    /**
+     * Returns a list, loading it if it is not in memory. A list that does not exist yet is created empty.
+     *
+     * @param name The name of the list.
+     * @return The task list.
+     */
+    public TaskList getTaskList(String name) {
+        NamedList list = this.list(name);
+        if (list.tasks == null) {
+            try {
+                this.load(list, fraction -> { });
+            } catch (TalkieException e) {
+                this.onLoadError.accept(e);
+            }
+        }
+        return list.tasks;
+    }
+
+    /**
+     * Returns the change log of the list in use, starting it if the list has none.
+     * <p>
+     * A log is only kept for a list once a client has synced it, and is dropped when the list is unloaded.
+     * </p>
+     *
+     * @return The change log.
+     */
+    public ChangeLog getChangeLog() {
+        TaskList tasks = this.getTaskList();
+        NamedList list = this.list(this.current);
+        if (list.changeLog == null) {
+            list.changeLog = ChangeLog.fromSystemProperties(tasks);
+        }
+        return list.changeLog;
+    }
+
+    /**
+     * Returns whether a list is in memory, without loading it or marking it as recently used.
+     *
+     * @param name The name of the list.
+     * @return Whether the list has been loaded.
+     */
+    public boolean isLoaded(String name) {
+        if (!this.lists.containsKey(name)) {
+            return false;
+        }
+        // Looking the list up with get would make it the most recently used, so it is found by iterating instead
+        for (Map.Entry<String, NamedList> entry : this.lists.entrySet()) {
+            if (entry.getKey().equals(name)) {
+                return entry.getValue().tasks != null;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Loads the list in use if it is not in memory, reporting how much of it has been read.
+     *
+     * @param progress Receives the fraction of the data file read so far, from 0 to 1.
+     * @return The task list.
+     * @throws TalkieException If a task in the data file cannot be read. The list is then empty.
+     */
+    public TaskList load(DoubleConsumer progress) throws TalkieException {
+        NamedList list = this.list(this.current);
+        if (list.tasks == null) {
+            this.load(list, progress);
+        }
+        return list.tasks;
+    }
+
+    /**
+     * Switches to another list. The list being left is saved if it has changed, and stays in memory for now.
+     *
+     * @param name The name of the list to use, which is created if it does not exist.
+     * @throws IOException If the list being left cannot be saved.
+     */
+    public void use(String name) throws IOException {
+        if (name.equals(this.current)) {
+            return;
+        }
+        this.saveIfChanged(this.list(this.current));
+        this.current = name;
+        this.list(name);
+    }
+
+    /**
+     * Returns the names of every list, including those not in memory, found by looking for their files.
+     *
+     * @return The names, in alphabetical order.
+     * @throws IOException If the directory of the data file cannot be read.
+     */
+    public Set<String> getListNames() throws IOException {
+        Set<String> names = new TreeSet<>(this.lists.keySet());
+        names.add(DEFAULT_LIST);
+        if (!Files.isDirectory(this.directory)) {
+            return names;
+        }
+
+        String prefix = this.stem + ".";
+        try (Stream<Path> files = Files.list(this.directory)) {
+            Iterator<Path> iterator = files.iterator();
+            while (iterator.hasNext()) {
+                String fileName = iterator.next().getFileName().toString();
+                if (fileName.length() > prefix.length() + this.extension.length() && fileName.startsWith(prefix)
+                        && fileName.endsWith(this.extension)) {
+                    String name = fileName.substring(prefix.length(), fileName.length() - this.extension.length());
+                    if (isValidName(name)) {
+                        names.add(name);
+                    }
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Returns the number of tasks held in memory across all lists.
+     *
+     * @return The number of tasks.
+     */
+    public int getLoadedTaskCount() {
+        int count = 0;
+        for (NamedList list : this.lists.values()) {
+            count += list.tasks == null ? 0 : list.tasks.size();
+        }
+        return count;
+    }
+
+    /**
+     * Saves the list in use, loading it first if it is not in memory.
+     *
+     * @throws IOException If the list cannot be saved.
+     */
+    public void save() throws IOException {
+        this.save(this.current);
+    }
+
+    /**
+     * Saves a list, loading it first if it is not in memory.
+     *
+     * @param name The name of the list.
+     * @throws IOException If the list cannot be saved.
+     */
+    public void save(String name) throws IOException {
+        TaskList tasks = this.getTaskList(name);
+        NamedList list = this.list(name);
+        list.storage.saveData(tasks);
+        list.savedVersion = tasks.getVersion();
+    }
+
+    /**
+     * Saves every list in memory that has changed since it was loaded or last saved by the workspace.
+     *
+     * @return Whether any list was saved.
+     * @throws IOException If a list cannot be saved.
+     */
+    public boolean saveAll() throws IOException {
+        boolean isSaved = false;
+        for (NamedList list : this.lists.values()) {
+            isSaved |= this.saveIfChanged(list);
+        }
+        return isSaved;
+    }
+
+    private boolean saveIfChanged(NamedList list) throws IOException {
+        if (list.tasks == null || list.tasks.getVersion() == list.savedVersion) {
+            return false;
+        }
+        list.storage.saveData(list.tasks);
+        list.savedVersion = list.tasks.getVersion();
+        return true;
+    }
+
+    /**
+     * Returns a list, creating its entry if it is not known yet, and marks it as the most recently used.
+     */
+    private NamedList list(String name) {
+        return this.lists.computeIfAbsent(name, key -> new NamedList(new Storage(this.fileOf(key))));
+    }
+
+    private String fileOf(String name) {
+        if (name.equals(DEFAULT_LIST)) {
+            return this.filePath;
+        }
+        return this.directory.resolve(this.stem + "." + name + this.extension).toString();
+    }
+
+    private void load(NamedList list, DoubleConsumer progress) throws TalkieException {
+        list.changeLog = null;
+        try {
+            list.tasks = new TaskList(list.storage.loadData(progress));
+        } catch (TalkieException e) {
+            list.tasks = new TaskList();
+            throw e;
+        } finally {
+            list.savedVersion = list.tasks.getVersion();
+            this.unloadIdle(list);
+        }
+    }
+
+    /**
+     * Unloads the least recently used lists, other than the list in use and the one just loaded, while more lists
+     * than the capacity are in memory. A list that cannot be saved is kept, so that no changes are lost.
+     */
+    private void unloadIdle(NamedList loaded) {
+        int loadedCount = 0;
+        for (NamedList list : this.lists.values()) {
+            loadedCount += list.tasks == null ? 0 : 1;
+        }
+
+        NamedList inUse = this.lists.get(this.current);
+        Iterator<NamedList> eldest = this.lists.values().iterator();
+        while (loadedCount > this.capacity && eldest.hasNext()) {
+            NamedList list = eldest.next();
+            if (list.tasks == null || list == inUse || list == loaded) {
+                continue;
+            }
+            try {
+                this.saveIfChanged(list);
+            } catch (IOException e) {
+                continue;
+            }
+            list.tasks = null;
+            list.changeLog = null;
+            loadedCount--;
+        }
+    }
+
+    /**
+     * Holds the storage of a list, and its tasks while it is in memory.
+     */
+    private static class NamedList {
+        private final Storage storage;
+        private TaskList tasks;
+        private long savedVersion;
+        private ChangeLog changeLog;
+
+        NamedList(Storage storage) {
+            this.storage = storage;
+        }
+    }
+}
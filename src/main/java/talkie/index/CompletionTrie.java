@@ -0,0 +1,205 @@
+package talkie.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A counted set of words that finds the most frequent words starting with a prefix.
+ * <p>
+ * Words are stored in a trie whose nodes keep their children in sorted arrays. Every node also records the highest
+ * count of any word below it, so completion is a best-first search that visits the prefix, then only the branches
+ * that can still hold one of the most frequent words, and stops as soon as it has enough of them. Finding the top
+ * few completions therefore takes time proportional to the prefix and the words returned, not to the number of
+ * words stored.
+ * </p>
+ */
+public class CompletionTrie {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Comparator<Candidate> RANKING = Comparator.comparingInt((Candidate c) -> -c.count)
+            .thenComparing(c -> c.text);
+
+    private final Node root = new Node();
+
+    /**
+     * Adds an occurrence of a word.
+     *
+     * @param word The word, which must not be empty.
+     */
+    public void add(String word) {
+        assert !word.isEmpty() : "Only non-empty words can be completed";
+        Node node = this.root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.childOrCreate(word.charAt(i));
+        }
+        node.count++;
+
+        int count = node.count;
+        node = this.root;
+        node.best = Math.max(node.best, count);
+        for (int i = 0; i < word.length(); i++) {
+            node = node.child(word.charAt(i));
+            node.best = Math.max(node.best, count);
+        }
+    }
+
+    /**
+     * Removes an occurrence of a word, forgetting the word once it has no occurrences left.
+     *
+     * @param word The word.
+     * @return {@code true} if the word had an occurrence to remove.
+     */
+    public boolean remove(String word) {
+        Node[] path = new Node[word.length() + 1];
+        path[0] = this.root;
+        for (int i = 0; i < word.length(); i++) {
+            path[i + 1] = path[i].child(word.charAt(i));
+            if (path[i + 1] == null) {
+                return false;
+            }
+        }
+        Node end = path[word.length()];
+        if (end.count == 0) {
+            return false;
+        }
+
+        end.count--;
+        for (int i = word.length(); i >= 0; i--) {
+            Node node = path[i];
+            node.updateBest();
+            if (i > 0 && node.best == 0) {
+                path[i - 1].removeChild(word.charAt(i - 1));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of occurrences of a word.
+     *
+     * @param word The word.
+     * @return The number of times the word was added and not removed.
+     */
+    public int count(String word) {
+        Node node = this.find(word);
+        return node == null ? 0 : node.count;
+    }
+
+    /**
+     * Returns the most frequent words that start with a prefix, most frequent first, and in alphabetical order
+     * among words that are equally frequent.
+     *
+     * @param prefix The prefix of the words.
+     * @param limit The largest number of words to return.
+     * @return The completions of the prefix, which include the prefix itself if it is a word.
+     */
+    public List<String> complete(String prefix, int limit) {
+        List<String> completions = new ArrayList<>();
+        Node start = this.find(prefix);
+        if (start == null || start.best == 0) {
+            return completions;
+        }
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(RANKING);
+        queue.add(new Candidate(start, prefix, start.best, false));
+        while (!queue.isEmpty() && completions.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.isWord) {
+                completions.add(candidate.text);
+                continue;
+            }
+
+            Node node = candidate.node;
+            if (node.count > 0) {
+                queue.add(new Candidate(node, candidate.text, node.count, true));
+            }
+            for (int i = 0; i < node.childCount; i++) {
+                Node child = node.children[i];
+                queue.add(new Candidate(child, candidate.text + node.labels[i], child.best, false));
+            }
+        }
+        return completions;
+    }
+
+    private Node find(String word) {
+        Node node = this.root;
+        for (int i = 0; i < word.length() && node != null; i++) {
+            node = node.child(word.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * A node of the trie, whose children are kept in arrays sorted by the character leading to them.
+     */
+    private static final class Node {
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private int childCount;
+        private int count;
+        private int best;
+
+        private Node child(char label) {
+            int i = Arrays.binarySearch(this.labels, 0, this.childCount, label);
+            return i >= 0 ? this.children[i] : null;
+        }
+
+        private Node childOrCreate(char label) {
+            int i = Arrays.binarySearch(this.labels, 0, this.childCount, label);
+            if (i >= 0) {
+                return this.children[i];
+            }
+
+            i = -i - 1;
+            if (this.childCount == this.labels.length) {
+                int capacity = Math.max(2, this.childCount * 2);
+                this.labels = Arrays.copyOf(this.labels, capacity);
+                this.children = Arrays.copyOf(this.children, capacity);
+            }
+            System.arraycopy(this.labels, i, this.labels, i + 1, this.childCount - i);
+            System.arraycopy(this.children, i, this.children, i + 1, this.childCount - i);
+            Node child = new Node();
+            this.labels[i] = label;
+            this.children[i] = child;
+            this.childCount++;
+            return child;
+        }
+
+        private void removeChild(char label) {
+            int i = Arrays.binarySearch(this.labels, 0, this.childCount, label);
+            System.arraycopy(this.labels, i + 1, this.labels, i, this.childCount - i - 1);
+            System.arraycopy(this.children, i + 1, this.children, i, this.childCount - i - 1);
+            this.childCount--;
+            this.children[this.childCount] = null;
+        }
+
+        private void updateBest() {
+            int best = this.count;
+            for (int i = 0; i < this.childCount; i++) {
+                best = Math.max(best, this.children[i].best);
+            }
+            this.best = best;
+        }
+    }
+
+    /**
+     * A word, or a branch of words sharing a prefix, waiting to be visited by a completion search.
+     */
+    private static final class Candidate {
+        private final Node node;
+        private final String text;
+        private final int count;
+        private final boolean isWord;
+
+        private Candidate(Node node, String text, int count, boolean isWord) {
+            this.node = node;
+            this.text = text;
+            this.count = count;
+            this.isWord = isWord;
+        }
+    }
+}
@@ -0,0 +1,567 @@
+package talkie.index;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of non-negative integers in the style of a Roaring bitmap.
+ * <p>
+ * Values are partitioned by their high 16 bits into chunks. Each chunk stores its low 16 bits either as a sorted
+ * array when it is sparse, or as a 65536-bit bitmap once it holds more than {@value #ARRAY_LIMIT} values. Sparse
+ * sets therefore cost two bytes per value, dense sets one bit per value, and set operations run chunk by chunk
+ * without ever expanding the whole set.
+ * </p>
+ */
+public class CompressedBitmap {
+
+    /** The largest number of values a chunk stores as a sorted array before switching to a bitmap. */
+    static final int ARRAY_LIMIT = 4096;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int chunkCount;
+
+    /**
+     * Constructs an empty {@code CompressedBitmap}.
+     */
+    public CompressedBitmap() {
+    }
+
+    /**
+     * Constructs a {@code CompressedBitmap} containing the given values.
+     *
+     * @param values The non-negative values to add.
+     * @return A new bitmap containing the values.
+     */
+    public static CompressedBitmap of(int... values) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Adds a value to this bitmap.
+     *
+     * @param value The non-negative value to add.
+     * @return {@code true} if the value was not already present.
+     */
+    public boolean add(int value) {
+        assert value >= 0 : "Only non-negative values can be stored in a bitmap";
+        char key = highBits(value);
+        int i = this.indexOf(key);
+        if (i < 0) {
+            i = -i - 1;
+            this.insertContainer(i, key, new ArrayContainer());
+        }
+
+        Container before = this.containers[i];
+        int cardinality = before.cardinality();
+        this.containers[i] = before.add(lowBits(value));
+        return this.containers[i].cardinality() != cardinality;
+    }
+
+    /**
+     * Removes a value from this bitmap.
+     *
+     * @param value The value to remove.
+     * @return {@code true} if the value was present.
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = this.indexOf(highBits(value));
+        if (i < 0) {
+            return false;
+        }
+
+        int cardinality = this.containers[i].cardinality();
+        this.containers[i] = this.containers[i].remove(lowBits(value));
+        if (this.containers[i].cardinality() == 0) {
+            this.removeContainer(i);
+            return true;
+        }
+        return this.containers[i].cardinality() != cardinality;
+    }
+
+    /**
+     * Checks if this bitmap contains the given value.
+     *
+     * @param value The value to look up.
+     * @return {@code true} if the value is present; {@code false} otherwise.
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = this.indexOf(highBits(value));
+        return i >= 0 && this.containers[i].contains(lowBits(value));
+    }
+
+    /**
+     * Returns the number of values in this bitmap.
+     *
+     * @return The cardinality of the bitmap.
+     */
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < this.chunkCount; i++) {
+            cardinality += this.containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * Checks if this bitmap is empty.
+     *
+     * @return {@code true} if the bitmap contains no values; {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return this.chunkCount == 0;
+    }
+
+    /**
+     * Returns a new bitmap containing the values present in both bitmaps.
+     *
+     * @param a The first bitmap.
+     * @param b The second bitmap.
+     * @return The intersection of the two bitmaps.
+     */
+    public static CompressedBitmap and(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.chunkCount && j < b.chunkCount) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Container intersection = a.containers[i].and(b.containers[j]);
+                if (intersection.cardinality() > 0) {
+                    result.appendContainer(a.keys[i], intersection);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new bitmap containing the values present in either bitmap.
+     *
+     * @param a The first bitmap.
+     * @param b The second bitmap.
+     * @return The union of the two bitmaps.
+     */
+    public static CompressedBitmap or(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.chunkCount || j < b.chunkCount) {
+            if (j == b.chunkCount || (i < a.chunkCount && a.keys[i] < b.keys[j])) {
+                result.appendContainer(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i == a.chunkCount || a.keys[i] > b.keys[j]) {
+                result.appendContainer(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.appendContainer(a.keys[i], a.containers[i].or(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new bitmap containing the values present in {@code a} but not in {@code b}.
+     *
+     * @param a The bitmap to subtract from.
+     * @param b The bitmap of values to exclude.
+     * @return The difference of the two bitmaps.
+     */
+    public static CompressedBitmap andNot(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap result = new CompressedBitmap();
+        int j = 0;
+        for (int i = 0; i < a.chunkCount; i++) {
+            while (j < b.chunkCount && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            Container difference = (j < b.chunkCount && b.keys[j] == a.keys[i])
+                    ? a.containers[i].andNot(b.containers[j])
+                    : a.containers[i].copy();
+            if (difference.cardinality() > 0) {
+                result.appendContainer(a.keys[i], difference);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a copy of this bitmap that can be modified independently.
+     *
+     * @return A copy of this bitmap.
+     */
+    public CompressedBitmap copy() {
+        CompressedBitmap copy = new CompressedBitmap();
+        for (int i = 0; i < this.chunkCount; i++) {
+            copy.appendContainer(this.keys[i], this.containers[i].copy());
+        }
+        return copy;
+    }
+
+    /**
+     * Calls the given action for every value in this bitmap, in ascending order.
+     *
+     * @param action The action to perform on each value.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < this.chunkCount; i++) {
+            int high = this.keys[i] << 16;
+            this.containers[i].forEach(low -> action.accept(high | low));
+        }
+    }
+
+    /**
+     * Returns an iterator over the values in this bitmap, in ascending order.
+     *
+     * @return An iterator over the values.
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int chunk = 0;
+            private int low = -1;
+
+            @Override
+            public boolean hasNext() {
+                while (this.chunk < chunkCount) {
+                    int next = containers[this.chunk].nextValue(this.low + 1);
+                    if (next >= 0) {
+                        return true;
+                    }
+                    this.chunk++;
+                    this.low = -1;
+                }
+                return false;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                this.low = containers[this.chunk].nextValue(this.low + 1);
+                return (keys[this.chunk] << 16) | this.low;
+            }
+        };
+    }
+
+    /**
+     * Returns the values in this bitmap as a sorted array.
+     *
+     * @return The values in ascending order.
+     */
+    public int[] toArray() {
+        int[] values = new int[this.cardinality()];
+        int[] position = {0};
+        this.forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.toArray());
+    }
+
+    private static char highBits(int value) {
+        return (char) (value >>> 16);
+    }
+
+    private static char lowBits(int value) {
+        return (char) value;
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(this.keys, 0, this.chunkCount, key);
+    }
+
+    private void insertContainer(int i, char key, Container container) {
+        if (this.chunkCount == this.keys.length) {
+            int capacity = Math.max(4, this.chunkCount * 2);
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.containers = Arrays.copyOf(this.containers, capacity);
+        }
+        System.arraycopy(this.keys, i, this.keys, i + 1, this.chunkCount - i);
+        System.arraycopy(this.containers, i, this.containers, i + 1, this.chunkCount - i);
+        this.keys[i] = key;
+        this.containers[i] = container;
+        this.chunkCount++;
+    }
+
+    private void appendContainer(char key, Container container) {
+        this.insertContainer(this.chunkCount, key, container);
+    }
+
+    private void removeContainer(int i) {
+        System.arraycopy(this.keys, i + 1, this.keys, i, this.chunkCount - i - 1);
+        System.arraycopy(this.containers, i + 1, this.containers, i, this.chunkCount - i - 1);
+        this.chunkCount--;
+        this.containers[this.chunkCount] = null;
+    }
+
+    /**
+     * Stores the low 16 bits of the values in one chunk of the bitmap.
+     * <p>
+     * Mutating operations return the container to use afterwards, which lets a chunk switch between the array
+     * and bitmap representations as its cardinality crosses {@link #ARRAY_LIMIT}.
+     * </p>
+     */
+    private abstract static class Container {
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        /** Returns the smallest value that is at least {@code from}, or -1 if there is none. */
+        abstract int nextValue(int from);
+
+        abstract void forEach(IntConsumer action);
+
+        abstract Container copy();
+
+        Container and(Container other) {
+            ArrayContainer result = new ArrayContainer();
+            Container smaller = this.cardinality() <= other.cardinality() ? this : other;
+            Container larger = smaller == this ? other : this;
+            smaller.forEach(value -> {
+                if (larger.contains((char) value)) {
+                    result.append((char) value);
+                }
+            });
+            return result.optimise();
+        }
+
+        Container or(Container other) {
+            Container result = this.cardinality() + other.cardinality() > ARRAY_LIMIT
+                    ? BitmapContainer.from(this)
+                    : this.copy();
+            for (int value = other.nextValue(0); value >= 0; value = other.nextValue(value + 1)) {
+                result = result.add((char) value);
+            }
+            return result;
+        }
+
+        Container andNot(Container other) {
+            Container result = new ArrayContainer();
+            for (int value = this.nextValue(0); value >= 0; value = this.nextValue(value + 1)) {
+                if (!other.contains((char) value)) {
+                    result = result.add((char) value);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Stores a sparse chunk as a sorted array of its values.
+     */
+    private static class ArrayContainer extends Container {
+
+        private char[] values = new char[4];
+        private int cardinality;
+
+        @Override
+        Container add(char value) {
+            int i = Arrays.binarySearch(this.values, 0, this.cardinality, value);
+            if (i >= 0) {
+                return this;
+            }
+            if (this.cardinality == ARRAY_LIMIT) {
+                return BitmapContainer.from(this).add(value);
+            }
+            i = -i - 1;
+            this.ensureCapacity();
+            System.arraycopy(this.values, i, this.values, i + 1, this.cardinality - i);
+            this.values[i] = value;
+            this.cardinality++;
+            return this;
+        }
+
+        void append(char value) {
+            this.ensureCapacity();
+            this.values[this.cardinality++] = value;
+        }
+
+        @Override
+        Container remove(char value) {
+            int i = Arrays.binarySearch(this.values, 0, this.cardinality, value);
+            if (i >= 0) {
+                System.arraycopy(this.values, i + 1, this.values, i, this.cardinality - i - 1);
+                this.cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(this.values, 0, this.cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return this.cardinality;
+        }
+
+        @Override
+        int nextValue(int from) {
+            if (from > Character.MAX_VALUE) {
+                return -1;
+            }
+            int i = Arrays.binarySearch(this.values, 0, this.cardinality, (char) from);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            return i < this.cardinality ? this.values[i] : -1;
+        }
+
+        @Override
+        void forEach(IntConsumer action) {
+            for (int i = 0; i < this.cardinality; i++) {
+                action.accept(this.values[i]);
+            }
+        }
+
+        @Override
+        Container copy() {
+            ArrayContainer copy = new ArrayContainer();
+            copy.values = Arrays.copyOf(this.values, Math.max(4, this.cardinality));
+            copy.cardinality = this.cardinality;
+            return copy;
+        }
+
+        Container optimise() {
+            return this.cardinality > ARRAY_LIMIT ? BitmapContainer.from(this) : this;
+        }
+
+        private void ensureCapacity() {
+            if (this.cardinality == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.values.length * 2);
+            }
+        }
+    }
+
+    /**
+     * Stores a dense chunk as a fixed-size bitmap of 65536 bits.
+     */
+    private static class BitmapContainer extends Container {
+
+        private final long[] words = new long[1024];
+        private int cardinality;
+
+        static BitmapContainer from(Container container) {
+            BitmapContainer bitmap = new BitmapContainer();
+            container.forEach(value -> bitmap.add((char) value));
+            return bitmap;
+        }
+
+        @Override
+        Container add(char value) {
+            long mask = 1L << value;
+            if ((this.words[value >>> 6] & mask) == 0) {
+                this.words[value >>> 6] |= mask;
+                this.cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long mask = 1L << value;
+            if ((this.words[value >>> 6] & mask) != 0) {
+                this.words[value >>> 6] &= ~mask;
+                this.cardinality--;
+            }
+            return this.optimise();
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (this.words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return this.cardinality;
+        }
+
+        @Override
+        int nextValue(int from) {
+            int word = from >>> 6;
+            if (word >= this.words.length) {
+                return -1;
+            }
+            long bits = this.words[word] & (-1L << from);
+            while (true) {
+                if (bits != 0) {
+                    return (word << 6) + Long.numberOfTrailingZeros(bits);
+                }
+                if (++word == this.words.length) {
+                    return -1;
+                }
+                bits = this.words[word];
+            }
+        }
+
+        @Override
+        void forEach(IntConsumer action) {
+            for (int word = 0; word < this.words.length; word++) {
+                long bits = this.words[word];
+                while (bits != 0) {
+                    action.accept((word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            BitmapContainer copy = new BitmapContainer();
+            System.arraycopy(this.words, 0, copy.words, 0, this.words.length);
+            copy.cardinality = this.cardinality;
+            return copy;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (!(other instanceof BitmapContainer)) {
+                return super.and(other);
+            }
+            BitmapContainer result = new BitmapContainer();
+            long[] otherWords = ((BitmapContainer) other).words;
+            for (int i = 0; i < this.words.length; i++) {
+                result.words[i] = this.words[i] & otherWords[i];
+                result.cardinality += Long.bitCount(result.words[i]);
+            }
+            return result.optimise();
+        }
+
+        Container optimise() {
+            if (this.cardinality > ARRAY_LIMIT) {
+                return this;
+            }
+            ArrayContainer array = new ArrayContainer();
+            this.forEach(value -> array.append((char) value));
+            return array;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package talkie.query;
+
+import java.util.function.Supplier;
+
+import talkie.index.CompressedBitmap;
+
+/**
+ * Represents a way of finding candidate tasks for a query through one of the indexes of a task list.
+ * <p>
+ * An access path returns a superset of the tasks that match the condition it was created for, together with an
+ * estimate of how many candidates it will return. The {@link QueryPlanner} uses the estimates to choose the most
+ * selective access path for a query.
+ * </p>
+ */
+public class AccessPath {
+
+    private final String description;
+    private final int estimate;
+    private final Supplier<CompressedBitmap> lookup;
+
+    /**
+     * Constructs an {@code AccessPath}.
+     *
+     * @param description A description of the index and key used, shown by the {@code explain} command.
+     * @param estimate The estimated number of candidates the lookup returns.
+     * @param lookup Performs the lookup and returns the IDs of the candidate tasks.
+     */
+    public AccessPath(String description, int estimate, Supplier<CompressedBitmap> lookup) {
+        this.description = description;
+        this.estimate = estimate;
+        this.lookup = lookup;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    public int getEstimate() {
+        return this.estimate;
+    }
+
+    /**
+     * Performs the lookup.
+     *
+     * @return A bitmap of the IDs of the candidate tasks. The bitmap must not be modified.
+     */
+    public CompressedBitmap lookup() {
+        return this.lookup.get();
+    }
+}
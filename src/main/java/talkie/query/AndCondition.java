@@ -0,0 +1,53 @@
+package talkie.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import talkie.task.Task;
+import talkie.task.TaskIndex;
+
+/**
+ * Represents a condition that matches tasks satisfying all of its operands.
+ * <p>
+ * Any access path of any operand is also a valid access path for the conjunction, since every matching task must
+ * satisfy that operand.
+ * </p>
+ */
+public class AndCondition extends Condition {
+
+    private final List<Condition> operands;
+
+    /**
+     * Constructs an {@code AndCondition}.
+     *
+     * @param operands The conditions that must all be satisfied.
+     */
+    public AndCondition(List<Condition> operands) {
+        this.operands = operands;
+    }
+
+    @Override
+    public boolean matches(Task task) {
+        for (Condition operand : this.operands) {
+            if (!operand.matches(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public List<AccessPath> accessPaths(TaskIndex index) {
+        List<AccessPath> paths = new ArrayList<>();
+        for (Condition operand : this.operands) {
+            paths.addAll(operand.accessPaths(index));
+        }
+        return paths;
+    }
+
+    @Override
+    public String toString() {
+        return this.operands.stream().map(Condition::toString).collect(Collectors.joining(" AND ", "(", ")"));
+    }
+}
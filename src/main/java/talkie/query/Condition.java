@@ -0,0 +1,47 @@
+package talkie.query;
+
+import java.util.Collections;
+import java.util.List;
+
+import talkie.task.Task;
+import talkie.task.TaskIndex;
+
+/**
+ * Represents a node in the predicate tree of a compiled {@link Query}.
+ * <p>
+ * Every condition can test a single task. Conditions that can be answered from an index also offer one or more
+ * {@link AccessPath}s that find a superset of the matching tasks without scanning the task list.
+ * </p>
+ */
+public abstract class Condition {
+
+    /**
+     * Checks if a task satisfies this condition.
+     *
+     * @param task The task to test.
+     * @return {@code true} if the task matches; {@code false} otherwise.
+     */
+    public abstract boolean matches(Task task);
+
+    /**
+     * Returns the access paths that can find a superset of the tasks matching this condition.
+     * <p>
+     * Conditions that cannot use an index return an empty list, which forces a scan unless another part of the
+     * query provides an access path.
+     * </p>
+     *
+     * @param index The indexes of the task list being queried.
+     * @return The available access paths.
+     */
+    public List<AccessPath> accessPaths(TaskIndex index) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns the condition in query syntax, as shown by the {@code explain} command.
+     *
+     * @return A string representation of the condition.
+     */
+    @Override
+    public abstract String toString();
+}
@@ -0,0 +1,77 @@
+package talkie.query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NavigableMap;
+
+import talkie.index.CompressedBitmap;
+import talkie.task.Task;
+import talkie.task.TaskIndex;
+
+/**
+ * Represents a condition on the date of a task, such as {@code due<2024-12-01}.
+ * <p>
+ * The condition is a range of date/times with optional, inclusive or exclusive bounds, and is answered from the
+ * date index by taking the union of the bitmaps of every date in the range. Tasks without a date never match.
+ * </p>
+ */
+public class DueCondition extends Condition {
+
+    private final LocalDateTime from;
+    private final boolean isFromInclusive;
+    private final LocalDateTime to;
+    private final boolean isToInclusive;
+    private final String source;
+
+    /**
+     * Constructs a {@code DueCondition}.
+     *
+     * @param from The start of the range, or {@code null} if unbounded.
+     * @param isFromInclusive Whether the start of the range is inclusive.
+     * @param to The end of the range, or {@code null} if unbounded.
+     * @param isToInclusive Whether the end of the range is inclusive.
+     * @param source The condition as written in the query.
+     */
+    public DueCondition(LocalDateTime from, boolean isFromInclusive, LocalDateTime to, boolean isToInclusive,
+            String source) {
+        this.from = from;
+        this.isFromInclusive = isFromInclusive;
+        this.to = to;
+        this.isToInclusive = isToInclusive;
+        this.source = source;
+    }
+
+    @Override
+    public boolean matches(Task task) {
+        LocalDateTime date = task.getDate();
+        if (date == null) {
+            return false;
+        }
+        if (this.from != null && (this.isFromInclusive ? date.isBefore(this.from) : !date.isAfter(this.from))) {
+            return false;
+        }
+        return this.to == null || (this.isToInclusive ? !date.isAfter(this.to) : date.isBefore(this.to));
+    }
+
+    @Override
+    public List<AccessPath> accessPaths(TaskIndex index) {
+        NavigableMap<LocalDateTime, CompressedBitmap> range =
+                index.datesBetween(this.from, this.isFromInclusive, this.to, this.isToInclusive);
+        int estimate = 0;
+        for (CompressedBitmap bitmap : range.values()) {
+            estimate += bitmap.cardinality();
+        }
+        return List.of(new AccessPath("date index on " + this, estimate, () -> {
+            CompressedBitmap union = new CompressedBitmap();
+            for (CompressedBitmap bitmap : range.values()) {
+                bitmap.forEach(union::add);
+            }
+            return union;
+        }));
+    }
+
+    @Override
+    public String toString() {
+        return this.source;
+    }
+}
@@ -0,0 +1,32 @@
+package talkie.query;
+
+import talkie.task.Task;
+
+/**
+ * Represents a condition that matches tasks not satisfying its operand.
+ * A negation has no access path of its own, so it is evaluated as a filter on the candidates of the rest of
+ * the query.
+ */
+public class NotCondition extends Condition {
+
+    private final Condition operand;
+
+    /**
+     * Constructs a {@code NotCondition}.
+     *
+     * @param operand The condition that must not be satisfied.
+     */
+    public NotCondition(Condition operand) {
+        this.operand = operand;
+    }
+
+    @Override
+    public boolean matches(Task task) {
+        return !this.operand.matches(task);
+    }
+
+    @Override
+    public String toString() {
+        return "-" + this.operand;
+    }
+}
@@ -0,0 +1,73 @@
+package talkie.query;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import talkie.index.CompressedBitmap;
+import talkie.task.Task;
+import talkie.task.TaskIndex;
+
+/**
+ * Represents a condition that matches tasks satisfying any of its operands.
+ * <p>
+ * A disjunction can only use the indexes if every operand can, in which case the candidates are the union of the
+ * best access path of each operand.
+ * </p>
+ */
+public class OrCondition extends Condition {
+
+    private final List<Condition> operands;
+
+    /**
+     * Constructs an {@code OrCondition}.
+     *
+     * @param operands The conditions of which at least one must be satisfied.
+     */
+    public OrCondition(List<Condition> operands) {
+        this.operands = operands;
+    }
+
+    @Override
+    public boolean matches(Task task) {
+        for (Condition operand : this.operands) {
+            if (operand.matches(task)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<AccessPath> accessPaths(TaskIndex index) {
+        AccessPath[] bestPaths = new AccessPath[this.operands.size()];
+        int estimate = 0;
+        for (int i = 0; i < bestPaths.length; i++) {
+            bestPaths[i] = this.operands.get(i).accessPaths(index).stream()
+                    .min(Comparator.comparingInt(AccessPath::getEstimate))
+                    .orElse(null);
+            if (bestPaths[i] == null) {
+                return Collections.emptyList();
+            }
+            estimate += bestPaths[i].getEstimate();
+        }
+
+        String description = "union of [" + Arrays.stream(bestPaths)
+                .map(AccessPath::getDescription)
+                .collect(Collectors.joining(", ")) + "]";
+        return List.of(new AccessPath(description, estimate, () -> {
+            CompressedBitmap union = new CompressedBitmap();
+            for (AccessPath path : bestPaths) {
+                union = CompressedBitmap.or(union, path.lookup());
+            }
+            return union;
+        }));
+    }
+
+    @Override
+    public String toString() {
+        return this.operands.stream().map(Condition::toString).collect(Collectors.joining(" OR ", "(", ")"));
+    }
+}
@@ -0,0 +1,40 @@
+package talkie.query;
+
+import java.util.List;
+
+import talkie.task.Priority;
+import talkie.task.Task;
+import talkie.task.TaskIndex;
+
+/**
+ * Represents a condition that matches tasks with a given priority, such as {@code priority:high}.
+ */
+public class PriorityCondition extends Condition {
+
+    private final Priority priority;
+
+    /**
+     * Constructs a {@code PriorityCondition}.
+     *
+     * @param priority The priority of the matching tasks.
+     */
+    public PriorityCondition(Priority priority) {
+        this.priority = priority;
+    }
+
+    @Override
+    public boolean matches(Task task) {
+        return task.getPriority() == this.priority;
+    }
+
+    @Override
+    public List<AccessPath> accessPaths(TaskIndex index) {
+        return List.of(new AccessPath("priority index on " + this,
+                index.withPriority(this.priority).cardinality(), () -> index.withPriority(this.priority)));
+    }
+
+    @Override
+    public String toString() {
+        return "priority:" + this.priority.getLabel();
+    }
+}
@@ -0,0 +1,60 @@
+package talkie.query;
+
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.task.Task;
+
+/**
+ * Represents a compiled query over a task list.
+ * <p>
+ * A query such as <code>type:D done:false due&lt;2024-12-01 "quarterly report"</code> is parsed once into a tree
+ * of {@link Condition}s, which the {@link QueryPlanner} then runs against a task list. Terms separated by spaces
+ * must all match, {@code OR} matches either side, a leading {@code -} negates a term and parentheses group terms.
+ * </p>
+ * <p>
+ * The supported terms are {@code type:T|D|E|R}, {@code done:true|false}, {@code tag:name},
+ * {@code priority:level}, {@code due} followed by one of {@code : = < <= > >=} and a date in the format
+ * {@code yyyy-MM-dd} or {@code yyyy-MM-ddTHHmm}, and any other word or quoted phrase, which matches descriptions
+ * containing it, ignoring case.
+ * </p>
+ */
+public class Query {
+
+    private final String source;
+    private final Condition condition;
+
+    private Query(String source, Condition condition) {
+        this.source = source;
+        this.condition = condition;
+    }
+
+    /**
+     * Parses and compiles a query.
+     *
+     * @param source The query as typed by the user.
+     * @param command The command the query was given to, used in error messages.
+     * @return The compiled query.
+     * @throws TalkieInvalidArgumentException If the query is empty or malformed.
+     */
+    public static Query parse(String source, String command) throws TalkieInvalidArgumentException {
+        return new Query(source.trim(), new QueryParser(source, command).parse());
+    }
+
+    /**
+     * Checks if a task matches this query.
+     *
+     * @param task The task to test.
+     * @return {@code true} if the task matches; {@code false} otherwise.
+     */
+    public boolean matches(Task task) {
+        return this.condition.matches(task);
+    }
+
+    public Condition getCondition() {
+        return this.condition;
+    }
+
+    @Override
+    public String toString() {
+        return this.source;
+    }
+}
@@ -0,0 +1,246 @@
+package talkie.query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.task.Priority;
+import talkie.task.Task;
+
+/**
+ * Parses the text of a {@link Query} into a tree of {@link Condition}s by recursive descent.
+ * <p>
+ * The grammar is: {@code or := and ("OR" and)*}, {@code and := unary+} and
+ * {@code unary := "-" unary | "(" or ")" | term | "phrase"}.
+ * </p>
+ */
+class QueryParser {
+
+    private static final Pattern FIELD_TERM = Pattern.compile("(?i)(type|done|due|tag|priority)(:|<=|>=|<|>|=)(.+)");
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HHmm");
+    private static final String HINT = "Queries look like: type:D done:false due<2024-12-01 tag:work \"report\"";
+
+    private final String command;
+    private final List<String> tokens = new ArrayList<>();
+    private int position;
+
+    QueryParser(String source, String command) throws TalkieInvalidArgumentException {
+        this.command = command;
+        this.tokenize(source);
+    }
+
+    /**
+     * Parses the whole query.
+     *
+     * @return The root of the condition tree.
+     * @throws TalkieInvalidArgumentException If the query is empty or malformed.
+     */
+    Condition parse() throws TalkieInvalidArgumentException {
+        if (this.tokens.isEmpty()) {
+            throw this.error("The query cannot be empty.");
+        }
+        Condition condition = this.parseOr();
+        if (this.position < this.tokens.size()) {
+            throw this.error("Unexpected '" + this.tokens.get(this.position) + "' in the query.");
+        }
+        return condition;
+    }
+
+    private Condition parseOr() throws TalkieInvalidArgumentException {
+        List<Condition> operands = new ArrayList<>();
+        operands.add(this.parseAnd());
+        while (this.peekIs("OR")) {
+            this.position++;
+            operands.add(this.parseAnd());
+        }
+        return operands.size() == 1 ? operands.get(0) : new OrCondition(operands);
+    }
+
+    private Condition parseAnd() throws TalkieInvalidArgumentException {
+        List<Condition> operands = new ArrayList<>();
+        while (this.position < this.tokens.size() && !this.peekIs("OR") && !this.peekIs(")")) {
+            operands.add(this.parseUnary());
+        }
+        if (operands.isEmpty()) {
+            throw this.error("Every part of the query needs at least one term.");
+        }
+        return operands.size() == 1 ? operands.get(0) : new AndCondition(operands);
+    }
+
+    private Condition parseUnary() throws TalkieInvalidArgumentException {
+        String token = this.tokens.get(this.position++);
+        switch (token) {
+        case "-":
+            if (this.position == this.tokens.size()) {
+                throw this.error("'-' must be followed by a term.");
+            }
+            return new NotCondition(this.parseUnary());
+        case "(":
+            Condition condition = this.parseOr();
+            if (!this.peekIs(")")) {
+                throw this.error("Missing ')' in the query.");
+            }
+            this.position++;
+            return condition;
+        default:
+            return this.parseTerm(token);
+        }
+    }
+
+    private Condition parseTerm(String token) throws TalkieInvalidArgumentException {
+        if (token.startsWith("\"")) {
+            return new TextCondition(token.substring(1));
+        }
+
+        Matcher matcher = FIELD_TERM.matcher(token);
+        if (!matcher.matches()) {
+            return new TextCondition(token);
+        }
+
+        String field = matcher.group(1).toLowerCase();
+        String operator = matcher.group(2);
+        String value = matcher.group(3);
+        if (!field.equals("due") && !operator.equals(":") && !operator.equals("=")) {
+            throw this.error("Only 'due' can be compared with " + operator + ".");
+        }
+
+        switch (field) {
+        case "type":
+            return new TypeCondition(this.parseType(value));
+        case "done":
+            return new StatusCondition(this.parseBoolean(value));
+        case "tag":
+            String tag = Task.normaliseTag(value);
+            if (tag == null) {
+                throw this.error("Tags can only contain letters, digits, '-' and '_'");
+            }
+            return new TagCondition(tag);
+        case "priority":
+            Priority priority = Priority.fromLabel(value);
+            if (priority == null) {
+                throw this.error("A priority must be one of high, medium, low or none");
+            }
+            return new PriorityCondition(priority);
+        default:
+            return this.parseDue(operator, value, token);
+        }
+    }
+
+    private String parseType(String value) throws TalkieInvalidArgumentException {
+        switch (value.toLowerCase()) {
+        case "t":
+        case "todo":
+            return "T";
+        case "d":
+        case "deadline":
+            return "D";
+        case "e":
+        case "event":
+            return "E";
+        case "r":
+        case "recur":
+            return "R";
+        default:
+            throw this.error("A type must be one of T, D, E or R.");
+        }
+    }
+
+    private boolean parseBoolean(String value) throws TalkieInvalidArgumentException {
+        switch (value.toLowerCase()) {
+        case "true":
+        case "yes":
+            return true;
+        case "false":
+        case "no":
+            return false;
+        default:
+            throw this.error("'done' must be true or false.");
+        }
+    }
+
+    /**
+     * Parses a date comparison. A date without a time stands for the whole day, so {@code due<=2024-12-01}
+     * includes tasks due at any time on the 1st.
+     */
+    private Condition parseDue(String operator, String value, String source) throws TalkieInvalidArgumentException {
+        LocalDateTime start;
+        LocalDateTime end;
+        try {
+            if (value.contains("T")) {
+                start = LocalDateTime.parse(value, DATE_TIME_FORMATTER);
+                end = start;
+            } else {
+                start = LocalDate.parse(value).atStartOfDay();
+                end = start.plusDays(1);
+            }
+        } catch (DateTimeParseException e) {
+            throw this.error("Dates in queries must be in the format yyyy-MM-dd or yyyy-MM-ddTHHmm.");
+        }
+
+        boolean isWholeDay = !start.equals(end);
+        switch (operator) {
+        case "<":
+            return new DueCondition(null, false, start, false, source);
+        case "<=":
+            return new DueCondition(null, false, end, !isWholeDay, source);
+        case ">":
+            return new DueCondition(end, isWholeDay, null, false, source);
+        case ">=":
+            return new DueCondition(start, true, null, false, source);
+        default:
+            return new DueCondition(start, true, end, !isWholeDay, source);
+        }
+    }
+
+    /**
+     * Splits the query into tokens. Quoted phrases become a single token starting with '"', and a leading '-'
+     * becomes a token of its own.
+     */
+    private void tokenize(String source) throws TalkieInvalidArgumentException {
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                this.tokens.add(String.valueOf(c));
+                i++;
+            } else if (c == '-' && i + 1 < source.length() && !Character.isWhitespace(source.charAt(i + 1))) {
+                this.tokens.add("-");
+                i++;
+            } else if (c == '"') {
+                int end = source.indexOf('"', i + 1);
+                if (end < 0) {
+                    throw this.error("Missing closing '\"' in the query.");
+                }
+                if (end == i + 1) {
+                    throw this.error("A quoted phrase cannot be empty.");
+                }
+                this.tokens.add(source.substring(i, end));
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < source.length() && !Character.isWhitespace(source.charAt(end))
+                        && "()\"".indexOf(source.charAt(end)) < 0) {
+                    end++;
+                }
+                this.tokens.add(source.substring(i, end));
+                i = end;
+            }
+        }
+    }
+
+    private boolean peekIs(String token) {
+        return this.position < this.tokens.size() && this.tokens.get(this.position).equals(token);
+    }
+
+    private TalkieInvalidArgumentException error(String message) {
+        return new TalkieInvalidArgumentException(this.command, message + " " + HINT);
+    }
+}
@@ -0,0 +1,115 @@
+package talkie.query;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import talkie.components.Cancellation;
+import talkie.task.Task;
+import talkie.task.TaskList;
+
+/**
+ * Represents the way a {@link Query} will be run against a task list, as chosen by the {@link QueryPlanner}.
+ * <p>
+ * A plan either looks up candidates through a single {@link AccessPath} and filters them with the full query, or
+ * scans the whole list when no access path is available or selective enough.
+ * </p>
+ */
+public class QueryPlan {
+
+    private final Query query;
+    private final TaskList tasks;
+    private final AccessPath accessPath;
+    private final List<AccessPath> alternatives;
+
+    /**
+     * Constructs a {@code QueryPlan}.
+     *
+     * @param query The query to run.
+     * @param tasks The task list to run it against.
+     * @param accessPath The access path to use, or {@code null} to scan the whole list.
+     * @param alternatives The access paths that were considered but not chosen.
+     */
+    QueryPlan(Query query, TaskList tasks, AccessPath accessPath, List<AccessPath> alternatives) {
+        this.query = query;
+        this.tasks = tasks;
+        this.accessPath = accessPath;
+        this.alternatives = alternatives;
+    }
+
+    /**
+     * Runs the query and returns the matching tasks, in the order of the list.
+     *
+     * @return The tasks that match the query.
+     */
+    public List<Task> execute() {
+        return this.execute(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Runs the query and returns at most the given number of matching tasks, in the order of the list.
+     * <p>
+     * A plan that scans the whole list stops as soon as it has found enough tasks. A plan that uses an index
+     * filters every candidate with the query, since the index gives them in the order of their IDs, and then picks
+     * the matches out of the list in order, which only takes a lookup for each task.
+     * </p>
+     *
+     * @param limit The largest number of tasks to return.
+     * @return The first tasks that match the query.
+     */
+    public List<Task> execute(int limit) {
+        List<Task> matches = new ArrayList<>();
+        if (this.accessPath == null) {
+            for (int i = 1; i <= this.tasks.size() && matches.size() < limit; i++) {
+                Cancellation.check("The query");
+                Task task = this.tasks.getTask(i);
+                if (this.query.matches(task)) {
+                    matches.add(task);
+                }
+            }
+            return matches;
+        }
+
+        Set<Integer> matchingIds = new HashSet<>();
+        for (Task candidate : this.tasks.getTasksByIds(this.accessPath.lookup())) {
+            Cancellation.check("The query");
+            if (this.query.matches(candidate)) {
+                matchingIds.add(candidate.getId());
+            }
+        }
+        int count = Math.min(limit, matchingIds.size());
+        for (int i = 1; i <= this.tasks.size() && matches.size() < count; i++) {
+            Cancellation.check("The query");
+            Task task = this.tasks.getTask(i);
+            if (matchingIds.contains(task.getId())) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Describes the plan, as shown by the {@code explain} command.
+     *
+     * @return A human-readable description of the plan.
+     */
+    public String explain() {
+        StringBuilder explanation = new StringBuilder("Query: ").append(this.query.getCondition()).append("\n");
+        if (this.accessPath == null) {
+            explanation.append("Plan: full scan of ").append(this.tasks.size()).append(" tasks")
+                    .append(this.alternatives.isEmpty() ? " (no index applies)\n" : " (no index is selective)\n");
+        } else {
+            explanation.append("Plan: ").append(this.accessPath.getDescription())
+                    .append(" (about ").append(this.accessPath.getEstimate())
+                    .append(" of ").append(this.tasks.size()).append(" tasks)\n")
+                    .append("Then: filter the candidates with the full query\n");
+        }
+
+        for (AccessPath alternative : this.alternatives) {
+            explanation.append("Skipped: ").append(alternative.getDescription())
+                    .append(" (about ").append(alternative.getEstimate()).append(" tasks)\n");
+        }
+        return explanation.toString();
+    }
+}
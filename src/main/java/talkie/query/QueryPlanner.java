@@ -0,0 +1,35 @@
+package talkie.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import talkie.task.TaskList;
+
+/**
+ * Chooses how to run a {@link Query} against a task list.
+ * <p>
+ * The planner collects the access paths offered by the query's conditions and picks the one with the smallest
+ * estimated number of candidates. It only falls back to a full scan when no condition can use an index, or when
+ * the best access path would not rule out any tasks.
+ * </p>
+ */
+public class QueryPlanner {
+
+    /**
+     * Plans a query against a task list.
+     *
+     * @param query The compiled query.
+     * @param tasks The task list to run it against.
+     * @return The chosen plan.
+     */
+    public static QueryPlan plan(Query query, TaskList tasks) {
+        List<AccessPath> paths = new ArrayList<>(query.getCondition().accessPaths(tasks.getIndex()));
+        paths.sort(Comparator.comparingInt(AccessPath::getEstimate));
+
+        if (paths.isEmpty() || paths.get(0).getEstimate() >= tasks.size()) {
+            return new QueryPlan(query, tasks, null, paths);
+        }
+        return new QueryPlan(query, tasks, paths.get(0), paths.subList(1, paths.size()));
+    }
+}
@@ -0,0 +1,39 @@
+package talkie.query;
+
+import java.util.List;
+
+import talkie.task.Task;
+import talkie.task.TaskIndex;
+
+/**
+ * Represents a condition that matches tasks with a given completion status, such as {@code done:false}.
+ */
+public class StatusCondition extends Condition {
+
+    private final boolean isDone;
+
+    /**
+     * Constructs a {@code StatusCondition}.
+     *
+     * @param isDone The completion status of the matching tasks.
+     */
+    public StatusCondition(boolean isDone) {
+        this.isDone = isDone;
+    }
+
+    @Override
+    public boolean matches(Task task) {
+        return task.getStatus() == this.isDone;
+    }
+
+    @Override
+    public List<AccessPath> accessPaths(TaskIndex index) {
+        return List.of(new AccessPath("status bitmap on " + this,
+                index.countWithStatus(this.isDone), () -> index.withStatus(this.isDone)));
+    }
+
+    @Override
+    public String toString() {
+        return "done:" + this.isDone;
+    }
+}
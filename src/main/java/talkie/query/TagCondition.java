@@ -0,0 +1,39 @@
+package talkie.query;
+
+import java.util.List;
+
+import talkie.task.Task;
+import talkie.task.TaskIndex;
+
+/**
+ * Represents a condition that matches tasks with a given tag, such as {@code tag:work}.
+ */
+public class TagCondition extends Condition {
+
+    private final String tag;
+
+    /**
+     * Constructs a {@code TagCondition}.
+     *
+     * @param tag The normalised tag of the matching tasks.
+     */
+    public TagCondition(String tag) {
+        this.tag = tag;
+    }
+
+    @Override
+    public boolean matches(Task task) {
+        return task.getTags().contains(this.tag);
+    }
+
+    @Override
+    public List<AccessPath> accessPaths(TaskIndex index) {
+        return List.of(new AccessPath("tag index on " + this,
+                index.tagged(this.tag).cardinality(), () -> index.tagged(this.tag)));
+    }
+
+    @Override
+    public String toString() {
+        return "tag:" + this.tag;
+    }
+}
@@ -0,0 +1,44 @@
+package talkie.query;
+
+import java.util.Collections;
+import java.util.List;
+
+import talkie.task.Task;
+import talkie.task.TaskIndex;
+
+/**
+ * Represents a condition that matches tasks whose description contains a piece of text, ignoring case.
+ * Text of at least three characters can be looked up in the trigram index; shorter text requires a scan.
+ */
+public class TextCondition extends Condition {
+
+    private final String text;
+
+    /**
+     * Constructs a {@code TextCondition}.
+     *
+     * @param text The text the description must contain.
+     */
+    public TextCondition(String text) {
+        this.text = text;
+    }
+
+    @Override
+    public boolean matches(Task task) {
+        return task.containsWord(this.text);
+    }
+
+    @Override
+    public List<AccessPath> accessPaths(TaskIndex index) {
+        if (this.text.length() < TaskIndex.TRIGRAM_LENGTH) {
+            return Collections.emptyList();
+        }
+        return List.of(new AccessPath("text index on " + this,
+                index.estimateTextCandidates(this.text), () -> index.textCandidates(this.text)));
+    }
+
+    @Override
+    public String toString() {
+        return "\"" + this.text + "\"";
+    }
+}
@@ -0,0 +1,39 @@
+package talkie.query;
+
+import java.util.List;
+
+import talkie.task.Task;
+import talkie.task.TaskIndex;
+
+/**
+ * Represents a condition that matches tasks of one type, such as {@code type:D} for deadlines.
+ */
+public class TypeCondition extends Condition {
+
+    private final String type;
+
+    /**
+     * Constructs a {@code TypeCondition}.
+     *
+     * @param type The single-letter type code of the matching tasks.
+     */
+    public TypeCondition(String type) {
+        this.type = type;
+    }
+
+    @Override
+    public boolean matches(Task task) {
+        return task.getType().equals(this.type);
+    }
+
+    @Override
+    public List<AccessPath> accessPaths(TaskIndex index) {
+        return List.of(new AccessPath("type index on " + this,
+                index.ofType(this.type).cardinality(), () -> index.ofType(this.type)));
+    }
+
+    @Override
+    public String toString() {
+        return "type:" + this.type;
+    }
+}
@@ -0,0 +1,111 @@
+package talkie.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the JSON used by the HTTP API straight to an output, without building documents in memory.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Writes a string as a JSON string literal, escaping quotes, backslashes and control characters.
+     *
+     * @param out The output to write to.
+     * @param text The string to write.
+     * @throws IOException If the output cannot be written to.
+     */
+    static void writeString(Appendable out, String text) throws IOException {
+        out.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case '"':
+                out.append("\\\"");
+                break;
+            case '\\':
+                out.append("\\\\");
+                break;
+            case '\n':
+                out.append("\\n");
+                break;
+            case '\r':
+                out.append("\\r");
+                break;
+            case '\t':
+                out.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    out.append(String.format("\\u%04x", (int) c));
+                } else {
+                    out.append(c);
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Writes a task as a JSON object.
+     * <p>
+     * The object holds the task's stable ID, by which the API refers to it, type code, status, description, date,
+     * priority and tags, and the text shown for the task by the {@code list} command.
+     * </p>
+     *
+     * @param out The output to write to.
+     * @param task A snapshot of the task.
+     * @throws IOException If the output cannot be written to.
+     */
+    static void writeTask(Appendable out, TaskSnapshot task) throws IOException {
+        out.append("{\"id\":").append(Integer.toString(task.getId()));
+        out.append(",\"type\":");
+        writeString(out, task.getType());
+        out.append(",\"done\":").append(Boolean.toString(task.isDone()));
+        out.append(",\"description\":");
+        writeString(out, task.getDescription());
+        out.append(",\"date\":");
+        if (task.getDate() == null) {
+            out.append("null");
+        } else {
+            writeString(out, task.getDate().toString());
+        }
+        out.append(",\"priority\":");
+        writeString(out, task.getPriority());
+        out.append(",\"tags\":[");
+        boolean isFirst = true;
+        for (String tag : task.getTags()) {
+            if (!isFirst) {
+                out.append(',');
+            }
+            writeString(out, tag);
+            isFirst = false;
+        }
+        out.append("],\"text\":");
+        writeString(out, task.getText());
+        out.append('}');
+    }
+
+    /**
+     * Returns a JSON object with a single string field.
+     *
+     * @param name The name of the field.
+     * @param value The value of the field.
+     * @return The JSON object.
+     */
+    static String object(String name, String value) {
+        StringBuilder json = new StringBuilder("{");
+        try {
+            writeString(json, name);
+            json.append(':');
+            writeString(json, value);
+        } catch (IOException e) {
+            // A StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return json.append('}').toString();
+    }
+}
@@ -0,0 +1,442 @@
+package talkie.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+
+import talkie.CommandExecutor;
+import talkie.Talkie;
+import talkie.components.Ui;
+import talkie.exception.TalkieException;
+
+/**
+ * Lets many terminal users share one task list over TCP, using the same command lines as the command line app.
+ * <p>
+ * Each line a client sends is run as a command, and the response is sent back followed by a blank line, as in the
+ * terminal. {@code bye} saves the task list and closes the connection. Clients may send many lines without waiting
+ * for responses; the commands run in the order received, and their responses come back in the same order.
+ * </p>
+ * <p>
+ * The line {@code user <id>} switches the connection to that user's own task list, kept by a
+ * {@link SessionManager}, instead of the shared one. Users' changes are saved when they say {@code bye}, when they
+ * disconnect, when their tasks are forgotten to stay within the memory budget, and when the server stops.
+ * </p>
+ * <p>
+ * All connections are served by one thread running a {@link Selector} loop, which never blocks on a client.
+ * Commands run on a single {@link CommandExecutor} thread, as in the GUI, and their responses are handed back to
+ * the loop to be written. A connection only holds its unfinished line and unsent responses, so idle connections
+ * cost a few hundred bytes each. A client that sends commands faster than it reads their responses stops being
+ * read from once too many of its commands or too much of its output is waiting, so it can only slow itself down.
+ * Lines already read when too many commands are waiting are kept with the connection and run as earlier commands
+ * respond.
+ * </p>
+ */
+public class LineServer {
+
+    /** The port the server listens on when none is given. */
+    public static final int DEFAULT_PORT = 7070;
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_LINE_LENGTH = 1 << 16;
+    private static final int MAX_PENDING_COMMANDS = 32;
+    private static final long MAX_PENDING_OUTPUT = 1 << 20;
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private static final String USER_KEYWORD = "user ";
+
+    private final Talkie talkie;
+    private final CommandExecutor<String> commands;
+    private final SessionManager sessions;
+    private final Selector selector;
+    private final ServerSocketChannel channel;
+    private final Queue<Runnable> responses = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private final Thread loop = new Thread(this::run, "talkie-line-server");
+    private volatile boolean isRunning = true;
+
+    /**
+     * Constructs a {@code LineServer} that runs commands against a {@code Talkie} and listens on a port.
+     *
+     * @param talkie The Talkie instance whose tasks are shared.
+     * @param port The port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be listened on.
+     */
+    public LineServer(Talkie talkie, int port) throws IOException {
+        this(talkie, SessionManager.fromSystemProperties(), port);
+    }
+
+    /**
+     * Constructs a {@code LineServer} that runs commands against a {@code Talkie}, or against the task lists of the
+     * users kept by a {@code SessionManager}, and listens on a port.
+     *
+     * @param talkie The Talkie instance whose tasks are shared by clients that do not name a user.
+     * @param sessions The task lists of named users.
+     * @param port The port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be listened on.
+     */
+    public LineServer(Talkie talkie, SessionManager sessions, int port) throws IOException {
+        this.talkie = talkie;
+        this.commands = new CommandExecutor<>();
+        this.sessions = sessions;
+        this.selector = Selector.open();
+        this.channel = ServerSocketChannel.open();
+        this.channel.bind(new InetSocketAddress(port));
+        this.channel.configureBlocking(false);
+        this.channel.register(this.selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Starts accepting connections in the background.
+     */
+    public void start() {
+        this.loop.start();
+    }
+
+    /**
+     * Closes every connection, saves the shared tasks and the users' tasks that have changed, and stops the server.
+     *
+     * @throws InterruptedException If interrupted while waiting for the server to stop.
+     * @throws IOException If a user's tasks cannot be saved.
+     */
+    public void stop() throws InterruptedException, IOException {
+        this.isRunning = false;
+        this.selector.wakeup();
+        this.loop.join();
+        try {
+            this.commands.run(() -> {
+                try {
+                    this.talkie.saveIfChanged();
+                    this.sessions.saveAll();
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).get();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            this.commands.shutdown();
+        }
+    }
+
+    public int getPort() {
+        return this.channel.socket().getLocalPort();
+    }
+
+    private void run() {
+        try {
+            while (this.isRunning) {
+                this.selector.select();
+                Runnable response;
+                while ((response = this.responses.poll()) != null) {
+                    response.run();
+                }
+
+                Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    this.handle(key);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Oops! The line server stopped: " + e.getMessage());
+        } finally {
+            for (SelectionKey key : this.selector.keys()) {
+                closeQuietly(key);
+            }
+            closeQuietly(this.selector);
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        try {
+            if (key.isValid() && key.isAcceptable()) {
+                this.accept();
+                return;
+            }
+            Connection connection = (Connection) key.attachment();
+            if (key.isValid() && key.isReadable()) {
+                connection.read();
+            }
+            if (key.isValid() && key.isWritable()) {
+                connection.write();
+            }
+        } catch (IOException e) {
+            if (key.attachment() instanceof Connection) {
+                ((Connection) key.attachment()).closeAndSave();
+            } else {
+                closeQuietly(key);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel socket = this.channel.accept();
+        if (socket == null) {
+            return;
+        }
+        socket.configureBlocking(false);
+        SelectionKey key = socket.register(this.selector, SelectionKey.OP_READ);
+        key.attach(new Connection(socket, key));
+    }
+
+    /**
+     * Runs a command on the command thread, against a user's tasks if a user is named, loading them if needed.
+     *
+     * @param user The ID of the user, or {@code null} to use the shared tasks.
+     * @param input The command, or {@code null} to only load the user's tasks and greet them.
+     * @param ui The UI component of the connection.
+     */
+    private String respond(String user, String input, Ui ui) {
+        try {
+            Talkie talkie = user == null ? this.talkie : this.sessions.get(user);
+            if (input == null) {
+                return "Hi " + user + "! You are now using your own task list.\n";
+            }
+            String response = talkie.getResponse(input, ui);
+            // The listed tasks are only shown by the GUI's table, so a connection does not hold on to them
+            ui.setListedTasks(null);
+            return response;
+        } catch (TalkieException e) {
+            return e.toString();
+        } catch (IOException e) {
+            return "Oops! Something went wrong when loading your tasks: " + e.getMessage() + "\n";
+        }
+    }
+
+    /**
+     * Saves a user's tasks, or the shared tasks if no user is named, on the command thread if they have changed.
+     */
+    private Void save(String user) {
+        try {
+            if (user == null) {
+                this.talkie.saveIfChanged();
+            } else {
+                this.sessions.save(user);
+            }
+        } catch (IOException e) {
+            System.err.println("Oops! Something went wrong when saving the tasks: " + e.getMessage());
+        }
+        return null;
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        closeQuietly(key.channel());
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Nothing more can be done with a connection that cannot be closed.
+        }
+    }
+
+    /**
+     * The state of one client connection, which is only used by the selector loop.
+     * <p>
+     * Each connection has its own {@link Ui}, which is only used by the commands of the connection on the command
+     * thread, so that one client's paging and listed tasks never leak into another's. Switching to a user starts
+     * afresh with a new one.
+     * </p>
+     */
+    private final class Connection {
+        private final SocketChannel socket;
+        private final SelectionKey key;
+        private final ArrayDeque<ByteBuffer> output = new ArrayDeque<>(2);
+        private byte[] line = NO_BYTES;
+        private ByteBuffer unread;
+        private int lineLength;
+        private String user;
+        private Ui ui = new Ui();
+        private int pendingCommands;
+        private long pendingOutput;
+        private boolean isClosing;
+
+        private Connection(SocketChannel socket, SelectionKey key) {
+            this.socket = socket;
+            this.key = key;
+        }
+
+        /**
+         * Reads what the client has sent, and runs every complete line as a command. Once too many of the client's
+         * commands are waiting, the rest of what was read is kept to be run when some of them have responded.
+         */
+        private void read() throws IOException {
+            ByteBuffer buffer = LineServer.this.readBuffer;
+            buffer.clear();
+            if (this.socket.read(buffer) < 0) {
+                this.closeAndSave();
+                return;
+            }
+
+            buffer.flip();
+            this.runLines(buffer);
+            if (buffer.hasRemaining() && !this.isClosing) {
+                this.unread = ByteBuffer.allocate(buffer.remaining()).put(buffer).flip();
+            }
+            this.updateInterest();
+        }
+
+        /**
+         * Runs the lines that were read but kept while too many commands were waiting, now that fewer are.
+         */
+        private void resume() {
+            if (this.unread == null || !this.key.isValid() || this.pendingCommands == MAX_PENDING_COMMANDS) {
+                return;
+            }
+            this.runLines(this.unread);
+            if (!this.unread.hasRemaining() || this.isClosing) {
+                this.unread = null;
+            }
+            this.updateInterest();
+        }
+
+        /**
+         * Runs every complete line in some bytes read from the client, stopping early if the connection is closing
+         * or too many commands are waiting.
+         */
+        private void runLines(ByteBuffer buffer) {
+            while (buffer.hasRemaining() && !this.isClosing && this.pendingCommands < MAX_PENDING_COMMANDS) {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    this.submit(new String(this.line, 0, this.lineLength, StandardCharsets.UTF_8).strip());
+                    this.lineLength = 0;
+                } else if (this.lineLength == MAX_LINE_LENGTH) {
+                    this.isClosing = true;
+                    this.queue(LineServer.this.commands.run(() -> "Oops! That line is too long.\n"), true);
+                } else {
+                    if (this.lineLength == this.line.length) {
+                        this.line = Arrays.copyOf(this.line, Math.max(64, this.line.length * 2));
+                    }
+                    this.line[this.lineLength++] = b;
+                }
+            }
+            if (this.lineLength == 0) {
+                this.line = NO_BYTES;
+            }
+        }
+
+        /**
+         * Closes a connection that the client has left without saying {@code bye}, and saves the tasks it was
+         * using once its commands have run.
+         */
+        private void closeAndSave() {
+            closeQuietly(this.key);
+            String user = this.user;
+            LineServer.this.commands.run(() -> LineServer.this.save(user));
+        }
+
+        private void submit(String input) {
+            if (input.isEmpty()) {
+                return;
+            }
+
+            if (input.startsWith(USER_KEYWORD)) {
+                String user = input.substring(USER_KEYWORD.length()).strip();
+                this.user = user;
+                this.ui = new Ui();
+                Ui ui = this.ui;
+                this.queue(LineServer.this.commands.run(() -> LineServer.this.respond(user, null, ui)), false);
+                return;
+            }
+
+            boolean isBye = input.equalsIgnoreCase("bye");
+            this.isClosing = isBye;
+            String user = this.user;
+            Ui ui = this.ui;
+            this.queue(LineServer.this.commands.run(() -> LineServer.this.respond(user, input, ui)), isBye);
+        }
+
+        /**
+         * Hands the response to a command back to the selector loop once the command thread has worked it out.
+         * Since the command thread runs one command at a time, responses are handed back in the order queued.
+         */
+        private void queue(CompletableFuture<String> response, boolean isLast) {
+            this.pendingCommands++;
+            response.whenComplete((text, error) -> {
+                String reply = error == null ? text : "Oops! Something went wrong: " + error.getMessage() + "\n";
+                LineServer.this.responses.add(() -> {
+                    this.pendingCommands--;
+                    this.respond(reply, isLast);
+                    this.resume();
+                });
+                LineServer.this.selector.wakeup();
+            });
+        }
+
+        /**
+         * Queues a response to be written, and writes as much of it as the client can take now.
+         */
+        private void respond(String text, boolean isLast) {
+            if (!this.key.isValid()) {
+                return;
+            }
+
+            ByteBuffer bytes = ByteBuffer.wrap((text + "\n").getBytes(StandardCharsets.UTF_8));
+            this.output.add(bytes);
+            this.pendingOutput += bytes.remaining();
+            this.isClosing |= isLast;
+            try {
+                this.write();
+            } catch (IOException e) {
+                closeQuietly(this.key);
+            }
+        }
+
+        /**
+         * Writes queued responses until they are all written or the client's socket buffer is full.
+         */
+        private void write() throws IOException {
+            while (!this.output.isEmpty()) {
+                ByteBuffer bytes = this.output.peek();
+                int written = this.socket.write(bytes);
+                this.pendingOutput -= written;
+                if (bytes.hasRemaining()) {
+                    break;
+                }
+                this.output.poll();
+            }
+
+            if (this.output.isEmpty() && this.isClosing && this.pendingCommands == 0) {
+                closeQuietly(this.key);
+                return;
+            }
+            this.updateInterest();
+        }
+
+        /**
+         * Reads from the client only while it has few commands and little output waiting, and nothing kept from
+         * earlier reads, and asks to be told when more output can be written only while there is output waiting.
+         */
+        private void updateInterest() {
+            if (!this.key.isValid()) {
+                return;
+            }
+            int interest = 0;
+            if (!this.isClosing && this.unread == null && this.pendingCommands < MAX_PENDING_COMMANDS
+                    && this.pendingOutput < MAX_PENDING_OUTPUT) {
+                interest |= SelectionKey.OP_READ;
+            }
+            if (!this.output.isEmpty()) {
+                interest |= SelectionKey.OP_WRITE;
+            }
+            this.key.interestOps(interest);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package talkie.server;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import talkie.Talkie;
+import talkie.exception.TalkieInvalidArgumentException;
+
+/**
+ * Keeps a separate task list for each user of a server, loading each one when it is first needed.
+ * <p>
+ * Each user's tasks are stored in their own file, named after the user, in the users directory. A user's
+ * {@link Talkie} is created and its tasks loaded the first time the user is asked for. If several threads ask for
+ * the same user while the tasks are loading, they all wait for the one load instead of loading the file again.
+ * </p>
+ * <p>
+ * The number of tasks held in memory is limited by a budget, set with the {@value #BUDGET_PROPERTY} system
+ * property. When a load takes the total over the budget, the users who were asked for least recently are forgotten
+ * until it is back under the budget, and their tasks are saved first if they have changed. The user just loaded is
+ * always kept, even if their tasks alone are over the budget.
+ * </p>
+ * <p>
+ * The manager itself can be used from any thread, but a {@code Talkie} it returns is not thread-safe. The servers
+ * only use sessions on their command thread.
+ * </p>
+ */
+public class SessionManager {
+
+    /** The system property that sets the number of tasks kept in memory across all users. */
+    public static final String BUDGET_PROPERTY = "talkie.sessions.budget";
+
+    /** The number of tasks kept in memory when no budget is configured. */
+    public static final int DEFAULT_BUDGET = 200_000;
+
+    private static final Path DEFAULT_DIRECTORY = Paths.get("./data/users");
+    private static final String USER_PATTERN = "[A-Za-z0-9_-]{1,64}";
+
+    private final Path directory;
+    private final long budget;
+    private final LinkedHashMap<String, CompletableFuture<Talkie>> sessions = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Constructs a {@code SessionManager} that keeps users' tasks in a directory, within a budget.
+     *
+     * @param directory The directory holding a file of tasks for each user.
+     * @param budget The number of tasks kept in memory across all users.
+     */
+    public SessionManager(Path directory, long budget) {
+        this.directory = directory;
+        this.budget = budget;
+    }
+
+    /**
+     * Creates a {@code SessionManager} with the configured budget, keeping tasks in the default users directory.
+     *
+     * @return The session manager.
+     */
+    public static SessionManager fromSystemProperties() {
+        return new SessionManager(DEFAULT_DIRECTORY, Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET));
+    }
+
+    /**
+     * Returns the {@code Talkie} holding a user's tasks, loading them if they are not in memory.
+     *
+     * @param user The ID of the user, made of letters, digits, {@code _} and {@code -}.
+     * @return The user's Talkie instance.
+     * @throws TalkieInvalidArgumentException If the user ID is not valid.
+     * @throws IOException If the users directory cannot be created.
+     */
+    public Talkie get(String user) throws TalkieInvalidArgumentException, IOException {
+        if (!user.matches(USER_PATTERN)) {
+            throw new TalkieInvalidArgumentException("user",
+                    "A user ID is made of up to 64 letters, digits, '_' and '-'.");
+        }
+
+        CompletableFuture<Talkie> session;
+        boolean isLoader = false;
+        synchronized (this) {
+            session = this.sessions.get(user);
+            if (session == null) {
+                session = new CompletableFuture<>();
+                this.sessions.put(user, session);
+                isLoader = true;
+            }
+        }
+        if (!isLoader) {
+            try {
+                return session.join();
+            } catch (CompletionException e) {
+                throw new IOException("Could not load the tasks of " + user, e.getCause());
+            }
+        }
+
+        try {
+            Files.createDirectories(this.directory);
+            Talkie talkie = new Talkie(this.directory.resolve(user + ".txt").toString());
+            talkie.loadTasks(fraction -> { });
+            session.complete(talkie);
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                this.sessions.remove(user);
+            }
+            session.completeExceptionally(e);
+            throw e;
+        }
+        this.evict(user);
+        return session.join();
+    }
+
+    /**
+     * Returns the number of users whose tasks are in memory or being loaded.
+     *
+     * @return The number of sessions.
+     */
+    public synchronized int size() {
+        return this.sessions.size();
+    }
+
+    /**
+     * Saves the tasks of every user that have changed, keeping them in memory.
+     *
+     * @throws IOException If a user's tasks cannot be saved.
+     */
+    public void saveAll() throws IOException {
+        for (Talkie talkie : this.loaded()) {
+            talkie.saveIfChanged();
+        }
+    }
+
+    /**
+     * Saves a user's tasks if they are in memory and have changed, without loading them or marking them as recently
+     * used.
+     *
+     * @param user The ID of the user.
+     * @throws IOException If the user's tasks cannot be saved.
+     */
+    public void save(String user) throws IOException {
+        Talkie talkie = this.loaded(user);
+        if (talkie != null) {
+            talkie.saveIfChanged();
+        }
+    }
+
+    /**
+     * Forgets the least recently used sessions, other than the given user's, while the loaded tasks are over budget.
+     * <p>
+     * Changed tasks are saved while the sessions are locked, so a user who is asked for again straight away is only
+     * loaded once their tasks have been saved. A session whose tasks cannot be saved is kept.
+     * </p>
+     */
+    private synchronized void evict(String keep) throws IOException {
+        long total = 0;
+        for (Talkie talkie : this.loaded()) {
+            total += talkie.getLoadedTaskCount();
+        }
+
+        IOException failure = null;
+        Iterator<Map.Entry<String, CompletableFuture<Talkie>>> eldest = this.sessions.entrySet().iterator();
+        while (total > this.budget && eldest.hasNext()) {
+            Map.Entry<String, CompletableFuture<Talkie>> entry = eldest.next();
+            if (entry.getKey().equals(keep) || !entry.getValue().isDone()) {
+                continue;
+            }
+            Talkie talkie = entry.getValue().join();
+            try {
+                talkie.saveIfChanged();
+            } catch (IOException e) {
+                failure = failure == null ? e : failure;
+                continue;
+            }
+            total -= talkie.getLoadedTaskCount();
+            eldest.remove();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns a user's session if it has finished loading, looking for it without making it the most recently used.
+     */
+    private synchronized Talkie loaded(String user) {
+        for (Map.Entry<String, CompletableFuture<Talkie>> entry : this.sessions.entrySet()) {
+            CompletableFuture<Talkie> session = entry.getValue();
+            if (entry.getKey().equals(user) && session.isDone() && !session.isCompletedExceptionally()) {
+                return session.join();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the sessions that have finished loading.
+     */
+    private synchronized List<Talkie> loaded() {
+        List<Talkie> loaded = new ArrayList<>();
+        for (CompletableFuture<Talkie> session : this.sessions.values()) {
+            if (session.isDone() && !session.isCompletedExceptionally()) {
+                loaded.add(session.join());
+            }
+        }
+        return loaded;
+    }
+}
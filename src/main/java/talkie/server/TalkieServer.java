@@ -0,0 +1,348 @@
+package talkie.server;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import talkie.CommandExecutor;
+import talkie.Talkie;
+import talkie.exception.TalkieException;
+import talkie.task.Task;
+
+/**
+ * Serves the task list of a {@link Talkie} as a JSON API over HTTP, so that scripts and dashboards can share it.
+ * <p>
+ * The API has these endpoints:
+ * </p>
+ * <ul>
+ *     <li>{@code GET /tasks} lists every task, and {@code GET /tasks?q=<query>} the tasks matching a
+ *     {@code find} query.</li>
+ *     <li>{@code POST /tasks} adds a task, given a {@code todo}, {@code deadline}, {@code event} or {@code recur}
+ *     command as the request body.</li>
+ *     <li>{@code POST /tasks/<id>/mark} and {@code POST /tasks/<id>/unmark} mark a task as done or not
+ *     done.</li>
+ *     <li>{@code DELETE /tasks/<id>} deletes a task.</li>
+ * </ul>
+ * <p>
+ * Tasks are referred to by their stable IDs, which are listed with every task, so a client can act on a task it
+ * listed or found even after other clients have changed the list. Changes are made by running the same commands
+ * as the command line, and are saved before the response is sent. A command that fails responds with status 400
+ * and its message, a task ID that is not in the list with status 404, and a task that is already in the list,
+ * which is skipped, with status 409.
+ * </p>
+ * <p>
+ * A request with an {@value #USER_HEADER} header uses that user's own task list, kept by a {@link SessionManager},
+ * instead of the shared one.
+ * </p>
+ * <p>
+ * Requests are accepted by a pool of threads, and connections are kept alive between requests. The work of each
+ * request is handed to a single {@link CommandExecutor} thread, as in the GUI, so the task list is only ever used
+ * by one thread. Task lists are turned into JSON on that thread in chunks, which are streamed to the client from
+ * the request thread, so a long list is never built up as one string and a slow client never holds up the
+ * commands of others.
+ * </p>
+ */
+public class TalkieServer {
+
+    /** The port the server listens on when none is given. */
+    public static final int DEFAULT_PORT = 8080;
+
+    /** The request header that names the user whose task list is used. */
+    public static final String USER_HEADER = "X-Talkie-User";
+
+    private static final int REQUEST_THREADS = 16;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+    private static final List<String> ADD_COMMANDS = List.of("todo", "deadline", "event", "recur");
+
+    private final Talkie talkie;
+    private final SessionManager sessions;
+    private final HttpServer server;
+    private final ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+    private final CommandExecutor<String> commands;
+
+    /**
+     * Constructs a {@code TalkieServer} that serves the tasks of a {@code Talkie} on a port.
+     *
+     * @param talkie The Talkie instance whose tasks are served.
+     * @param port The port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be listened on.
+     */
+    public TalkieServer(Talkie talkie, int port) throws IOException {
+        this(talkie, SessionManager.fromSystemProperties(), port);
+    }
+
+    /**
+     * Constructs a {@code TalkieServer} that serves the tasks of a {@code Talkie}, and of the users kept by a
+     * {@code SessionManager}, on a port.
+     *
+     * @param talkie The Talkie instance whose tasks are served when no user is named.
+     * @param sessions The task lists of named users.
+     * @param port The port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be listened on.
+     */
+    public TalkieServer(Talkie talkie, SessionManager sessions, int port) throws IOException {
+        this.talkie = talkie;
+        this.sessions = sessions;
+        this.commands = new CommandExecutor<>();
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.createContext("/tasks", this::handle);
+        this.server.setExecutor(this.requestThreads);
+    }
+
+    /**
+     * Starts accepting requests in the background.
+     */
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Stops accepting requests, and stops the threads of the server once the requests being handled are done.
+     */
+    public void stop() {
+        this.server.stop(0);
+        this.requestThreads.shutdown();
+        this.commands.shutdown();
+    }
+
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).trim();
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            if (path.length == 2 && method.equals("GET")) {
+                this.listTasks(exchange, queryParameter(exchange, "q"));
+            } else if (path.length == 2 && method.equals("POST")) {
+                this.addTask(exchange, body);
+            } else if (path.length == 3 && isId(path[2]) && method.equals("DELETE")) {
+                this.changeTask(exchange, Integer.parseInt(path[2]), "delete");
+            } else if (path.length == 4 && isId(path[2]) && method.equals("POST")
+                    && (path[3].equals("mark") || path[3].equals("unmark"))) {
+                this.changeTask(exchange, Integer.parseInt(path[2]), path[3]);
+            } else {
+                sendJson(exchange, 404, Json.object("error", "There is no such endpoint."));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void addTask(HttpExchange exchange, String body) throws IOException {
+        String keyword = body.split("\\s+", 2)[0].toLowerCase();
+        if (!ADD_COMMANDS.contains(keyword)) {
+            sendJson(exchange, 400, Json.object("error",
+                    "The request body should be a todo, deadline, event or recur command."));
+            return;
+        }
+        this.runCommand(exchange, user -> {
+            int count = user.getTasks().size();
+            String message = user.runAndSave(body).trim();
+            // A task that is already in the list is skipped rather than added
+            return new Reply(user.getTasks().size() > count ? 201 : 409, Json.object("message", message));
+        });
+    }
+
+    /**
+     * Runs a command on the task with the given ID, such as {@code mark}, and responds with its message.
+     * <p>
+     * The command line refers to tasks by position, so the task's position is looked up on the command thread
+     * just before the command is run there, and always matches the list the command is run on.
+     * </p>
+     *
+     * @param exchange The request to respond to.
+     * @param id The ID of the task.
+     * @param command The command word.
+     * @throws IOException If the response cannot be sent.
+     */
+    private void changeTask(HttpExchange exchange, int id, String command) throws IOException {
+        this.runCommand(exchange, user -> {
+            int position = positionOf(user.getTasks(), id);
+            if (position == 0) {
+                return new Reply(404, Json.object("error", "There is no task with ID " + id + "."));
+            }
+            return new Reply(200, Json.object("message", user.runAndSave(command + " " + position).trim()));
+        });
+    }
+
+    /**
+     * Runs a command that changes the task list, and responds with its message.
+     *
+     * @param exchange The request to respond to.
+     * @param change Runs the command on the command thread, and returns the reply if it succeeds.
+     * @throws IOException If the response cannot be sent.
+     */
+    private void runCommand(HttpExchange exchange, Change change) throws IOException {
+        Reply reply = this.await(() -> {
+            try {
+                return change.apply(this.talkieFor(exchange));
+            } catch (TalkieException e) {
+                return new Reply(400, Json.object("error", e.toString().trim()));
+            } catch (IOException e) {
+                String message = "Oops! Something went wrong when saving: " + e.getMessage();
+                return new Reply(500, Json.object("error", message));
+            }
+        });
+        sendJson(exchange, reply.status, reply.json);
+    }
+
+    /**
+     * Returns the 1-based position of the task with the given ID, or 0 if there is none, by looking through the
+     * list.
+     */
+    private static int positionOf(List<Task> tasks, int id) {
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i).getId() == id) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Responds with the tasks in the list, or the tasks matching a query, as a JSON array.
+     * <p>
+     * The tasks to list are picked, and a {@link TaskSnapshot} taken of each, in one step on the command thread, so
+     * the response shows the list as it was at one point even if other commands change it while it is being
+     * written. The snapshots are then written to the client as JSON from the request thread, so the command thread
+     * never waits for a slow client and the whole array is never built up as one string.
+     * </p>
+     *
+     * @param exchange The request to respond to.
+     * @param query The query, or {@code null} to list every task.
+     * @throws IOException If the response cannot be sent.
+     */
+    private void listTasks(HttpExchange exchange, String query) throws IOException {
+        Listing listing = this.await(() -> {
+            try {
+                Talkie user = this.talkieFor(exchange);
+                return new Listing(TaskSnapshot.of(query == null ? user.getTasks()
+                        : user.findTasks(query, Integer.MAX_VALUE)), null);
+            } catch (TalkieException e) {
+                return new Listing(null, e.toString().trim());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (listing.error != null) {
+            sendJson(exchange, 400, Json.object("error", listing.error));
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(200, 0);
+        Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8),
+                OUTPUT_BUFFER_SIZE);
+        out.write('[');
+        boolean isFirst = true;
+        for (TaskSnapshot task : listing.tasks) {
+            if (!isFirst) {
+                out.write(',');
+            }
+            Json.writeTask(out, task);
+            isFirst = false;
+        }
+        out.write(']');
+        out.flush();
+    }
+
+    /**
+     * Returns the Talkie instance of the user named by the request, or the shared one if no user is named.
+     */
+    private Talkie talkieFor(HttpExchange exchange) throws TalkieException, IOException {
+        String user = exchange.getRequestHeaders().getFirst(USER_HEADER);
+        return user == null ? this.talkie : this.sessions.get(user);
+    }
+
+    /**
+     * Runs work on the command thread and waits for its result.
+     */
+    private <T> T await(Supplier<T> work) throws IOException {
+        try {
+            return this.commands.run(work).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the command thread", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static boolean isId(String segment) {
+        return segment.matches("\\d{1,9}");
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0 && pair.substring(0, equals).equals(name)) {
+                return URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Holds the status and JSON body of a response worked out on the command thread.
+     */
+    private static class Reply {
+        private final int status;
+        private final String json;
+
+        Reply(int status, String json) {
+            this.status = status;
+            this.json = json;
+        }
+    }
+
+    /**
+     * Holds snapshots of the tasks to list, taken on the command thread, or the error if the query is not valid.
+     */
+    private static class Listing {
+        private final List<TaskSnapshot> tasks;
+        private final String error;
+
+        Listing(List<TaskSnapshot> tasks, String error) {
+            this.tasks = tasks;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Runs a command for a request on the command thread.
+     */
+    private interface Change {
+        Reply apply(Talkie user) throws TalkieException, IOException;
+    }
+}
@@ -0,0 +1,85 @@
+package talkie.server;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import talkie.task.Task;
+
+/**
+ * Represents the values of a task sent to a client, as they were when the snapshot was taken.
+ * <p>
+ * Tasks are only read and changed on the command thread, so snapshots are taken there, in the same step that picks
+ * the tasks to send, and turned into JSON on the thread handling the request. A snapshot is plain data that never
+ * changes, so a response shows the list exactly as it was at one point, however many commands run while it is
+ * being written.
+ * </p>
+ */
+final class TaskSnapshot {
+
+    private final int id;
+    private final String type;
+    private final boolean isDone;
+    private final String description;
+    private final LocalDateTime date;
+    private final String priority;
+    private final List<String> tags;
+    private final String text;
+
+    private TaskSnapshot(Task task) {
+        this.id = task.getId();
+        this.type = task.getType();
+        this.isDone = task.getStatus();
+        this.description = task.getDesc();
+        this.date = task.getDate();
+        this.priority = task.getPriority().getLabel();
+        this.tags = List.copyOf(task.getTags());
+        this.text = task.toString();
+    }
+
+    /**
+     * Takes snapshots of some tasks. This must be called on the thread that runs commands.
+     *
+     * @param tasks The tasks.
+     * @return A snapshot of each task, in the same order.
+     */
+    static List<TaskSnapshot> of(List<Task> tasks) {
+        List<TaskSnapshot> snapshots = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            snapshots.add(new TaskSnapshot(task));
+        }
+        return snapshots;
+    }
+
+    int getId() {
+        return this.id;
+    }
+
+    String getType() {
+        return this.type;
+    }
+
+    boolean isDone() {
+        return this.isDone;
+    }
+
+    String getDescription() {
+        return this.description;
+    }
+
+    LocalDateTime getDate() {
+        return this.date;
+    }
+
+    String getPriority() {
+        return this.priority;
+    }
+
+    List<String> getTags() {
+        return this.tags;
+    }
+
+    String getText() {
+        return this.text;
+    }
+}
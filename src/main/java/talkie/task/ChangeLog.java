@@ -0,0 +1,131 @@
+package talkie.task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Keeps the latest changes made to a {@link TaskList}, so that a client that has seen the list up to some point
+ * can be sent only what has changed since.
+ * <p>
+ * Changes are numbered with sync sequence numbers, which are the list's version plus a base taken from the clock
+ * when the log is started. So a sequence number from before Talkie was restarted, or before the list was reloaded,
+ * is older than anything in the new log, and the client is sent the whole list instead of wrong changes.
+ * </p>
+ * <p>
+ * The log holds at most a fixed number of changes, set with the {@value #CAPACITY_PROPERTY} system property, in a
+ * ring buffer. A client that is further behind than that is sent the whole list.
+ * </p>
+ */
+public class ChangeLog implements TaskListListener {
+
+    /** The system property that sets the number of changes kept. */
+    public static final String CAPACITY_PROPERTY = "talkie.changelog.capacity";
+
+    /** The number of changes kept when no capacity is configured. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    // Leaves room for a million changes per millisecond between starts before sequence numbers could overlap
+    private static final int CLOCK_SHIFT = 20;
+
+    private final TaskList tasks;
+    private final long base;
+    private final TaskChange[] changes;
+    private int start;
+    private int size;
+    private long oldestVersion;
+
+    /**
+     * Constructs a {@code ChangeLog} that records the changes made to a list from now on.
+     *
+     * @param tasks The list, which the log listens to.
+     * @param capacity The number of changes kept, at least 1.
+     * @param base The sequence number of version 0 of the list.
+     */
+    public ChangeLog(TaskList tasks, int capacity, long base) {
+        this.tasks = tasks;
+        this.base = base;
+        this.changes = new TaskChange[Math.max(1, capacity)];
+        this.oldestVersion = tasks.getVersion();
+        tasks.addListener(this);
+    }
+
+    /**
+     * Creates a {@code ChangeLog} for a list with the configured capacity, numbered from the current time.
+     *
+     * @param tasks The list, which the log listens to.
+     * @return The change log.
+     */
+    public static ChangeLog fromSystemProperties(TaskList tasks) {
+        return new ChangeLog(tasks, Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY),
+                System.currentTimeMillis() << CLOCK_SHIFT);
+    }
+
+    @Override
+    public void tasksChanged(List<TaskChange> batch) {
+        for (TaskChange change : batch) {
+            if (this.size == this.changes.length) {
+                this.oldestVersion = this.changes[this.start].getSequence();
+                this.start = (this.start + 1) % this.changes.length;
+                this.size--;
+            }
+            this.changes[(this.start + this.size) % this.changes.length] = change;
+            this.size++;
+        }
+    }
+
+    /**
+     * Returns the sync sequence number of the list as it is now.
+     *
+     * @return The sequence number.
+     */
+    public long getSequence() {
+        return this.base + this.tasks.getVersion();
+    }
+
+    /**
+     * Returns the changes a client needs to bring its copy of the list up to date.
+     * <p>
+     * The changes are in the order they were made, with repeated updates of a task left out: an update is only
+     * kept if it is the last change to its task and the task was not added since, as the task is sent as it is
+     * now.
+     * </p>
+     *
+     * @param sequence The sequence number of the client's copy of the list.
+     * @return The changes since then, or {@code null} if the log does not hold all of them, or the list was
+     *         reordered since, in which case the client needs the whole list.
+     */
+    public List<TaskChange> since(long sequence) {
+        long version = sequence - this.base;
+        if (version < this.oldestVersion || version > this.tasks.getVersion()) {
+            return null;
+        }
+
+        int skipped = (int) (version - this.oldestVersion);
+        List<TaskChange> recent = new ArrayList<>(this.size - skipped);
+        HashMap<Integer, Integer> lastChanges = new HashMap<>();
+        HashSet<Integer> added = new HashSet<>();
+        for (int i = skipped; i < this.size; i++) {
+            TaskChange change = this.changes[(this.start + i) % this.changes.length];
+            if (change.getKind() == TaskChange.Kind.REORDERED) {
+                return null;
+            }
+            if (change.getKind() == TaskChange.Kind.ADDED) {
+                added.add(change.getTaskId());
+            }
+            lastChanges.put(change.getTaskId(), recent.size());
+            recent.add(change);
+        }
+
+        List<TaskChange> needed = new ArrayList<>(recent.size());
+        for (int i = 0; i < recent.size(); i++) {
+            TaskChange change = recent.get(i);
+            if (change.getKind() != TaskChange.Kind.UPDATED
+                    || (lastChanges.get(change.getTaskId()) == i && !added.contains(change.getTaskId()))) {
+                needed.add(change);
+            }
+        }
+        return needed;
+    }
+}
@@ -1,7 +1,9 @@
 package talkie.task;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Iterator;
 
 /**
  * Represents a deadline task in the Talkie application.
@@ -24,6 +26,31 @@ public class Deadline extends Task {
         this.by = by;
     }
 
+    /**
+     * Returns the deadline as the only occurrence of this task, if it falls within the given period.
+     *
+     * @param from The start of the period, inclusive.
+     * @param to The end of the period, inclusive.
+     * @return An iterator over the deadline if it is within the period, or an empty iterator otherwise.
+     */
+    @Override
+    public Iterator<LocalDateTime> occurrencesBetween(LocalDateTime from, LocalDateTime to) {
+        if (this.by.isBefore(from) || this.by.isAfter(to)) {
+            return Collections.emptyIterator();
+        }
+        return Collections.singletonList(this.by).iterator();
+    }
+
+    @Override
+    public String getType() {
+        return "D";
+    }
+
+    @Override
+    public LocalDateTime getDate() {
+        return this.by;
+    }
+
     /**
      * Serializes the deadline task to a string format for storage or retrieval.
      * <p>
@@ -36,23 +63,25 @@ public class Deadline extends Task {
     public String stringifyTask() {
         return String.format("D | %d | %s | %s", super.getStatus() ? 1 : 0,
                 super.getDesc(),
-                this.by.format(DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm")));
+                this.by.format(DATE_TIME_FORMAT));
     }
 
     /**
-     * Returns a string representation of the deadline task.
+     * Writes the display form of the deadline task to an output.
      * <p>
-     * The string includes the task's status icon, description,
+     * This includes the task's status icon, description,
      * and the deadline date/time in the format "MMM dd yyyy HH:mm".
      * </p>
      *
-     * @return A string representing the deadline task.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
      */
     @Override
-    public String toString() {
-        return "[D]" + super.toString()
-                + " (by: "
-                + this.by.format(DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm"))
-                + ")";
+    protected void appendDisplayTo(Appendable out) throws IOException {
+        out.append("[D]");
+        super.appendDisplayTo(out);
+        out.append(" (by: ");
+        DATE_TIME_FORMAT.formatTo(this.by, out);
+        out.append(')');
     }
 }
@@ -0,0 +1,328 @@
+package talkie.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Maintains the blocked-by relation between the tasks of a {@link TaskList}, and the tasks that are ready to be done.
+ * <p>
+ * Edges are kept between stable task IDs and the graph is kept acyclic. Every task has a position in a topological
+ * order of the graph, maintained incrementally with the Pearce-Kelly algorithm: an edge that agrees with the order
+ * is added without any search, and otherwise only the tasks positioned between its two ends are searched and
+ * reordered.
+ * </p>
+ * <p>
+ * For every task, the graph counts the blockers that are not done yet. Tasks that are not done and have no such
+ * blockers are ready, and are kept in a heap ordered by priority, date and ID, so completing a task only visits its
+ * dependents. Each task has at most one current entry in the heap, which is kept while the task stops and starts
+ * being ready, and is only replaced when the task's priority changes. Heap entries are not removed when a task
+ * stops being ready or is deleted; such stale entries are discarded when they reach the top of the heap, and the
+ * heap is rebuilt from the current entries once it holds twice as many entries as there are tasks.
+ * </p>
+ */
+class DependencyGraph {
+
+    private final HashMap<Integer, Task> tasks = new HashMap<>();
+    private final HashMap<Integer, Set<Integer>> blockers = new HashMap<>();
+    private final HashMap<Integer, Set<Integer>> dependents = new HashMap<>();
+    private final HashMap<Integer, Integer> order = new HashMap<>();
+    private final HashMap<Integer, Integer> unfinishedBlockers = new HashMap<>();
+    private final PriorityQueue<ReadyEntry> ready = new PriorityQueue<>();
+    private final HashMap<Integer, ReadyEntry> currentEntries = new HashMap<>();
+    private int nextOrder = 0;
+
+    /**
+     * Adds a task with an assigned ID to the graph, with no edges.
+     *
+     * @param task The task to add.
+     */
+    void add(Task task) {
+        int id = task.getId();
+        this.tasks.put(id, task);
+        this.blockers.put(id, new LinkedHashSet<>());
+        this.dependents.put(id, new LinkedHashSet<>());
+        this.order.put(id, this.nextOrder++);
+        this.unfinishedBlockers.put(id, 0);
+        this.pushIfReady(task);
+    }
+
+    /**
+     * Removes a task and all of its edges from the graph.
+     * <p>
+     * If the task was not done, its dependents have one fewer unfinished blocker, and may become ready.
+     * </p>
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        int id = task.getId();
+        for (int blocker : this.blockers.get(id)) {
+            this.dependents.get(blocker).remove(id);
+        }
+        for (int dependent : this.dependents.get(id)) {
+            this.blockers.get(dependent).remove(id);
+            if (!task.getStatus()) {
+                this.unfinishedBlockers.merge(dependent, -1, Integer::sum);
+                this.pushIfReady(this.tasks.get(dependent));
+            }
+        }
+        this.tasks.remove(id);
+        this.blockers.remove(id);
+        this.dependents.remove(id);
+        this.order.remove(id);
+        this.unfinishedBlockers.remove(id);
+        this.currentEntries.remove(id);
+    }
+
+    /**
+     * Records that a task is blocked by another, unless that would create a cycle.
+     *
+     * @param dependent The task that is blocked.
+     * @param blocker The task that must be done first.
+     * @return {@code false} if the edge would create a cycle, in which case the graph is unchanged.
+     */
+    boolean addEdge(Task dependent, Task blocker) {
+        int to = dependent.getId();
+        int from = blocker.getId();
+        if (from == to) {
+            return false;
+        }
+        if (this.blockers.get(to).contains(from)) {
+            return true;
+        }
+        if (this.order.get(from) > this.order.get(to) && !this.reorder(from, to)) {
+            return false;
+        }
+
+        this.blockers.get(to).add(from);
+        this.dependents.get(from).add(to);
+        if (!blocker.getStatus()) {
+            this.unfinishedBlockers.merge(to, 1, Integer::sum);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the record that a task is blocked by another.
+     *
+     * @param dependent The task that is blocked.
+     * @param blocker The task that must be done first.
+     * @return {@code true} if the task was blocked by the other task.
+     */
+    boolean removeEdge(Task dependent, Task blocker) {
+        int to = dependent.getId();
+        int from = blocker.getId();
+        if (!this.blockers.get(to).remove(from)) {
+            return false;
+        }
+        this.dependents.get(from).remove(to);
+        if (!blocker.getStatus()) {
+            this.unfinishedBlockers.merge(to, -1, Integer::sum);
+            this.pushIfReady(dependent);
+        }
+        return true;
+    }
+
+    /**
+     * Updates the unfinished blocker counts of the dependents of a task whose status has changed.
+     * <p>
+     * This visits only the dependents of the task.
+     * </p>
+     *
+     * @param task The task that was marked or unmarked.
+     */
+    void updateStatus(Task task) {
+        int delta = task.getStatus() ? -1 : 1;
+        for (int dependent : this.dependents.get(task.getId())) {
+            this.unfinishedBlockers.merge(dependent, delta, Integer::sum);
+            this.pushIfReady(this.tasks.get(dependent));
+        }
+        this.pushIfReady(task);
+    }
+
+    /**
+     * Moves a task whose priority has changed to its new position in the ready heap.
+     *
+     * @param task The task whose priority has changed.
+     */
+    void updatePriority(Task task) {
+        this.pushIfReady(task);
+    }
+
+    /**
+     * Returns the IDs of the tasks that are directly blocked by a task.
+     *
+     * @param id The ID of the task.
+     * @return An unmodifiable view of the IDs of its dependents.
+     */
+    Set<Integer> dependentsOf(int id) {
+        return Collections.unmodifiableSet(this.dependents.get(id));
+    }
+
+    /**
+     * Returns the ready tasks that should be done first.
+     * <p>
+     * Entries are taken from the top of the ready heap, discarding stale ones, and the entries returned are put
+     * back, so the cost depends on the limit and the number of stale entries rather than the size of the list.
+     * </p>
+     *
+     * @param limit The maximum number of tasks to return.
+     * @return The ready tasks, highest priority first, then earliest date, then lowest ID.
+     */
+    List<Task> ready(int limit) {
+        List<ReadyEntry> top = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        while (top.size() < limit && !this.ready.isEmpty()) {
+            ReadyEntry entry = this.ready.poll();
+            int id = entry.task.getId();
+            if (this.isCurrent(entry) && seen.add(id)) {
+                top.add(entry);
+            } else if (this.currentEntries.get(id) == entry) {
+                // The task is done or blocked, so it needs a new entry when it is ready again
+                this.currentEntries.remove(id);
+            }
+        }
+
+        List<Task> readyTasks = new ArrayList<>(top.size());
+        for (ReadyEntry entry : top) {
+            readyTasks.add(entry.task);
+            this.ready.add(entry);
+        }
+        return readyTasks;
+    }
+
+    /**
+     * Restores the topological order before adding an edge from a task positioned after the task it blocks.
+     *
+     * @param from The ID of the blocker.
+     * @param to The ID of the dependent.
+     * @return {@code false} if the blocker depends on the dependent, so the edge would create a cycle.
+     */
+    private boolean reorder(int from, int to) {
+        int lowerBound = this.order.get(to);
+        int upperBound = this.order.get(from);
+
+        List<Integer> forward = this.search(to, this.dependents, id -> this.order.get(id) <= upperBound);
+        if (forward.contains(from)) {
+            return false;
+        }
+        List<Integer> backward = this.search(from, this.blockers, id -> this.order.get(id) >= lowerBound);
+
+        // Everything that must come before the blocker is moved ahead of everything reachable from the dependent,
+        // reusing the same set of positions
+        Comparator<Integer> byOrder = Comparator.comparing(this.order::get);
+        forward.sort(byOrder);
+        backward.sort(byOrder);
+        List<Integer> affected = new ArrayList<>(backward);
+        affected.addAll(forward);
+        List<Integer> positions = new ArrayList<>(affected.size());
+        for (int id : affected) {
+            positions.add(this.order.get(id));
+        }
+        Collections.sort(positions);
+        for (int i = 0; i < affected.size(); i++) {
+            this.order.put(affected.get(i), positions.get(i));
+        }
+        return true;
+    }
+
+    /**
+     * Returns the tasks reachable from a task along the given edges, visiting only tasks accepted by the bound.
+     */
+    private List<Integer> search(int start, Map<Integer, Set<Integer>> edges, IntPredicate bound) {
+        List<Integer> visited = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(start);
+        seen.add(start);
+        while (!stack.isEmpty()) {
+            int id = stack.pop();
+            visited.add(id);
+            for (int next : edges.get(id)) {
+                if (bound.test(next) && seen.add(next)) {
+                    stack.push(next);
+                }
+            }
+        }
+        return visited;
+    }
+
+    private boolean isReady(Task task) {
+        return !task.getStatus() && this.unfinishedBlockers.get(task.getId()) == 0;
+    }
+
+    /**
+     * Returns the number of entries in the ready heap, including stale ones.
+     */
+    int readyHeapSize() {
+        return this.ready.size();
+    }
+
+    private boolean isCurrent(ReadyEntry entry) {
+        Task task = entry.task;
+        return this.currentEntries.get(task.getId()) == entry && this.isReady(task)
+                && entry.priority == task.getPriority();
+    }
+
+    /**
+     * Adds a ready task to the heap, unless its current entry is still in the heap with the same priority.
+     */
+    private void pushIfReady(Task task) {
+        if (!this.isReady(task)) {
+            return;
+        }
+        ReadyEntry current = this.currentEntries.get(task.getId());
+        if (current != null && current.task == task && current.priority == task.getPriority()) {
+            return;
+        }
+        ReadyEntry entry = new ReadyEntry(task);
+        this.currentEntries.put(task.getId(), entry);
+        this.ready.add(entry);
+        if (this.ready.size() > 2 * this.tasks.size()) {
+            this.ready.clear();
+            this.ready.addAll(this.currentEntries.values());
+        }
+    }
+
+    /**
+     * Holds a ready task with the priority it had when it was added to the heap.
+     */
+    private static class ReadyEntry implements Comparable<ReadyEntry> {
+
+        private final Task task;
+        private final Priority priority;
+        private final LocalDateTime date;
+
+        ReadyEntry(Task task) {
+            this.task = task;
+            this.priority = task.getPriority();
+            this.date = task.getDate();
+        }
+
+        @Override
+        public int compareTo(ReadyEntry other) {
+            if (this.priority != other.priority) {
+                return other.priority.compareTo(this.priority);
+            }
+            if (this.date != null && other.date != null && !this.date.equals(other.date)) {
+                return this.date.compareTo(other.date);
+            }
+            if ((this.date == null) != (other.date == null)) {
+                return this.date == null ? 1 : -1;
+            }
+            return Integer.compare(this.task.getId(), other.task.getId());
+        }
+    }
+}
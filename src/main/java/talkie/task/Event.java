@@ -1,7 +1,9 @@
 package talkie.task;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Iterator;
 
 /**
  * Represents an event task in the Talkie application.
@@ -27,6 +29,36 @@ public class Event extends Task {
         this.to = to;
     }
 
+    /**
+     * Returns the start of the event as its only occurrence, if the event overlaps the given period.
+     *
+     * @param from The start of the period, inclusive.
+     * @param to The end of the period, inclusive.
+     * @return An iterator over the start of the event if it overlaps the period, or an empty iterator otherwise.
+     */
+    @Override
+    public Iterator<LocalDateTime> occurrencesBetween(LocalDateTime from, LocalDateTime to) {
+        if (this.to.isBefore(from) || this.from.isAfter(to)) {
+            return Collections.emptyIterator();
+        }
+        return Collections.singletonList(this.from).iterator();
+    }
+
+    @Override
+    public String getType() {
+        return "E";
+    }
+
+    @Override
+    public LocalDateTime getDate() {
+        return this.from;
+    }
+
+    @Override
+    public String getContentKey() {
+        return super.getContentKey() + " | " + this.to;
+    }
+
     /**
      * Serializes the event task to a string format for storage or retrieval.
      * <p>
@@ -39,26 +71,28 @@ public class Event extends Task {
     public String stringifyTask() {
         return String.format("E | %d | %s | %s | %s", super.getStatus() ? 1 : 0,
                 super.getDesc(),
-                this.from.format(DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm")),
-                this.to.format(DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm")));
+                this.from.format(DATE_TIME_FORMAT),
+                this.to.format(DATE_TIME_FORMAT));
     }
 
     /**
-     * Returns a string representation of the event task.
+     * Writes the display form of the event task to an output.
      * <p>
-     * The string includes the task's status icon, description,
+     * This includes the task's status icon, description,
      * start date/time, and end date/time in the format "MMM dd yyyy HH:mm".
      * </p>
      *
-     * @return A string representing the event task.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
      */
     @Override
-    public String toString() {
-        return "[E]" + super.toString()
-                + " (from: "
-                + this.from.format(DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm"))
-                + " to: "
-                + this.to.format(DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm"))
-                + ")";
+    protected void appendDisplayTo(Appendable out) throws IOException {
+        out.append("[E]");
+        super.appendDisplayTo(out);
+        out.append(" (from: ");
+        DATE_TIME_FORMAT.formatTo(this.from, out);
+        out.append(" to: ");
+        DATE_TIME_FORMAT.formatTo(this.to, out);
+        out.append(')');
     }
 }
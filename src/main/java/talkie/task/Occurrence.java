@@ -0,0 +1,35 @@
+package talkie.task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a single occurrence of a task at a specific date/time.
+ * <p>
+ * Occurrences are produced on demand by time-range queries over a {@link TaskList}. A {@link Deadline} or
+ * {@link Event} has at most one occurrence, while a {@link RecurringTask} may have many.
+ * </p>
+ */
+public class Occurrence {
+
+    private final Task task;
+    private final LocalDateTime time;
+
+    /**
+     * Constructs an {@code Occurrence} of the given task.
+     *
+     * @param task The task that occurs.
+     * @param time The date/time at which it occurs.
+     */
+    public Occurrence(Task task, LocalDateTime time) {
+        this.task = task;
+        this.time = time;
+    }
+
+    public Task getTask() {
+        return this.task;
+    }
+
+    public LocalDateTime getTime() {
+        return this.time;
+    }
+}
@@ -0,0 +1,33 @@
+package talkie.task;
+
+/**
+ * Represents the priority level of a task in the Talkie application.
+ * Tasks have no priority until one is assigned with the {@code priority} command.
+ */
+public enum Priority {
+    NONE, LOW, MEDIUM, HIGH;
+
+    /**
+     * Returns the priority matching the given user-facing label, such as {@code high}.
+     *
+     * @param label The label to look up, case-insensitively.
+     * @return The matching priority, or {@code null} if there is none.
+     */
+    public static Priority fromLabel(String label) {
+        for (Priority priority : values()) {
+            if (priority.name().equalsIgnoreCase(label)) {
+                return priority;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the user-facing label of this priority.
+     *
+     * @return The priority in lower case, such as {@code high}.
+     */
+    public String getLabel() {
+        return this.name().toLowerCase();
+    }
+}
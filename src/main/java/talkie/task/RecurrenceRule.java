@@ -0,0 +1,197 @@
+package talkie.task;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Represents an RRULE-like recurrence rule for a {@link RecurringTask}.
+ * <p>
+ * A rule repeats either daily, weekly or monthly and may be bounded by an {@code until} date/time, a total
+ * {@code count} of occurrences, or both. A rule with neither bound repeats forever, which is safe because
+ * occurrences are only ever generated lazily.
+ * </p>
+ */
+public class RecurrenceRule {
+
+    /**
+     * Represents how often a rule repeats.
+     */
+    public enum Frequency {
+        DAILY(ChronoUnit.DAYS, "daily"),
+        WEEKLY(ChronoUnit.WEEKS, "weekly"),
+        MONTHLY(ChronoUnit.MONTHS, "monthly");
+
+        private final ChronoUnit unit;
+        private final String label;
+
+        Frequency(ChronoUnit unit, String label) {
+            this.unit = unit;
+            this.label = label;
+        }
+
+        /**
+         * Returns the frequency matching the given user-facing label, such as {@code weekly}.
+         *
+         * @param label The label to look up, case-insensitively.
+         * @return The matching frequency, or {@code null} if there is none.
+         */
+        public static Frequency fromLabel(String label) {
+            for (Frequency frequency : values()) {
+                if (frequency.label.equalsIgnoreCase(label)) {
+                    return frequency;
+                }
+            }
+            return null;
+        }
+
+        public String getLabel() {
+            return this.label;
+        }
+    }
+
+    /** The value of {@code count} for a rule that is not bounded by a number of occurrences. */
+    public static final int UNBOUNDED = 0;
+
+    private final Frequency frequency;
+    private final LocalDateTime until;
+    private final int count;
+
+    /**
+     * Constructs a {@code RecurrenceRule}.
+     *
+     * @param frequency How often the rule repeats.
+     * @param until The last date/time an occurrence may fall on, or {@code null} if unbounded.
+     * @param count The maximum number of occurrences, or {@link #UNBOUNDED}.
+     */
+    public RecurrenceRule(Frequency frequency, LocalDateTime until, int count) {
+        assert frequency != null : "Frequency of a recurrence rule should not be null";
+        assert count >= 0 : "Count of a recurrence rule should not be negative";
+        this.frequency = frequency;
+        this.until = until;
+        this.count = count;
+    }
+
+    /**
+     * Returns the {@code n}-th occurrence (0-based) of this rule starting from {@code start}.
+     * <p>
+     * Occurrences are always computed from the start rather than from the previous occurrence, so monthly rules
+     * starting on the 31st do not drift to the 28th after February.
+     * </p>
+     *
+     * @param start The first occurrence of the rule.
+     * @param n The 0-based index of the occurrence.
+     * @return The date/time of the occurrence, ignoring the rule's bounds.
+     */
+    public LocalDateTime occurrence(LocalDateTime start, long n) {
+        return start.plus(n, this.frequency.unit);
+    }
+
+    /**
+     * Returns the index of the first occurrence that falls on or after {@code time}, ignoring the rule's bounds.
+     * <p>
+     * The index is computed arithmetically, so skipping to a far-away window does not enumerate the occurrences
+     * in between.
+     * </p>
+     *
+     * @param start The first occurrence of the rule.
+     * @param time The date/time to search from.
+     * @return The 0-based index of the first occurrence on or after {@code time}.
+     */
+    public long firstIndexOnOrAfter(LocalDateTime start, LocalDateTime time) {
+        if (!time.isAfter(start)) {
+            return 0;
+        }
+        long n = this.frequency.unit.between(start, time);
+        while (this.occurrence(start, n).isBefore(time)) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Checks if the {@code n}-th occurrence is still within the bounds of this rule.
+     *
+     * @param start The first occurrence of the rule.
+     * @param n The 0-based index of the occurrence.
+     * @return {@code true} if the occurrence exists; {@code false} otherwise.
+     */
+    public boolean hasOccurrence(LocalDateTime start, long n) {
+        if (this.count != UNBOUNDED && n >= this.count) {
+            return false;
+        }
+        return this.until == null || !this.occurrence(start, n).isAfter(this.until);
+    }
+
+    public Frequency getFrequency() {
+        return this.frequency;
+    }
+
+    public LocalDateTime getUntil() {
+        return this.until;
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Parses a rule from its RRULE-like storage form, such as {@code FREQ=WEEKLY;COUNT=10}.
+     *
+     * @param rule The rule in the format produced by {@link #toString()}.
+     * @return The parsed {@code RecurrenceRule}.
+     * @throws IllegalArgumentException If the rule is malformed.
+     */
+    public static RecurrenceRule parse(String rule) {
+        Frequency frequency = null;
+        LocalDateTime until = null;
+        int count = UNBOUNDED;
+
+        try {
+            for (String part : rule.split(";")) {
+                String[] keyValue = part.split("=", 2);
+                if (keyValue.length != 2) {
+                    throw new IllegalArgumentException("Malformed recurrence rule: " + rule);
+                }
+
+                switch (keyValue[0]) {
+                case "FREQ":
+                    frequency = Frequency.valueOf(keyValue[1]);
+                    break;
+                case "UNTIL":
+                    until = LocalDateTime.parse(keyValue[1]);
+                    break;
+                case "COUNT":
+                    count = Integer.parseInt(keyValue[1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown recurrence rule part: " + part);
+                }
+            }
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed recurrence rule: " + rule, e);
+        }
+
+        if (frequency == null || count < 0) {
+            throw new IllegalArgumentException("Malformed recurrence rule: " + rule);
+        }
+        return new RecurrenceRule(frequency, until, count);
+    }
+
+    /**
+     * Returns the RRULE-like storage form of this rule, such as {@code FREQ=DAILY;UNTIL=2024-12-01T09:00}.
+     *
+     * @return A string representation of the rule for storage.
+     */
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(this.frequency.name());
+        if (this.until != null) {
+            rule.append(";UNTIL=").append(this.until);
+        }
+        if (this.count != UNBOUNDED) {
+            rule.append(";COUNT=").append(this.count);
+        }
+        return rule.toString();
+    }
+}
@@ -0,0 +1,145 @@
+package talkie.task;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a recurring task in the Talkie application.
+ * <p>
+ * A {@code RecurringTask} stores only its first occurrence and a {@link RecurrenceRule}. Individual occurrences are
+ * never materialised in the task list or the data file; they are generated lazily by an iterator whenever a query
+ * touches them, so memory and storage stay proportional to the number of rules rather than occurrences.
+ * </p>
+ */
+public class RecurringTask extends Task {
+
+    protected LocalDateTime start;
+    protected RecurrenceRule rule;
+
+    /**
+     * Constructs a {@code RecurringTask} with the specified description, first occurrence and recurrence rule.
+     *
+     * @param desc The description of the recurring task.
+     * @param start The date/time of the first occurrence.
+     * @param rule The rule describing how the task repeats.
+     */
+    public RecurringTask(String desc, LocalDateTime start, RecurrenceRule rule) {
+        super(desc);
+        this.start = start;
+        this.rule = rule;
+    }
+
+    /**
+     * Returns a lazy iterator over every occurrence of this task, starting from the first.
+     *
+     * @return An iterator over the occurrences of this task, in chronological order.
+     */
+    public Iterator<LocalDateTime> occurrences() {
+        return new OccurrenceIterator(0, null);
+    }
+
+    /**
+     * Returns a lazy iterator over the occurrences of this task that fall within the given period.
+     * <p>
+     * The iterator jumps directly to the first occurrence in the period, so occurrences before {@code from} are
+     * never generated.
+     * </p>
+     *
+     * @param from The start of the period, inclusive.
+     * @param to The end of the period, inclusive.
+     * @return An iterator over the occurrences within the period, in chronological order.
+     */
+    @Override
+    public Iterator<LocalDateTime> occurrencesBetween(LocalDateTime from, LocalDateTime to) {
+        return new OccurrenceIterator(this.rule.firstIndexOnOrAfter(this.start, from), to);
+    }
+
+    @Override
+    public String getType() {
+        return "R";
+    }
+
+    @Override
+    public LocalDateTime getDate() {
+        return this.start;
+    }
+
+    @Override
+    public String getContentKey() {
+        return super.getContentKey() + " | " + this.rule;
+    }
+
+    /**
+     * Serializes the recurring task to a string format for storage or retrieval.
+     * <p>
+     * The string format is as follows: "R | status | description | first occurrence | rule".
+     * </p>
+     *
+     * @return A string representation of the recurring task for storage.
+     */
+    @Override
+    public String stringifyTask() {
+        return String.format("R | %d | %s | %s | %s", super.getStatus() ? 1 : 0,
+                super.getDesc(),
+                this.start.format(DATE_TIME_FORMAT),
+                this.rule);
+    }
+
+    /**
+     * Writes the display form of the recurring task to an output.
+     * <p>
+     * This includes the task's status icon, description, how often it repeats, its first occurrence and
+     * any bounds on the recurrence.
+     * </p>
+     *
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    @Override
+    protected void appendDisplayTo(Appendable out) throws IOException {
+        out.append("[R]");
+        super.appendDisplayTo(out);
+        out.append(" (").append(this.rule.getFrequency().getLabel()).append(" from: ");
+        DATE_TIME_FORMAT.formatTo(this.start, out);
+        if (this.rule.getUntil() != null) {
+            out.append(" until: ");
+            DATE_TIME_FORMAT.formatTo(this.rule.getUntil(), out);
+        }
+        if (this.rule.getCount() != RecurrenceRule.UNBOUNDED) {
+            out.append(", ").append(String.valueOf(this.rule.getCount())).append(" times");
+        }
+        out.append(')');
+    }
+
+    /**
+     * Generates occurrences on demand from a starting index until the rule or an end bound is exhausted.
+     */
+    private class OccurrenceIterator implements Iterator<LocalDateTime> {
+
+        private long index;
+        private final LocalDateTime end;
+
+        OccurrenceIterator(long index, LocalDateTime end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!rule.hasOccurrence(start, this.index)) {
+                return false;
+            }
+            return this.end == null || !rule.occurrence(start, this.index).isAfter(this.end);
+        }
+
+        @Override
+        public LocalDateTime next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return rule.occurrence(start, this.index++);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package talkie.task;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Limits the number of tasks in a {@link TaskList} that keep their display and storage strings cached.
+ * <p>
+ * Each task list has its own cache, which its tasks report to while they are in the list. Tasks with cached
+ * strings are kept in least recently used order. When there are more than {@link #CAPACITY} of them, the strings
+ * of the task used least recently are dropped, so the memory used by the cache stays bounded however long the
+ * list is, while tasks that are shown or saved often stay cached. The cache only refers to tasks of its own list,
+ * so a list that is unloaded takes its cached strings with it.
+ * </p>
+ */
+final class RenderCache {
+
+    /** The largest number of tasks of a list that keep their strings cached. */
+    static final int CAPACITY = 50_000;
+
+    private final Map<Task, Task> recent;
+
+    /**
+     * Constructs an empty {@code RenderCache} that keeps the strings of up to a number of tasks.
+     *
+     * @param capacity The largest number of tasks that keep their strings cached.
+     */
+    RenderCache(int capacity) {
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Task, Task> eldest) {
+                if (this.size() <= capacity) {
+                    return false;
+                }
+                eldest.getKey().clearCachedStrings();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Records that the cached strings of a task have been used or created, making it the most recently used task.
+     *
+     * @param task The task whose strings are cached.
+     */
+    synchronized void touch(Task task) {
+        this.recent.put(task, task);
+    }
+
+    /**
+     * Stops tracking a task whose cached strings have been dropped.
+     *
+     * @param task The task whose strings are no longer cached.
+     */
+    synchronized void forget(Task task) {
+        this.recent.remove(task);
+    }
+
+    /**
+     * Returns the number of tasks whose strings are cached.
+     *
+     * @return The number of tasks.
+     */
+    synchronized int size() {
+        return this.recent.size();
+    }
+}
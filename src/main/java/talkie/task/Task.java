@@ -1,16 +1,50 @@
 package talkie.task;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+
 /**
  * Represents a task in the Talkie application.
  * <p>
  * {@code Task} is an abstract class that defines the common attributes and methods for all types of tasks.
- * It provides functionality to manage the status and description of a task and requires subclasses to
- * implement the {@code stringifyTask} method to specify how the task should be serialized.
+ * It provides functionality to manage the status, description, tags and priority of a task and requires
+ * subclasses to implement the {@code stringifyTask} method to specify how the task should be serialized.
+ * </p>
+ * <p>
+ * Every task in a {@link TaskList} has a stable ID that does not change when other tasks are added, deleted or
+ * sorted. A task can be blocked by other tasks, identified by their IDs. Tags, priorities and blockers should be
+ * changed through the {@code TaskList} so that its indexes stay up to date.
+ * </p>
+ * <p>
+ * A task caches its display string and its line in the data file once they are built, so a task that has not
+ * changed since it was last shown or saved is written by copying a string. Any change to the task drops both
+ * strings, and the {@link RenderCache} of the task's list drops the strings of tasks that have not been used for
+ * a long time.
  * </p>
  */
 public abstract class Task {
+
+    /** The ID of a task that has not been added to a {@link TaskList} yet. */
+    public static final int UNASSIGNED_ID = 0;
+
+    /** The format of the dates/times of a task, both when it is displayed and in the data file. */
+    public static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+
     protected String desc;
     protected boolean isDone;
+    protected int id;
+    protected Priority priority;
+    protected Set<String> tags;
+    protected Set<Integer> blockerIds;
+    private String displayString;
+    private String storageLine;
+    private RenderCache renderCache;
 
     /**
      * Constructs a {@code Task} with the specified description.
@@ -23,19 +57,100 @@ public abstract class Task {
     public Task(String desc) {
         this.desc = desc;
         this.isDone = false;
+        this.id = UNASSIGNED_ID;
+        this.priority = Priority.NONE;
+        this.tags = new TreeSet<>();
+        this.blockerIds = new TreeSet<>();
     }
 
     /**
-     * Returns a string representation of the task.
+     * Returns a string representation of the task, as written by {@link #appendDisplayTo(Appendable)}.
      * <p>
-     * The string includes the task's status icon (either "[X]" for done or "[ ]" for not done) and its description.
+     * The string is built the first time it is needed, and cached until the task changes.
      * </p>
      *
      * @return A string representing the task.
      */
     @Override
     public String toString() {
-        return this.getStatusIcon() + " " + this.desc;
+        String display = this.displayString;
+        if (display == null) {
+            StringBuilder details = new StringBuilder();
+            try {
+                this.appendDisplayTo(details);
+            } catch (IOException e) {
+                // A StringBuilder never throws
+                throw new UncheckedIOException(e);
+            }
+            display = details.toString();
+            this.displayString = display;
+        }
+        this.touchRenderCache();
+        return display;
+    }
+
+    /**
+     * Writes the display form of the task to an output, copying the cached string if there is one.
+     * <p>
+     * Otherwise, the fields of the task are written to the output one by one. Unlike {@link #toString()}, no
+     * string is built or cached, so listing many tasks once takes no memory beyond the output's own buffer.
+     * </p>
+     *
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public final void appendTo(Appendable out) throws IOException {
+        String display = this.displayString;
+        if (display != null) {
+            out.append(display);
+        } else {
+            this.appendDisplayTo(out);
+        }
+    }
+
+    /**
+     * Returns the line of the data file cached for this task by {@link #cacheStorageLine(String)}, and marks the
+     * task as recently used.
+     *
+     * @return The cached line, or {@code null} if it has not been cached since the task last changed.
+     */
+    public String getCachedStorageLine() {
+        String line = this.storageLine;
+        if (line != null) {
+            this.touchRenderCache();
+        }
+        return line;
+    }
+
+    /**
+     * Caches the line of the data file for this task until the task changes.
+     *
+     * @param line The line, as built by the {@code Storage} from the task's current state.
+     */
+    public void cacheStorageLine(String line) {
+        this.storageLine = line;
+        this.touchRenderCache();
+    }
+
+    /**
+     * Writes the display form of the task to an output.
+     * <p>
+     * This writes the task's status icon (either "[X]" for done or "[ ]" for not done), its description, and its
+     * tags and priority if it has any. Subclasses override it to add their type label before and their dates
+     * after.
+     * </p>
+     *
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    protected void appendDisplayTo(Appendable out) throws IOException {
+        out.append(this.getStatusIcon()).append(' ').append(this.desc);
+        for (String tag : this.tags) {
+            out.append(" #").append(tag);
+        }
+        if (this.priority != Priority.NONE) {
+            out.append(" !").append(this.priority.getLabel());
+        }
     }
 
     /**
@@ -56,6 +171,103 @@ public abstract class Task {
         return this.isDone;
     }
 
+    public int getId() {
+        return this.id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+        this.clearCachedStrings();
+    }
+
+    public Priority getPriority() {
+        return this.priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+        this.clearCachedStrings();
+    }
+
+    /**
+     * Returns the tags of the task, in alphabetical order.
+     *
+     * @return An unmodifiable view of the task's tags.
+     */
+    public Set<String> getTags() {
+        return Collections.unmodifiableSet(this.tags);
+    }
+
+    /**
+     * Adds a tag to the task.
+     *
+     * @param tag The tag to add, already normalised with {@link #normaliseTag(String)}.
+     * @return {@code true} if the task did not already have the tag.
+     */
+    public boolean addTag(String tag) {
+        this.clearCachedStrings();
+        return this.tags.add(tag);
+    }
+
+    /**
+     * Removes a tag from the task.
+     *
+     * @param tag The tag to remove, already normalised with {@link #normaliseTag(String)}.
+     * @return {@code true} if the task had the tag.
+     */
+    public boolean removeTag(String tag) {
+        this.clearCachedStrings();
+        return this.tags.remove(tag);
+    }
+
+    /**
+     * Returns the IDs of the tasks that must be done before this task, in ascending order.
+     *
+     * @return An unmodifiable view of the IDs of the task's blockers.
+     */
+    public Set<Integer> getBlockerIds() {
+        return Collections.unmodifiableSet(this.blockerIds);
+    }
+
+    /**
+     * Records that this task is blocked by the task with the given ID.
+     * <p>
+     * This does not check for cycles, which is done by {@link TaskList#blockTask(Task, Task)}.
+     * </p>
+     *
+     * @param blockerId The ID of the task that must be done first.
+     * @return {@code true} if the task was not already blocked by that task.
+     */
+    public boolean addBlocker(int blockerId) {
+        this.clearCachedStrings();
+        return this.blockerIds.add(blockerId);
+    }
+
+    /**
+     * Removes the record that this task is blocked by the task with the given ID.
+     *
+     * @param blockerId The ID of the task that had to be done first.
+     * @return {@code true} if the task was blocked by that task.
+     */
+    public boolean removeBlocker(int blockerId) {
+        this.clearCachedStrings();
+        return this.blockerIds.remove(blockerId);
+    }
+
+    /**
+     * Normalises a user-supplied tag by removing any leading '#' and converting it to lower case.
+     *
+     * @param tag The tag as typed by the user.
+     * @return The normalised tag, or {@code null} if it is empty or contains characters that cannot be stored.
+     */
+    public static String normaliseTag(String tag) {
+        String normalised = (tag.startsWith("#") ? tag.substring(1) : tag).toLowerCase();
+        if (normalised.isEmpty() || !normalised.matches("[\\p{L}\\p{N}_-]+")) {
+            return null;
+        }
+        return normalised;
+    }
+
     /**
      * Returns the status icon of the task.
      * <p>
@@ -76,6 +288,7 @@ public abstract class Task {
      */
     public void markAsDone() {
         this.isDone = true;
+        this.clearCachedStrings();
     }
 
     /**
@@ -86,21 +299,131 @@ public abstract class Task {
      */
     public void markAsNotDone() {
         this.isDone = false;
+        this.clearCachedStrings();
+    }
+
+    /**
+     * Drops the cached display string and data file line, which no longer match the task after it changes.
+     */
+    void clearCachedStrings() {
+        this.displayString = null;
+        this.storageLine = null;
+    }
+
+    /**
+     * Starts tracking the cached strings of a task that has been added to a list in the list's {@link RenderCache}.
+     * Until then, the strings of a task are simply kept until it changes.
+     */
+    void attachRenderCache(RenderCache renderCache) {
+        this.renderCache = renderCache;
+        if (this.displayString != null || this.storageLine != null) {
+            renderCache.touch(this);
+        }
+    }
+
+    /**
+     * Drops the cached strings of a task that is no longer in a list, and stops tracking it in the list's
+     * {@link RenderCache}.
+     */
+    void releaseCachedStrings() {
+        this.clearCachedStrings();
+        if (this.renderCache != null) {
+            this.renderCache.forget(this);
+            this.renderCache = null;
+        }
+    }
+
+    private void touchRenderCache() {
+        RenderCache cache = this.renderCache;
+        if (cache != null) {
+            cache.touch(this);
+        }
     }
 
     /**
      * Checks if the task description contains the specified keyword.
      * <p>
-     * This method is used to determine if the task matches a search criterion.
+     * This method is used to determine if the task matches a search criterion. The comparison ignores case.
      * </p>
      *
      * @param keyword The keyword to search for in the task description.
      * @return {@code true} if the description contains the keyword; {@code false} otherwise.
      */
     public boolean containsWord(String keyword) {
-        return this.desc.contains(keyword);
+        for (int i = 0; i + keyword.length() <= this.desc.length(); i++) {
+            if (this.desc.regionMatches(true, i, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
     }
 
+    /**
+     * Returns a key identifying the content of the task, used to detect duplicate tasks.
+     * <p>
+     * Two tasks have the same key if they are of the same type, have the same dates and have descriptions that
+     * differ only in case and whitespace. The status, tags and priority of a task are not part of its content.
+     * Subclasses with more than one date append the others to this key.
+     * </p>
+     *
+     * @return The content key of the task.
+     */
+    public String getContentKey() {
+        StringBuilder key = new StringBuilder(this.getType()).append(" |");
+        boolean isAfterSpace = true;
+        for (int i = 0; i < this.desc.length(); i++) {
+            char c = this.desc.charAt(i);
+            if (Character.isWhitespace(c)) {
+                isAfterSpace = true;
+                continue;
+            }
+            if (isAfterSpace) {
+                key.append(' ');
+                isAfterSpace = false;
+            }
+            key.append(Character.toLowerCase(c));
+        }
+        return key.append(" | ").append(this.getDate()).toString();
+    }
+
+    /**
+     * Returns the occurrences of this task that fall within the given period.
+     * <p>
+     * Tasks without a date never occur in any period, so this returns an empty iterator by default. Subclasses
+     * with dates override it to return their occurrences lazily, in chronological order.
+     * </p>
+     *
+     * @param from The start of the period, inclusive.
+     * @param to The end of the period, inclusive.
+     * @return An iterator over the occurrences within the period.
+     */
+    public Iterator<LocalDateTime> occurrencesBetween(LocalDateTime from, LocalDateTime to) {
+        return Collections.emptyIterator();
+    }
+
+    /**
+     * Returns the date/time that the task is due or scheduled for.
+     * <p>
+     * This is the deadline of a {@link Deadline}, the start of an {@link Event} and the first occurrence of a
+     * {@link RecurringTask}. It is used by queries such as {@code due<2024-12-01}.
+     * </p>
+     *
+     * @return The date/time of the task, or {@code null} if the task has no date.
+     */
+    public LocalDateTime getDate() {
+        return null;
+    }
+
+    /**
+     * Returns the single-letter code of the task type, such as "T" for a {@link ToDo}.
+     * <p>
+     * The code is the same one used in the task's display and storage formats.
+     * </p>
+     *
+     * @return The type code of the task.
+     */
+    public abstract String getType();
+
     /**
      * Serializes the task to a string format.
      * <p>
@@ -0,0 +1,79 @@
+package talkie.task;
+
+/**
+ * Represents one change to a {@link TaskList}, as told to its {@link TaskListListener}s.
+ * <p>
+ * Every change has a sequence number, which is the {@linkplain TaskList#getVersion() version} of the list just
+ * after the change, so the changes to a list are numbered 1, 2, 3 and so on, in the order they were made.
+ * </p>
+ * <p>
+ * The task of a change is the task itself, not a copy, so it shows the state of the task when it is read rather
+ * than when the change was made. Listeners that run on another thread should only rely on the ID and position,
+ * and read the tasks themselves on the thread that runs commands.
+ * </p>
+ */
+public class TaskChange {
+
+    /**
+     * The kinds of change made to a task list.
+     */
+    public enum Kind {
+        /** A task was added to the list. */
+        ADDED,
+        /** A task was removed from the list. */
+        REMOVED,
+        /** A task in the list was marked, unmarked, tagged, untagged, given a priority, blocked or unblocked. */
+        UPDATED,
+        /** The tasks in the list were put in a different order. */
+        REORDERED
+    }
+
+    private final Kind kind;
+    private final long sequence;
+    private final Task task;
+    private final int taskId;
+    private final int index;
+
+    /**
+     * Constructs a {@code TaskChange}.
+     *
+     * @param kind The kind of change.
+     * @param sequence The sequence number of the change.
+     * @param task The task that changed, or {@code null} if the list was reordered.
+     * @param index The 1-based position the task was added at or removed from, or 0 if its position did not
+     *              change.
+     */
+    public TaskChange(Kind kind, long sequence, Task task, int index) {
+        this.kind = kind;
+        this.sequence = sequence;
+        this.task = task;
+        this.taskId = task == null ? Task.UNASSIGNED_ID : task.getId();
+        this.index = index;
+    }
+
+    public Kind getKind() {
+        return this.kind;
+    }
+
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    public Task getTask() {
+        return this.task;
+    }
+
+    public int getTaskId() {
+        return this.taskId;
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + this.sequence + " " + this.kind + (this.task == null ? "" : " " + this.taskId)
+                + (this.index == 0 ? "" : " at " + this.index);
+    }
+}
@@ -0,0 +1,300 @@
+package talkie.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import talkie.index.CompletionTrie;
+import talkie.index.CompressedBitmap;
+
+/**
+ * Maintains the secondary indexes of a {@link TaskList}.
+ * <p>
+ * Every index maps a key to a {@link CompressedBitmap} of the stable IDs of the tasks with that key. The indexes
+ * cover the completion status, task type, tags, priority, date and the trigrams of the description, and are kept
+ * up to date by the {@code TaskList} whenever a task is added, removed or changed, so that queries can be answered
+ * from the indexes instead of scanning the whole list.
+ * </p>
+ * <p>
+ * The words of the descriptions are also counted in a {@link CompletionTrie}, so that partly typed words can be
+ * completed with the words used most often.
+ * </p>
+ */
+public class TaskIndex {
+
+    /** The shortest text that can be looked up in the trigram index. */
+    public static final int TRIGRAM_LENGTH = 3;
+
+    private final CompressedBitmap all = new CompressedBitmap();
+    private final CompressedBitmap done = new CompressedBitmap();
+    private final HashMap<String, CompressedBitmap> types = new HashMap<>();
+    private final HashMap<String, CompressedBitmap> tags = new HashMap<>();
+    private final HashMap<Priority, CompressedBitmap> priorities = new HashMap<>();
+    private final TreeMap<LocalDateTime, CompressedBitmap> dates = new TreeMap<>();
+    private final HashMap<Long, CompressedBitmap> trigrams = new HashMap<>();
+    private final CompletionTrie words = new CompletionTrie();
+
+    /**
+     * Adds a task with an assigned ID to every index.
+     *
+     * @param task The task to index.
+     */
+    void add(Task task) {
+        int id = task.getId();
+        this.all.add(id);
+        if (task.getStatus()) {
+            this.done.add(id);
+        }
+        addTo(this.types, task.getType(), id);
+        for (String tag : task.getTags()) {
+            addTo(this.tags, tag, id);
+        }
+        addTo(this.priorities, task.getPriority(), id);
+        if (task.getDate() != null) {
+            addTo(this.dates, task.getDate(), id);
+        }
+        for (long trigram : trigramsOf(task.getDesc())) {
+            addTo(this.trigrams, trigram, id);
+        }
+        for (String word : wordsOf(task.getDesc())) {
+            this.words.add(word);
+        }
+    }
+
+    /**
+     * Removes a task from every index.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        int id = task.getId();
+        this.all.remove(id);
+        this.done.remove(id);
+        removeFrom(this.types, task.getType(), id);
+        for (String tag : task.getTags()) {
+            removeFrom(this.tags, tag, id);
+        }
+        removeFrom(this.priorities, task.getPriority(), id);
+        if (task.getDate() != null) {
+            removeFrom(this.dates, task.getDate(), id);
+        }
+        for (long trigram : trigramsOf(task.getDesc())) {
+            removeFrom(this.trigrams, trigram, id);
+        }
+        for (String word : wordsOf(task.getDesc())) {
+            this.words.remove(word);
+        }
+    }
+
+    void updateStatus(Task task) {
+        if (task.getStatus()) {
+            this.done.add(task.getId());
+        } else {
+            this.done.remove(task.getId());
+        }
+    }
+
+    void addTag(Task task, String tag) {
+        addTo(this.tags, tag, task.getId());
+    }
+
+    void removeTag(Task task, String tag) {
+        removeFrom(this.tags, tag, task.getId());
+    }
+
+    void updatePriority(Task task, Priority oldPriority) {
+        removeFrom(this.priorities, oldPriority, task.getId());
+        addTo(this.priorities, task.getPriority(), task.getId());
+    }
+
+    /**
+     * Returns the IDs of every task in the list.
+     *
+     * @return A bitmap of all task IDs. The bitmap must not be modified.
+     */
+    public CompressedBitmap all() {
+        return this.all;
+    }
+
+    /**
+     * Returns the IDs of the tasks with the given completion status.
+     *
+     * @param isDone {@code true} for completed tasks; {@code false} for tasks that are not done.
+     * @return A bitmap of the matching task IDs.
+     */
+    public CompressedBitmap withStatus(boolean isDone) {
+        return isDone ? this.done : CompressedBitmap.andNot(this.all, this.done);
+    }
+
+    /**
+     * Returns the number of tasks with the given completion status, without building a bitmap.
+     *
+     * @param isDone {@code true} for completed tasks; {@code false} for tasks that are not done.
+     * @return The number of matching tasks.
+     */
+    public int countWithStatus(boolean isDone) {
+        int doneCount = this.done.cardinality();
+        return isDone ? doneCount : this.all.cardinality() - doneCount;
+    }
+
+    /**
+     * Returns the IDs of the tasks of the given type.
+     *
+     * @param type The type code of the tasks, such as "D".
+     * @return A bitmap of the matching task IDs. The bitmap must not be modified.
+     */
+    public CompressedBitmap ofType(String type) {
+        return this.types.getOrDefault(type, new CompressedBitmap());
+    }
+
+    /**
+     * Returns the IDs of the tasks with the given tag.
+     *
+     * @param tag The normalised tag.
+     * @return A bitmap of the matching task IDs. The bitmap must not be modified.
+     */
+    public CompressedBitmap tagged(String tag) {
+        return this.tags.getOrDefault(tag, new CompressedBitmap());
+    }
+
+    /**
+     * Returns the IDs of the tasks with the given priority.
+     *
+     * @param priority The priority.
+     * @return A bitmap of the matching task IDs. The bitmap must not be modified.
+     */
+    public CompressedBitmap withPriority(Priority priority) {
+        return this.priorities.getOrDefault(priority, new CompressedBitmap());
+    }
+
+    /**
+     * Returns the dates in the date index within the given range, each mapped to the IDs of the tasks on it.
+     *
+     * @param from The start of the range, or {@code null} if unbounded.
+     * @param isFromInclusive Whether the start of the range is inclusive.
+     * @param to The end of the range, or {@code null} if unbounded.
+     * @param isToInclusive Whether the end of the range is inclusive.
+     * @return A view of the date index within the range. The view must not be modified.
+     */
+    public NavigableMap<LocalDateTime, CompressedBitmap> datesBetween(LocalDateTime from, boolean isFromInclusive,
+            LocalDateTime to, boolean isToInclusive) {
+        NavigableMap<LocalDateTime, CompressedBitmap> range = this.dates;
+        if (from != null) {
+            range = range.tailMap(from, isFromInclusive);
+        }
+        if (to != null) {
+            range = range.headMap(to, isToInclusive);
+        }
+        return range;
+    }
+
+    /**
+     * Returns the IDs of the tasks whose description may contain the given text.
+     * <p>
+     * The result is the intersection of the bitmaps of every trigram in the text, so it contains every task whose
+     * description contains the text, but may also contain tasks where the trigrams appear apart. Callers must
+     * check each candidate.
+     * </p>
+     *
+     * @param text The text to search for, at least {@link #TRIGRAM_LENGTH} characters long.
+     * @return A bitmap of the candidate task IDs. The bitmap must not be modified.
+     */
+    public CompressedBitmap textCandidates(String text) {
+        assert text.length() >= TRIGRAM_LENGTH : "Text shorter than a trigram cannot use the trigram index";
+        CompressedBitmap candidates = null;
+        for (long trigram : trigramsOf(text)) {
+            CompressedBitmap bitmap = this.trigrams.get(trigram);
+            if (bitmap == null) {
+                return new CompressedBitmap();
+            }
+            candidates = candidates == null ? bitmap : CompressedBitmap.and(candidates, bitmap);
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns an upper bound on the number of tasks whose description contains the given text, without
+     * intersecting any bitmaps.
+     *
+     * @param text The text to search for, at least {@link #TRIGRAM_LENGTH} characters long.
+     * @return The cardinality of the rarest trigram in the text.
+     */
+    public int estimateTextCandidates(String text) {
+        int estimate = Integer.MAX_VALUE;
+        for (long trigram : trigramsOf(text)) {
+            CompressedBitmap bitmap = this.trigrams.get(trigram);
+            estimate = Math.min(estimate, bitmap == null ? 0 : bitmap.cardinality());
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the words used most often in task descriptions that start with a prefix.
+     *
+     * @param prefix The lower-case prefix.
+     * @param limit The largest number of words to return.
+     * @return The words, most often used first.
+     */
+    public List<String> completeWord(String prefix, int limit) {
+        return this.words.complete(prefix, limit);
+    }
+
+    /**
+     * Splits text into its lower-case words, which are the runs of letters and digits in the text.
+     *
+     * @param text The text to split.
+     * @return The words of the text, in order and including repeats.
+     */
+    static List<String> wordsOf(String text) {
+        List<String> words = new ArrayList<>();
+        String lowerCase = text.toLowerCase();
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean isWordChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns the distinct trigrams of the lower-cased text, each packed into a {@code long}.
+     *
+     * @param text The text to split.
+     * @return The packed trigrams of the text.
+     */
+    private static Set<Long> trigramsOf(String text) {
+        String lowerCase = text.toLowerCase();
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= lowerCase.length(); i++) {
+            trigrams.add(((long) lowerCase.charAt(i) << 32)
+                    | ((long) lowerCase.charAt(i + 1) << 16)
+                    | lowerCase.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    private static <K> void addTo(Map<K, CompressedBitmap> index, K key, int id) {
+        index.computeIfAbsent(key, k -> new CompressedBitmap()).add(id);
+    }
+
+    private static <K> void removeFrom(Map<K, CompressedBitmap> index, K key, int id) {
+        CompressedBitmap bitmap = index.get(key);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
@@ -1,8 +1,24 @@
 package talkie.task;
 
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+import talkie.index.CompressedBitmap;
+
 /**
  * Manages a list of tasks in the Talkie application.
  * <p>
@@ -10,10 +26,49 @@ import java.util.stream.Collectors;
  * of {@code Task} objects and supports various operations such as retrieving the size of the list and checking
  * if the list is empty.
  * </p>
+ * <p>
+ * Each task is assigned a stable ID when it is added. The list keeps a {@link TaskIndex} of compressed bitmaps of
+ * task IDs up to date, so filtering by tags, priority and other attributes is answered by bitmap intersection
+ * instead of a scan. Changes to a task in the list should therefore be made through the list. The index is only
+ * built the first time it is used, so loading a list that is never queried does not pay for indexing it.
+ * </p>
+ * <p>
+ * The list also counts the tasks with each {@linkplain Task#getContentKey() content key}, so that a duplicate of
+ * an existing task can be detected in constant time when it is added.
+ * </p>
+ * <p>
+ * Tasks can be blocked by other tasks. The list keeps a {@link DependencyGraph} of these relations, which rejects
+ * relations that would create a cycle and keeps track of the tasks that are ready to be done.
+ * </p>
+ * <p>
+ * Changes can be grouped into a transaction. While a transaction is open, every change records how to undo
+ * itself, so rolling back costs time proportional to the number of changes rather than the size of the list.
+ * </p>
+ * <p>
+ * Every change also increases the list's {@linkplain #getVersion() version}, so that anything derived from the
+ * list, such as the position of a page of tasks, can tell whether it is still up to date.
+ * </p>
+ * <p>
+ * {@link TaskListListener}s are told about every change as a {@link TaskChange} numbered with the new version.
+ * Changes are told in batches: the changes of one call are told together once it returns, and the changes of a
+ * transaction once it is committed or rolled back. A listener can be told on the thread that changed the list, or
+ * on an executor of its own, in which case the batches that pile up while it is busy are joined into one.
+ * </p>
  */
 public class TaskList {
 
     private ArrayList<Task> tasks;
+    private final HashMap<Integer, Task> tasksById = new HashMap<>();
+    private TaskIndex index;
+    private final HashMap<String, Integer> contentCounts = new HashMap<>();
+    private final DependencyGraph dependencies = new DependencyGraph();
+    private int nextId = 1;
+    private Deque<Runnable> undoLog;
+    private long version;
+    private final List<Subscription> listeners = new CopyOnWriteArrayList<>();
+    private final ArrayList<TaskChange> pendingChanges = new ArrayList<>();
+    private int batchDepth;
+    private final RenderCache renderCache = new RenderCache(RenderCache.CAPACITY);
 
     /**
      * Constructs an empty {@code TaskList}.
@@ -24,11 +79,30 @@ public class TaskList {
 
     /**
      * Constructs a {@code TaskList} with the specified list of tasks.
+     * <p>
+     * Tasks that already have IDs, such as those loaded from storage, keep them. Tasks without an ID, or whose ID
+     * clashes with an earlier task, are assigned a new one. Blockers that are not in the list, or that would create
+     * a cycle, are dropped.
+     * </p>
      *
      * @param tasks An {@code ArrayList} of {@code Task} objects to initialize the task list.
      */
     public TaskList(ArrayList<Task> tasks) {
         this.tasks = tasks;
+        for (Task task : tasks) {
+            this.nextId = Math.max(this.nextId, task.getId() + 1);
+        }
+        for (Task task : tasks) {
+            this.index(task);
+        }
+        for (Task task : tasks) {
+            for (int blockerId : new ArrayList<>(task.getBlockerIds())) {
+                Task blocker = this.tasksById.get(blockerId);
+                if (blocker == null || !this.dependencies.addEdge(task, blocker)) {
+                    task.removeBlocker(blockerId);
+                }
+            }
+        }
     }
 
     /**
@@ -45,6 +119,27 @@ public class TaskList {
         return this.tasks.get(index - 1);
     }
 
+    /**
+     * Returns a read-only view of the tasks in the list, in order.
+     * <p>
+     * The view reflects changes to the list, except that it keeps the old order after the list is sorted.
+     * </p>
+     *
+     * @return An unmodifiable view of the tasks.
+     */
+    public List<Task> getTasks() {
+        return Collections.unmodifiableList(this.tasks);
+    }
+
+    /**
+     * Returns the version of the list, which increases whenever a task is added, removed, reordered or changed.
+     *
+     * @return The current version.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
     /**
      * Returns the number of tasks in the list.
      *
@@ -61,6 +156,9 @@ public class TaskList {
      */
     public void addTask(Task task) {
         this.tasks.add(task);
+        this.index(task);
+        this.recordUndo(() -> this.deleteTask(this.tasks.size()));
+        this.recordChange(TaskChange.Kind.ADDED, task, this.tasks.size());
     }
 
     /**
@@ -74,7 +172,20 @@ public class TaskList {
      * @throws IndexOutOfBoundsException If the index is out of range.
      */
     public Task deleteTask(int index) {
-        return this.tasks.remove(index - 1);
+        Task task = this.tasks.remove(index - 1);
+        List<Task> dependents = this.unindex(task);
+        this.recordUndo(() -> {
+            this.tasks.add(index - 1, task);
+            this.reindex(task, dependents);
+            this.recordChange(TaskChange.Kind.ADDED, task, index);
+        });
+        this.batchDepth++;
+        this.recordChange(TaskChange.Kind.REMOVED, task, index);
+        for (Task dependent : dependents) {
+            this.recordChange(TaskChange.Kind.UPDATED, dependent, 0);
+        }
+        this.endBatch();
+        return task;
     }
 
     /**
@@ -91,8 +202,584 @@ public class TaskList {
      *
      */
     public void sortByDescription() {
+        ArrayList<Task> unsorted = this.tasks;
+        this.recordUndo(() -> {
+            this.tasks = unsorted;
+            this.recordChange(TaskChange.Kind.REORDERED, null, 0);
+        });
         this.tasks = (ArrayList<Task>) this.tasks.stream()
                 .sorted((t1, t2) -> t1.getDesc().compareToIgnoreCase(t2.getDesc()))
                 .collect(Collectors.toList());
+        this.recordChange(TaskChange.Kind.REORDERED, null, 0);
+    }
+
+    /**
+     * Checks if the list already contains a task with the same content as the given task.
+     *
+     * @param task The task to check, which need not be in the list.
+     * @return {@code true} if a task with the same {@linkplain Task#getContentKey() content key} is in the list.
+     */
+    public boolean containsDuplicate(Task task) {
+        return this.contentCounts.containsKey(task.getContentKey());
+    }
+
+    /**
+     * Removes every task with the same content as an earlier task in the list.
+     * <p>
+     * The list is compacted in a single pass, keeping the first task with each content key, so the cost is linear
+     * in the size of the list.
+     * </p>
+     *
+     * @return The tasks that were removed, in the order they appeared in the list.
+     */
+    public List<Task> removeDuplicates() {
+        List<Task> duplicates = new ArrayList<>();
+        if (this.contentCounts.size() == this.tasks.size()) {
+            return duplicates;
+        }
+
+        HashSet<String> seen = new HashSet<>();
+        ArrayList<Task> kept = new ArrayList<>(this.contentCounts.size());
+        List<List<Task>> duplicateDependents = new ArrayList<>();
+        List<Integer> duplicateIndexes = new ArrayList<>();
+        for (int i = 0; i < this.tasks.size(); i++) {
+            Task task = this.tasks.get(i);
+            if (seen.add(task.getContentKey())) {
+                kept.add(task);
+            } else {
+                duplicates.add(task);
+                duplicateDependents.add(this.unindex(task));
+                duplicateIndexes.add(i + 1);
+            }
+        }
+
+        ArrayList<Task> original = this.tasks;
+        this.recordUndo(() -> {
+            this.tasks = original;
+            for (int i = 0; i < duplicates.size(); i++) {
+                this.reindex(duplicates.get(i), duplicateDependents.get(i));
+                this.recordChange(TaskChange.Kind.ADDED, duplicates.get(i), duplicateIndexes.get(i));
+            }
+        });
+        this.tasks = kept;
+
+        // Each duplicate is told as removed from where it is once the duplicates before it have been removed
+        this.batchDepth++;
+        for (int i = 0; i < duplicates.size(); i++) {
+            this.recordChange(TaskChange.Kind.REMOVED, duplicates.get(i), duplicateIndexes.get(i) - i);
+            for (Task dependent : duplicateDependents.get(i)) {
+                this.recordChange(TaskChange.Kind.UPDATED, dependent, 0);
+            }
+        }
+        this.endBatch();
+        return duplicates;
+    }
+
+    /**
+     * Retrieves the task with the specified stable ID.
+     *
+     * @param id The ID of the task.
+     * @return The {@code Task} with that ID, or {@code null} if it is not in the list.
+     */
+    public Task getTaskById(int id) {
+        return this.tasksById.get(id);
+    }
+
+    /**
+     * Adds a tag to a task in this list and updates the tag index.
+     *
+     * @param task The task to tag.
+     * @param tag The normalised tag to add.
+     * @return {@code true} if the task did not already have the tag.
+     */
+    public boolean tagTask(Task task, String tag) {
+        if (!task.addTag(tag)) {
+            return false;
+        }
+        if (this.index != null) {
+            this.index.addTag(task, tag);
+        }
+        this.recordUndo(() -> this.untagTask(task, tag));
+        this.recordChange(TaskChange.Kind.UPDATED, task, 0);
+        return true;
+    }
+
+    /**
+     * Removes a tag from a task in this list and updates the tag index.
+     *
+     * @param task The task to untag.
+     * @param tag The normalised tag to remove.
+     * @return {@code true} if the task had the tag.
+     */
+    public boolean untagTask(Task task, String tag) {
+        if (!task.removeTag(tag)) {
+            return false;
+        }
+        if (this.index != null) {
+            this.index.removeTag(task, tag);
+        }
+        this.recordUndo(() -> this.tagTask(task, tag));
+        this.recordChange(TaskChange.Kind.UPDATED, task, 0);
+        return true;
+    }
+
+    /**
+     * Changes the priority of a task in this list and updates the priority index.
+     *
+     * @param task The task to update.
+     * @param priority The new priority of the task.
+     */
+    public void setPriority(Task task, Priority priority) {
+        Priority oldPriority = task.getPriority();
+        task.setPriority(priority);
+        if (this.index != null) {
+            this.index.updatePriority(task, oldPriority);
+        }
+        this.dependencies.updatePriority(task);
+        this.recordUndo(() -> this.setPriority(task, oldPriority));
+        this.recordChange(TaskChange.Kind.UPDATED, task, 0);
+    }
+
+    /**
+     * Marks a task in this list as done and updates the status index and the tasks it blocks.
+     *
+     * @param task The task to mark.
+     */
+    public void markTask(Task task) {
+        if (task.getStatus()) {
+            return;
+        }
+        task.markAsDone();
+        if (this.index != null) {
+            this.index.updateStatus(task);
+        }
+        this.dependencies.updateStatus(task);
+        this.recordUndo(() -> this.unmarkTask(task));
+        this.recordChange(TaskChange.Kind.UPDATED, task, 0);
+    }
+
+    /**
+     * Marks a task in this list as not done and updates the status index and the tasks it blocks.
+     *
+     * @param task The task to unmark.
+     */
+    public void unmarkTask(Task task) {
+        if (!task.getStatus()) {
+            return;
+        }
+        task.markAsNotDone();
+        if (this.index != null) {
+            this.index.updateStatus(task);
+        }
+        this.dependencies.updateStatus(task);
+        this.recordUndo(() -> this.markTask(task));
+        this.recordChange(TaskChange.Kind.UPDATED, task, 0);
+    }
+
+    /**
+     * Records that a task in this list is blocked by another task in this list.
+     *
+     * @param task The task that is blocked.
+     * @param blocker The task that must be done first.
+     * @return {@code false} if the blocker is the task itself or is already blocked by the task, directly or
+     *         indirectly, in which case nothing is changed.
+     */
+    public boolean blockTask(Task task, Task blocker) {
+        if (!this.dependencies.addEdge(task, blocker)) {
+            return false;
+        }
+        if (task.addBlocker(blocker.getId())) {
+            this.recordUndo(() -> this.unblockTask(task, blocker));
+            this.recordChange(TaskChange.Kind.UPDATED, task, 0);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the record that a task in this list is blocked by another task in this list.
+     *
+     * @param task The task that is blocked.
+     * @param blocker The task that had to be done first.
+     * @return {@code true} if the task was blocked by the other task.
+     */
+    public boolean unblockTask(Task task, Task blocker) {
+        if (!this.dependencies.removeEdge(task, blocker)) {
+            return false;
+        }
+        task.removeBlocker(blocker.getId());
+        this.recordUndo(() -> this.blockTask(task, blocker));
+        this.recordChange(TaskChange.Kind.UPDATED, task, 0);
+        return true;
+    }
+
+    /**
+     * Returns the tasks that are not done and are not blocked by any task that is not done.
+     * <p>
+     * The tasks are taken from a heap of ready tasks that is maintained as tasks are marked, so the cost does not
+     * depend on the size of the list.
+     * </p>
+     *
+     * @param limit The maximum number of tasks to return.
+     * @return The ready tasks, highest priority first, then earliest date, then in the order they were added.
+     */
+    public List<Task> getReadyTasks(int limit) {
+        return this.dependencies.ready(limit);
+    }
+
+    /**
+     * Returns the secondary indexes of this list, building them from every task in the list if they have not been
+     * used before.
+     *
+     * @return The {@code TaskIndex} maintained by this list.
+     */
+    public TaskIndex getIndex() {
+        if (this.index == null) {
+            TaskIndex built = new TaskIndex();
+            for (Task task : this.tasks) {
+                built.add(task);
+            }
+            this.index = built;
+        }
+        return this.index;
+    }
+
+    /**
+     * Returns the IDs of the tasks that have all of the given tags and, if given, the given priority.
+     * <p>
+     * The result is computed by intersecting the per-tag and per-priority bitmaps, starting from the smallest, so
+     * its cost depends on the size of the indexes involved rather than the size of the list.
+     * </p>
+     *
+     * @param tags The normalised tags every matching task must have.
+     * @param priority The priority every matching task must have, or {@code null} to match any priority.
+     * @return A bitmap of the IDs of the matching tasks.
+     */
+    public CompressedBitmap filterIds(Collection<String> tags, Priority priority) {
+        List<CompressedBitmap> bitmaps = new ArrayList<>();
+        for (String tag : tags) {
+            bitmaps.add(this.getIndex().tagged(tag));
+        }
+        if (priority != null) {
+            bitmaps.add(this.getIndex().withPriority(priority));
+        }
+        if (bitmaps.isEmpty()) {
+            return this.getIndex().all().copy();
+        }
+
+        bitmaps.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+        CompressedBitmap result = bitmaps.get(0).copy();
+        for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+            result = CompressedBitmap.and(result, bitmaps.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the tasks with the given IDs, in ascending order of ID.
+     *
+     * @param ids A bitmap of task IDs, such as one returned by {@link #filterIds}.
+     * @return The tasks with those IDs that are still in the list.
+     */
+    public List<Task> getTasksByIds(CompressedBitmap ids) {
+        List<Task> matches = new ArrayList<>(ids.cardinality());
+        ids.forEach(id -> {
+            Task task = this.tasksById.get(id);
+            if (task != null) {
+                matches.add(task);
+            }
+        });
+        return matches;
+    }
+
+    /**
+     * Starts a transaction, so that the changes made until it is committed can be rolled back.
+     *
+     * @throws IllegalStateException If a transaction is already open.
+     */
+    public void beginTransaction() {
+        if (this.undoLog != null) {
+            throw new IllegalStateException("A transaction is already open");
+        }
+        this.undoLog = new ArrayDeque<>();
+    }
+
+    /**
+     * Ends the open transaction, keeping its changes.
+     */
+    public void commitTransaction() {
+        this.undoLog = null;
+        this.publishChanges();
+    }
+
+    /**
+     * Ends the open transaction, undoing its changes in the reverse order they were made.
+     */
+    public void rollbackTransaction() {
+        Deque<Runnable> changes = this.undoLog;
+        this.undoLog = null;
+        this.batchDepth++;
+        while (changes != null && !changes.isEmpty()) {
+            changes.pop().run();
+        }
+        this.endBatch();
+    }
+
+    /**
+     * Adds a listener that is told about changes to the list on the thread that changes it.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(TaskListListener listener) {
+        this.listeners.add(new Subscription(listener, null));
+    }
+
+    /**
+     * Adds a listener that is told about changes to the list on an executor.
+     * <p>
+     * The listener is told about one batch at a time, in order. Batches that are made while it is being told about
+     * an earlier one, or before the executor gets to it, are joined into one.
+     * </p>
+     *
+     * @param listener The listener.
+     * @param executor The executor that tells the listener.
+     */
+    public void addListener(TaskListListener listener, Executor executor) {
+        this.listeners.add(new Subscription(listener, executor));
+    }
+
+    /**
+     * Removes a listener, which is no longer told about changes made after it is removed.
+     *
+     * @param listener The listener.
+     */
+    public void removeListener(TaskListListener listener) {
+        this.listeners.removeIf(subscription -> subscription.listener == listener);
+    }
+
+    /**
+     * Records how to undo a change if a transaction is open.
+     */
+    private void recordUndo(Runnable undo) {
+        if (this.undoLog != null) {
+            this.undoLog.push(undo);
+        }
+    }
+
+    /**
+     * Records that the list has changed, and tells the listeners unless a batch or transaction is open.
+     */
+    private void recordChange(TaskChange.Kind kind, Task task, int index) {
+        this.version++;
+        if (this.listeners.isEmpty()) {
+            return;
+        }
+        this.pendingChanges.add(new TaskChange(kind, this.version, task, index));
+        this.publishChanges();
+    }
+
+    private void endBatch() {
+        this.batchDepth--;
+        this.publishChanges();
+    }
+
+    private void publishChanges() {
+        if (this.pendingChanges.isEmpty() || this.batchDepth > 0 || this.undoLog != null) {
+            return;
+        }
+        List<TaskChange> batch = List.copyOf(this.pendingChanges);
+        this.pendingChanges.clear();
+        for (Subscription subscription : this.listeners) {
+            subscription.tell(batch);
+        }
+    }
+
+    private void index(Task task) {
+        if (task.getId() == Task.UNASSIGNED_ID || this.tasksById.containsKey(task.getId())) {
+            task.setId(this.nextId);
+        }
+        this.nextId = Math.max(this.nextId, task.getId() + 1);
+        this.tasksById.put(task.getId(), task);
+        task.attachRenderCache(this.renderCache);
+        if (this.index != null) {
+            this.index.add(task);
+        }
+        this.contentCounts.merge(task.getContentKey(), 1, Integer::sum);
+        this.dependencies.add(task);
+    }
+
+    /**
+     * Removes a task from every index, and returns the tasks it was blocking, which are no longer blocked by it.
+     */
+    private List<Task> unindex(Task task) {
+        List<Task> dependents = new ArrayList<>();
+        for (int dependentId : this.dependencies.dependentsOf(task.getId())) {
+            Task dependent = this.tasksById.get(dependentId);
+            dependent.removeBlocker(task.getId());
+            dependents.add(dependent);
+        }
+        this.dependencies.remove(task);
+        this.tasksById.remove(task.getId());
+        if (this.index != null) {
+            this.index.remove(task);
+        }
+        this.contentCounts.computeIfPresent(task.getContentKey(), (key, count) -> count == 1 ? null : count - 1);
+        task.releaseCachedStrings();
+        return dependents;
+    }
+
+    /**
+     * Adds a task that was removed by {@link #unindex(Task)} back to every index, with the same blockers and
+     * dependents as before.
+     */
+    private void reindex(Task task, List<Task> dependents) {
+        this.index(task);
+        for (int blockerId : task.getBlockerIds()) {
+            this.dependencies.addEdge(task, this.tasksById.get(blockerId));
+        }
+        for (Task dependent : dependents) {
+            this.blockTask(dependent, task);
+        }
+    }
+
+    /**
+     * Returns the occurrences of all tasks within the given period, in chronological order.
+     * <p>
+     * The per-task iterators are merged lazily with a priority queue, so each {@link RecurringTask} only generates
+     * the occurrences that are actually consumed, and occurrences outside the period are never generated.
+     * </p>
+     *
+     * @param from The start of the period, inclusive.
+     * @param to The end of the period, inclusive.
+     * @return An iterator over the occurrences within the period.
+     */
+    public Iterator<Occurrence> occurrencesBetween(LocalDateTime from, LocalDateTime to) {
+        return this.occurrencesBetween(from, Task.UNASSIGNED_ID, to);
+    }
+
+    /**
+     * Returns the occurrences of all tasks within the given period, in chronological order, leaving out the
+     * occurrences at the very start of the period of the tasks with IDs lower than the given one.
+     * <p>
+     * Occurrences at the same time are ordered by the IDs of their tasks, so this resumes a listing of occurrences
+     * at the occurrence of the task with the given ID, without generating the occurrences before it.
+     * </p>
+     *
+     * @param from The start of the period, inclusive.
+     * @param fromId The ID of the task whose occurrence at the start of the period comes first.
+     * @param to The end of the period, inclusive.
+     * @return An iterator over the occurrences within the period.
+     */
+    public Iterator<Occurrence> occurrencesBetween(LocalDateTime from, int fromId, LocalDateTime to) {
+        PriorityQueue<TaskOccurrences> queue = new PriorityQueue<>(
+                Comparator.comparing((TaskOccurrences occurrences) -> occurrences.head)
+                        .thenComparingInt(occurrences -> occurrences.task.getId()));
+        for (Task task : this.tasks) {
+            Iterator<LocalDateTime> times = task.occurrencesBetween(from, to);
+            if (!times.hasNext()) {
+                continue;
+            }
+            TaskOccurrences occurrences = new TaskOccurrences(task, times);
+            boolean isBeforeStart = task.getId() < fromId && occurrences.head.equals(from);
+            if (!isBeforeStart || occurrences.advance()) {
+                queue.add(occurrences);
+            }
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !queue.isEmpty();
+            }
+
+            @Override
+            public Occurrence next() {
+                TaskOccurrences earliest = queue.poll();
+                if (earliest == null) {
+                    throw new NoSuchElementException();
+                }
+                Occurrence occurrence = new Occurrence(earliest.task, earliest.head);
+                if (earliest.advance()) {
+                    queue.add(earliest);
+                }
+                return occurrence;
+            }
+        };
+    }
+
+    /**
+     * Holds a listener, and the changes waiting to be told to it if it is told on an executor.
+     */
+    private static class Subscription {
+        private final TaskListListener listener;
+        private final Executor executor;
+        private final ArrayList<TaskChange> queued = new ArrayList<>();
+        private boolean isScheduled;
+
+        Subscription(TaskListListener listener, Executor executor) {
+            this.listener = listener;
+            this.executor = executor;
+        }
+
+        void tell(List<TaskChange> batch) {
+            if (this.executor == null) {
+                this.listener.tasksChanged(batch);
+                return;
+            }
+            synchronized (this) {
+                this.queued.addAll(batch);
+                if (this.isScheduled) {
+                    return;
+                }
+                this.isScheduled = true;
+            }
+            this.executor.execute(this::drain);
+        }
+
+        /**
+         * Tells the listener about every queued change, and schedules itself again if more are queued meanwhile.
+         */
+        private void drain() {
+            List<TaskChange> batch;
+            synchronized (this) {
+                batch = List.copyOf(this.queued);
+                this.queued.clear();
+            }
+            try {
+                this.listener.tasksChanged(batch);
+            } finally {
+                boolean isMore;
+                synchronized (this) {
+                    isMore = !this.queued.isEmpty();
+                    this.isScheduled = isMore;
+                }
+                if (isMore) {
+                    this.executor.execute(this::drain);
+                }
+            }
+        }
+    }
+
+    /**
+     * Holds the pending occurrences of one task while they are merged by {@link #occurrencesBetween}.
+     */
+    private static class TaskOccurrences {
+
+        private final Task task;
+        private final Iterator<LocalDateTime> times;
+        private LocalDateTime head;
+
+        TaskOccurrences(Task task, Iterator<LocalDateTime> times) {
+            this.task = task;
+            this.times = times;
+            this.head = times.next();
+        }
+
+        boolean advance() {
+            if (!this.times.hasNext()) {
+                return false;
+            }
+            this.head = this.times.next();
+            return true;
+        }
     }
 }
@@ -0,0 +1,22 @@
+package talkie.task;
+
+import java.util.List;
+
+/**
+ * Listens for changes to a {@link TaskList}, such as to keep a view or a derived structure up to date without
+ * scanning the whole list.
+ */
+@FunctionalInterface
+public interface TaskListListener {
+
+    /**
+     * Called with a batch of changes made to the list.
+     * <p>
+     * The changes are in the order they were made, with increasing sequence numbers, and every change is in
+     * exactly one batch.
+     * </p>
+     *
+     * @param changes The changes, which the listener must not modify.
+     */
+    void tasksChanged(List<TaskChange> changes);
+}
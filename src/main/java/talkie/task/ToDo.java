@@ -1,5 +1,7 @@
 package talkie.task;
 
+import java.io.IOException;
+
 /**
  * Represents a task with no specific deadline or time, commonly referred to as a "ToDo".
  * <p>
@@ -18,6 +20,11 @@ public class ToDo extends Task {
         super(desc);
     }
 
+    @Override
+    public String getType() {
+        return "T";
+    }
+
     /**
      * Serializes the ToDo task to a string format for storage or retrieval.
      * <p>
@@ -32,15 +39,17 @@ public class ToDo extends Task {
     }
 
     /**
-     * Returns a string representation of the ToDo task for display purposes.
+     * Writes the display form of the ToDo task to an output.
      * <p>
      * The format is: "[T] description", where "[T]" is a label indicating the task type.
      * </p>
      *
-     * @return A string representing the ToDo task for display.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
      */
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    protected void appendDisplayTo(Appendable out) throws IOException {
+        out.append("[T]");
+        super.appendDisplayTo(out);
     }
 }
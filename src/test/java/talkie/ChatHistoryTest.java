@@ -0,0 +1,31 @@
+package talkie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ChatHistoryTest {
+
+    @Test
+    public void testTrimSpillsOldestMessages() throws IOException {
+        Path file = Files.createTempDirectory("talkie").resolve("history.txt");
+        ChatHistory history = new ChatHistory(4, file);
+        List<ChatMessage> messages = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            messages.add(new ChatMessage(ChatMessage.Sender.USER, "message " + i));
+        }
+        assertEquals(0, history.trim(messages), "Nothing should be spilled while within capacity");
+
+        messages.add(new ChatMessage(ChatMessage.Sender.TALKIE, "message 5"));
+        assertEquals(2, history.trim(messages));
+        assertEquals(3, messages.size());
+        assertEquals("message 3", messages.get(0).getText());
+        assertEquals(List.of("You: message 1", "You: message 2"), Files.readAllLines(file));
+    }
+}
@@ -0,0 +1,93 @@
+package talkie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import talkie.components.Cancellation;
+
+public class CommandExecutorTest {
+
+    @Test
+    public void testCommandsRunInOrder() throws Exception {
+        List<String> ran = new ArrayList<>();
+        CommandExecutor<String> executor = new CommandExecutor<>(input -> {
+            ran.add(input);
+            return input.toUpperCase();
+        });
+
+        CompletableFuture<String> first = executor.submit("list");
+        CompletableFuture<String> second = executor.submit("sort");
+        assertEquals("SORT", second.get());
+        assertEquals("LIST", first.get());
+        assertEquals(List.of("list", "sort"), ran, "Commands should run one at a time in the order submitted");
+        executor.shutdown();
+    }
+
+    @Test
+    public void testCancelledCommandIsSkipped() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> ran = new ArrayList<>();
+        CommandExecutor<String> executor = new CommandExecutor<>(input -> {
+            ran.add(input);
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return input;
+        });
+
+        CompletableFuture<String> slow = executor.submit("slow");
+        started.await();
+        CompletableFuture<String> queued = executor.submit("queued");
+        queued.cancel(true);
+        release.countDown();
+
+        assertEquals("slow", slow.get());
+        assertTrue(queued.isCancelled());
+        executor.submit("last").get();
+        assertEquals(List.of("slow", "last"), ran, "A cancelled command should not be run");
+        executor.shutdown();
+    }
+
+    @Test
+    public void testRunningCommandStopsOnlyWhenItChecks() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> reached = new ArrayList<>();
+        CommandExecutor<String> executor = new CommandExecutor<>(input -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!Thread.currentThread().isInterrupted()) {
+                reached.add(input + " finished waiting");
+            }
+            Cancellation.check("The listing");
+            reached.add(input + " checked");
+            return input;
+        });
+
+        CompletableFuture<String> running = executor.submit("list");
+        started.await();
+        running.cancel(false);
+        release.countDown();
+        executor.submit("next").get();
+
+        assertTrue(running.isCancelled());
+        assertEquals(List.of("list finished waiting", "next finished waiting", "next checked"), reached,
+                "A running command should not be interrupted, and should stop only where it checks");
+        executor.shutdown();
+    }
+}
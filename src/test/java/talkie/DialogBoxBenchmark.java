@@ -0,0 +1,66 @@
+package talkie;
+
+import java.util.concurrent.CountDownLatch;
+
+import javafx.application.Platform;
+
+/**
+ * Measures how long it takes to create a {@link DialogBox}, and to show a new message in one that already exists, as
+ * the message list does when it reuses a cell.
+ * <p>
+ * Run with <code>java -cp build/classes/java/main:build/classes/java/test:build/resources/main
+ * talkie.DialogBoxBenchmark</code>, with JavaFX on the module or class path. The JavaFX toolkit is started, but no
+ * window is shown.
+ * </p>
+ */
+public class DialogBoxBenchmark {
+
+    private static final int WARM_UP_ROUNDS = 20_000;
+    private static final int ROUNDS = 200_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(() -> {
+            try {
+                run("create dialog box", DialogBoxBenchmark::create);
+                DialogBox reused = DialogBox.getTalkieDialog("", MainWindow.TALKIE_IMAGE);
+                run("reuse dialog box", i -> {
+                    reused.setText("message " + i);
+                    return reused.getChildren().size();
+                });
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    private static int create(int i) {
+        DialogBox dialog = i % 2 == 0
+                ? DialogBox.getUserDialog("message " + i, MainWindow.USER_IMAGE)
+                : DialogBox.getTalkieDialog("message " + i, MainWindow.TALKIE_IMAGE);
+        return dialog.getChildren().size();
+    }
+
+    private static void run(String name, Step step) {
+        long checksum = 0;
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            checksum += step.run(i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            checksum += step.run(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-18s %,10.2f us/message (checksum %d)%n", name, elapsed / 1e3 / ROUNDS, checksum);
+    }
+
+    /**
+     * Builds or updates one message into a checksum, so the work cannot be optimised away.
+     */
+    private interface Step {
+        int run(int i);
+    }
+}
@@ -0,0 +1,26 @@
+package talkie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TalkieTest {
+
+    @Test
+    public void testBatchRunsPipelinesAndTransactions() throws Exception {
+        Path directory = Files.createTempDirectory("talkie");
+        Path data = directory.resolve("tasks.txt");
+        Path script = directory.resolve("script.txt");
+        Files.write(script, List.of("todo x; todo y; mark 99", "begin; todo z; mark 99; commit", "todo w"));
+
+        int failureCount = new Talkie(data.toString()).runBatch(script, true);
+
+        assertEquals(2, failureCount, "A pipeline that stops part way should count as one failure");
+        assertEquals(List.of("T | 0 | x | id:1", "T | 0 | y | id:2", "T | 0 | w | id:4"), Files.readAllLines(data),
+                "A plain pipeline should keep the changes before the failure, and a transaction should undo them");
+    }
+}
@@ -0,0 +1,78 @@
+package talkie.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import talkie.components.CommandLexer;
+import talkie.components.Ui;
+import talkie.exception.TalkieException;
+import talkie.task.Deadline;
+import talkie.task.TaskList;
+import talkie.task.ToDo;
+
+public class PageCursorTest {
+
+    @Test
+    public void testLocateAfterChanges() throws IOException, TalkieException {
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTask(new ToDo("task " + i));
+        }
+        Ui ui = new Ui();
+        PageCursor.finishPage(taskList.getTasks(), null, 0, 2, 2, taskList.getVersion(), ui, new StringBuilder());
+        PageCursor cursor = PageCursor.decode(ui.getPageCursor(), "more");
+        assertEquals(2, cursor.locate(taskList.getTasks(), taskList.getVersion()));
+
+        taskList.deleteTask(1);
+        assertEquals(1, cursor.locate(taskList.getTasks(), taskList.getVersion()),
+                "The next page should start at the same task after an earlier task is deleted");
+
+        taskList.deleteTask(2);
+        assertEquals(2, cursor.locate(taskList.getTasks(), taskList.getVersion()),
+                "The next page should start at the position it was made at after its first task is deleted");
+    }
+
+    @Test
+    public void testLastPageForgetsCursor() throws IOException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("task"));
+        Ui ui = new Ui();
+        ui.setPageCursor("stale");
+        PageCursor.finishPage(taskList.getTasks(), null, 0, 1, 2, taskList.getVersion(), ui, new StringBuilder());
+        assertNull(ui.getPageCursor(), "There should be no cursor after the last page");
+    }
+
+    @Test
+    public void testOccurrencesResumeAfterTies() throws IOException, TalkieException {
+        LocalDateTime due = LocalDateTime.of(2024, 3, 1, 18, 0);
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Deadline("first", due));
+        taskList.addTask(new Deadline("second", due));
+        taskList.addTask(new Deadline("third", due));
+        CommandLexer lexer = new CommandLexer();
+        lexer.tokenize("list /page 1 /size 2");
+        Ui ui = new Ui();
+
+        StringBuilder firstPage = new StringBuilder();
+        PageCursor.showOccurrences(taskList, due.minusDays(1), due.plusDays(1), PageRequest.parse(lexer, 1), ui,
+                firstPage);
+        assertTrue(firstPage.toString().contains("second"));
+        assertFalse(firstPage.toString().contains("third"));
+
+        PageCursor cursor = PageCursor.decode(ui.getPageCursor(), "more");
+        assertTrue(cursor.isRange());
+        StringBuilder nextPage = new StringBuilder();
+        cursor.showNextOccurrences(taskList, ui, nextPage);
+        assertTrue(nextPage.toString().contains("third"),
+                "The next page should start at the occurrence after the last one shown, even at the same time");
+        assertFalse(nextPage.toString().contains("second"));
+        assertNull(ui.getPageCursor());
+    }
+}
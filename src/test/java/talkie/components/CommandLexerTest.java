@@ -0,0 +1,53 @@
+package talkie.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import talkie.command.CommandType;
+
+public class CommandLexerTest {
+
+    @Test
+    public void testTokenize() {
+        CommandLexer lexer = new CommandLexer();
+        lexer.tokenize("DeadLine  submit   report /by 2024-03-01 1800 ");
+
+        assertEquals(CommandType.DEADLINE, lexer.commandType(), "The command word should match ignoring case");
+        assertEquals(6, lexer.tokenCount());
+        assertEquals(3, lexer.indexOf("/by", 1));
+        assertEquals("submit   report", lexer.text(1, 3), "Text between tokens should be kept as typed");
+
+        lexer.tokenize("deadlines");
+        assertNull(lexer.commandType(), "Only whole command words should match");
+    }
+
+    @Test
+    public void testIntegers() {
+        CommandLexer lexer = new CommandLexer();
+        lexer.tokenize("mark 12 -3 x 2147483648 +");
+
+        assertTrue(lexer.isInteger(1));
+        assertEquals(12, lexer.intValue(1));
+        assertEquals(-3, lexer.intValue(2));
+        assertFalse(lexer.isInteger(3));
+        assertFalse(lexer.isInteger(4), "Values that do not fit in an int are not integers");
+        assertFalse(lexer.isInteger(5));
+    }
+
+    @Test
+    public void testParseDateTime() {
+        CommandLexer lexer = new CommandLexer();
+        lexer.tokenize("x 2024-02-30 0930 2024-13-01 0930 2024-01-01");
+
+        assertEquals(LocalDateTime.of(2024, 2, 29, 9, 30), lexer.parseDateTime(1),
+                "A day past the end of the month should resolve to the last day");
+        assertNull(lexer.parseDateTime(3), "An invalid month should not parse");
+        assertNull(lexer.parseDateTime(5), "A date without a time should not parse");
+    }
+}
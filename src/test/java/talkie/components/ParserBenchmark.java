@@ -0,0 +1,135 @@
+package talkie.components;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import talkie.command.CommandType;
+import talkie.exception.TalkieException;
+
+/**
+ * Measures the throughput of parsing command lines with {@link CommandLexer} and {@link Parser}, compared with the
+ * approach the parser used before, which split each line into strings, looked the command up with
+ * {@code valueOf} and detected invalid numbers and dates by catching exceptions.
+ * <p>
+ * Run with <code>java -cp build/classes/java/main:build/classes/java/test talkie.components.ParserBenchmark</code>.
+ * </p>
+ */
+public class ParserBenchmark {
+
+    private static final String[] LINES = {
+        "todo read the quarterly report",
+        "deadline submit report /by 2024-03-01 1800",
+        "event team sync /from 2024-03-02 1000 /to 2024-03-02 1100",
+        "mark 12",
+        "unmark x",
+        "delete 3",
+        "priority 4 high",
+        "unknown command",
+    };
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final CommandLexer LEXER = new CommandLexer();
+    private static final int WARM_UP_ROUNDS = 200_000;
+    private static final int ROUNDS = 2_000_000;
+
+    public static void main(String[] args) {
+        run("legacy split/valueOf", ParserBenchmark::legacyParse);
+        run("lexer", ParserBenchmark::lexerParse);
+        run("Parser.getCommand", ParserBenchmark::parserParse);
+    }
+
+    private static void run(String name, LineParser parser) {
+        long checksum = 0;
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            checksum += parser.parse(LINES[i % LINES.length]);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            checksum += parser.parse(LINES[i % LINES.length]);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-22s %,12.0f lines/s (checksum %d)%n", name, ROUNDS * 1e9 / elapsed, checksum);
+    }
+
+    private static int legacyParse(String line) {
+        String[] parts = line.split(" ", 2);
+        CommandType type;
+        try {
+            type = CommandType.valueOf(parts[0].toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+
+        switch (type) {
+        case MARK:
+        case UNMARK:
+        case DELETE:
+        case PRIORITY:
+            String[] words = line.split(" ");
+            try {
+                return Integer.parseInt(words[1]);
+            } catch (NumberFormatException e) {
+                return -2;
+            }
+        case DEADLINE:
+            return legacyDate(parts[1].split("/by ")[1]);
+        case EVENT:
+            String[] eventParts = parts[1].split("/from | /to ");
+            return legacyDate(eventParts[1].trim()) + legacyDate(eventParts[2].trim());
+        default:
+            return parts[1].trim().length();
+        }
+    }
+
+    private static int legacyDate(String text) {
+        try {
+            return LocalDateTime.parse(text, FORMATTER).getDayOfMonth();
+        } catch (DateTimeParseException e) {
+            return -3;
+        }
+    }
+
+    private static int lexerParse(String line) {
+        CommandLexer lexer = LEXER;
+        lexer.tokenize(line);
+        CommandType type = lexer.commandType();
+        if (type == null) {
+            return -1;
+        }
+
+        switch (type) {
+        case MARK:
+        case UNMARK:
+        case DELETE:
+        case PRIORITY:
+            return lexer.isInteger(1) ? lexer.intValue(1) : -2;
+        case DEADLINE:
+            return lexerDate(lexer, lexer.indexOf("/by", 1) + 1);
+        case EVENT:
+            return lexerDate(lexer, lexer.indexOf("/from", 1) + 1) + lexerDate(lexer, lexer.indexOf("/to", 1) + 1);
+        default:
+            return lexer.rest(1).length();
+        }
+    }
+
+    private static int lexerDate(CommandLexer lexer, int token) {
+        LocalDateTime dateTime = lexer.parseDateTime(token);
+        return dateTime == null ? -3 : dateTime.getDayOfMonth();
+    }
+
+    private static int parserParse(String line) {
+        try {
+            return Parser.getCommand(line).isExit() ? 1 : 0;
+        } catch (TalkieException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Parses a command line into a checksum, so the work cannot be optimised away.
+     */
+    private interface LineParser {
+        int parse(String line);
+    }
+}
@@ -0,0 +1,63 @@
+package talkie.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import talkie.task.ToDo;
+
+public class WorkspaceTest {
+
+    @Test
+    public void testLeastRecentlyUsedListSavedAndUnloaded() throws Exception {
+        Path directory = Files.createTempDirectory("talkie");
+        Workspace workspace = new Workspace(directory.resolve("tasks.txt").toString(), 2, e -> { });
+
+        workspace.getTaskList().addTask(new ToDo("read book"));
+        workspace.use("work");
+        workspace.getTaskList().addTask(new ToDo("write report"));
+        workspace.use("home");
+        workspace.getTaskList();
+
+        assertFalse(workspace.isLoaded(Workspace.DEFAULT_LIST), "The least recently used list should be unloaded");
+        assertTrue(workspace.isLoaded("work"));
+        assertEquals(List.of("T | 0 | write report | id:1"), Files.readAllLines(directory.resolve("tasks.work.txt")));
+
+        workspace.use(Workspace.DEFAULT_LIST);
+        assertEquals(1, workspace.getTaskList().size(), "An unloaded list should be loaded again from its file");
+    }
+
+    @Test
+    public void testCheckingListKeepsUsageOrder() throws Exception {
+        Path directory = Files.createTempDirectory("talkie");
+        Workspace workspace = new Workspace(directory.resolve("tasks.txt").toString(), 2, e -> { });
+
+        workspace.getTaskList();
+        workspace.use("work");
+        workspace.getTaskList();
+        assertTrue(workspace.isLoaded(Workspace.DEFAULT_LIST));
+        workspace.use("home");
+        workspace.getTaskList();
+
+        assertFalse(workspace.isLoaded(Workspace.DEFAULT_LIST), "Checking a list should not make it recently used");
+        assertTrue(workspace.isLoaded("work"));
+    }
+
+    @Test
+    public void testListNamesFoundWithoutLoading() throws Exception {
+        Path directory = Files.createTempDirectory("talkie");
+        Files.write(directory.resolve("tasks.projects.txt"), List.of("T | 0 | plan | id:1"));
+        Files.write(directory.resolve("other.txt"), List.of());
+        Workspace workspace = new Workspace(directory.resolve("tasks.txt").toString(), 2, e -> { });
+
+        assertEquals(Set.of("main", "projects"), workspace.getListNames());
+        assertFalse(workspace.isLoaded("projects"));
+    }
+}
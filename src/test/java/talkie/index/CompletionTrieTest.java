@@ -0,0 +1,38 @@
+package talkie.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class CompletionTrieTest {
+
+    @Test
+    public void testCompletionsAreRankedByFrequency() {
+        CompletionTrie trie = new CompletionTrie();
+        for (String word : List.of("bread", "buy", "bake", "buy", "bread", "buy", "milk", "bake")) {
+            trie.add(word);
+        }
+
+        assertEquals(List.of("buy"), trie.complete("b", 1));
+        assertEquals(List.of("buy", "bake", "bread"), trie.complete("b", 3),
+                "Equally frequent words should be in alphabetical order");
+        assertEquals(List.of(), trie.complete("x", 3));
+    }
+
+    @Test
+    public void testRemoveUpdatesRanking() {
+        CompletionTrie trie = new CompletionTrie();
+        trie.add("deadline");
+        trie.add("deadline");
+        trie.add("delete");
+
+        trie.remove("deadline");
+        trie.remove("deadline");
+        assertEquals(List.of("delete"), trie.complete("de", 5));
+        assertEquals(0, trie.count("deadline"));
+        assertFalse(trie.remove("deadline"), "A word with no occurrences left cannot be removed");
+    }
+}
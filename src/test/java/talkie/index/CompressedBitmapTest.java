@@ -0,0 +1,53 @@
+package talkie.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class CompressedBitmapTest {
+
+    @Test
+    public void testAddAndRemove() {
+        CompressedBitmap bitmap = CompressedBitmap.of(3, 70000, 1);
+
+        assertTrue(bitmap.contains(70000), "A value in a second chunk should be found");
+        assertFalse(bitmap.add(3), "Adding a value twice should not change the bitmap");
+        assertTrue(bitmap.remove(70000));
+        assertEquals("[1, 3]", bitmap.toString(), "Values should be kept in ascending order");
+    }
+
+    @Test
+    public void testDenseChunk() {
+        CompressedBitmap evens = new CompressedBitmap();
+        CompressedBitmap all = new CompressedBitmap();
+        for (int i = 0; i < 20000; i++) {
+            all.add(i);
+            if (i % 2 == 0) {
+                evens.add(i);
+            }
+        }
+
+        assertEquals(20000, all.cardinality(), "A chunk above the array limit should keep every value");
+        assertEquals(10000, CompressedBitmap.and(all, evens).cardinality());
+        assertEquals(10000, CompressedBitmap.andNot(all, evens).cardinality());
+        assertTrue(CompressedBitmap.andNot(all, evens).contains(19999));
+        assertEquals(20000, CompressedBitmap.or(evens, CompressedBitmap.andNot(all, evens)).cardinality());
+    }
+
+    @Test
+    public void testIterator() {
+        CompressedBitmap bitmap = CompressedBitmap.of(5, 65535, 65536, 200000);
+        int[] values = new int[4];
+        int i = 0;
+        for (var iterator = bitmap.iterator(); iterator.hasNext(); i++) {
+            values[i] = iterator.nextInt();
+        }
+
+        assertEquals("[5, 65535, 65536, 200000]", Arrays.toString(values),
+                "The iterator should cross chunk boundaries in order");
+    }
+}
@@ -0,0 +1,78 @@
+package talkie.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import talkie.exception.TalkieInvalidArgumentException;
+import talkie.task.Deadline;
+import talkie.task.Task;
+import talkie.task.TaskList;
+import talkie.task.ToDo;
+
+public class QueryPlannerTest {
+
+    private TaskList tasks;
+
+    @BeforeEach
+    public void setUp() {
+        this.tasks = new TaskList();
+        this.tasks.addTask(new ToDo("read book"));
+        this.tasks.addTask(new Deadline("quarterly report", LocalDateTime.of(2024, 3, 1, 18, 0)));
+        this.tasks.addTask(new Deadline("book flights", LocalDateTime.of(2024, 4, 1, 9, 0)));
+        this.tasks.markTask(this.tasks.getTask(3));
+    }
+
+    @Test
+    public void testIndexedQueryMatchesScan() throws TalkieInvalidArgumentException {
+        Query query = Query.parse("type:D done:false BOOK OR \"quarterly report\"", "find");
+        List<Task> matches = QueryPlanner.plan(query, this.tasks).execute();
+
+        assertEquals(1, matches.size());
+        assertEquals("quarterly report", matches.get(0).getDesc());
+    }
+
+    @Test
+    public void testPlannerUsesMostSelectiveIndex() throws TalkieInvalidArgumentException {
+        Query query = Query.parse("done:false due<2024-03-02", "explain");
+        String explanation = QueryPlanner.plan(query, this.tasks).explain();
+
+        assertTrue(explanation.contains("Plan: date index"), "The date index is the most selective path");
+    }
+
+    @Test
+    public void testLimitKeepsFirstMatches() throws TalkieInvalidArgumentException {
+        Query indexed = Query.parse("type:D", "find");
+        List<Task> matches = QueryPlanner.plan(indexed, this.tasks).execute(1);
+        assertEquals(List.of(this.tasks.getTask(2)), matches);
+
+        Query scanned = Query.parse("o", "find");
+        assertEquals(List.of(this.tasks.getTask(1), this.tasks.getTask(2)),
+                QueryPlanner.plan(scanned, this.tasks).execute(2));
+    }
+
+    @Test
+    public void testMatchesInListOrder() throws TalkieInvalidArgumentException {
+        this.tasks.sortByDescription();
+
+        Query indexed = Query.parse("type:D", "find");
+        assertEquals(List.of(this.tasks.getTask(1), this.tasks.getTask(2)),
+                QueryPlanner.plan(indexed, this.tasks).execute());
+
+        Query scanned = Query.parse("o", "find");
+        assertTrue(QueryPlanner.plan(scanned, this.tasks).explain().contains("Plan: full scan"));
+        assertEquals(this.tasks.getTasks(), QueryPlanner.plan(scanned, this.tasks).execute());
+    }
+
+    @Test
+    public void testInvalidQuery() {
+        assertThrows(TalkieInvalidArgumentException.class, () -> Query.parse("priority:urgent", "find"));
+        assertThrows(TalkieInvalidArgumentException.class, () -> Query.parse("(tag:work", "find"));
+    }
+}
@@ -0,0 +1,127 @@
+package talkie.server;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import talkie.Talkie;
+
+/**
+ * Measures how many commands per second a {@link LineServer} answers while it also holds many idle connections and
+ * a client that never reads its responses.
+ * <p>
+ * A server is started on a free port with a fresh data file holding {@value #TASKS} tasks. {@value #IDLE} idle
+ * connections are opened, and one client sends {@code list} commands without ever reading. Then {@value #CLIENTS}
+ * clients each send batches of {@value #BATCH} finds and marks without waiting between commands, and read the
+ * responses, for {@value #SECONDS} seconds.
+ * </p>
+ * <p>
+ * Run with <code>java -cp build/classes/java/main:build/classes/java/test talkie.server.LineServerLoadTest</code>.
+ * Opening the idle connections may need a higher limit on open files, such as <code>ulimit -n 8192</code>.
+ * </p>
+ */
+public class LineServerLoadTest {
+
+    private static final int TASKS = 1_000;
+    private static final int IDLE = 2_000;
+    private static final int CLIENTS = 32;
+    private static final int BATCH = 16;
+    private static final int SECONDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        Path data = Files.createTempDirectory("talkie").resolve("tasks.txt");
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= TASKS; i++) {
+            lines.add("T | 0 | task " + i + (i % 10 == 0 ? " report" : " chore") + " | id:" + i);
+        }
+        Files.write(data, lines);
+
+        LineServer server = new LineServer(new Talkie(data.toString()), 0);
+        server.start();
+        int port = server.getPort();
+        List<Socket> idle = new ArrayList<>();
+        for (int i = 0; i < IDLE; i++) {
+            idle.add(new Socket("localhost", port));
+        }
+        Socket stalled = new Socket("localhost", port);
+        Thread flooder = new Thread(() -> flood(stalled));
+        flooder.setDaemon(true);
+        flooder.start();
+
+        AtomicInteger commands = new AtomicInteger();
+        long end = System.nanoTime() + SECONDS * 1_000_000_000L;
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> running = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            int client = c;
+            running.add(clients.submit(() -> {
+                try (Socket socket = new Socket("localhost", port)) {
+                    OutputStream out = socket.getOutputStream();
+                    BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                            StandardCharsets.UTF_8));
+                    for (int i = 0; System.nanoTime() < end; i += BATCH) {
+                        out.write(batch(client, i).getBytes(StandardCharsets.UTF_8));
+                        out.flush();
+                        for (int answered = 0; answered < BATCH; answered++) {
+                            skipResponse(in);
+                        }
+                        commands.addAndGet(BATCH);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> client : running) {
+            client.get();
+        }
+        clients.shutdown();
+        for (Socket socket : idle) {
+            socket.close();
+        }
+        stalled.close();
+        server.stop();
+
+        System.out.printf("%,d commands, %,.0f commands/s with %,d idle connections%n", commands.get(),
+                commands.get() / (double) SECONDS, IDLE);
+    }
+
+    private static String batch(int client, int start) {
+        StringBuilder batch = new StringBuilder();
+        for (int i = start; i < start + BATCH; i++) {
+            int index = 1 + (client * 31 + i) % TASKS;
+            batch.append(i % 2 == 0 ? "find report" : "mark " + index).append('\n');
+        }
+        return batch.toString();
+    }
+
+    /**
+     * Reads one response, which ends with a blank line.
+     */
+    private static void skipResponse(BufferedReader in) throws Exception {
+        String line = in.readLine();
+        while (line != null && !line.isEmpty()) {
+            line = in.readLine();
+        }
+    }
+
+    private static void flood(Socket socket) {
+        try {
+            OutputStream out = socket.getOutputStream();
+            while (true) {
+                out.write("list\n".getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (Exception e) {
+            // The server stopped reading from this client or the test is over.
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package talkie.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import talkie.Talkie;
+
+public class LineServerTest {
+
+    @Test
+    public void testPipelinedCommandsAnsweredInOrder() throws Exception {
+        Path data = Files.createTempDirectory("talkie").resolve("tasks.txt");
+        LineServer server = new LineServer(new Talkie(data.toString()), 0);
+        server.start();
+
+        try (Socket idle = new Socket("localhost", server.getPort());
+                Socket socket = new Socket("localhost", server.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write("todo read book\r\ntodo buy milk\n\nbye\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.UTF_8));
+            StringBuilder received = new StringBuilder();
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                received.append(line).append('\n');
+            }
+            String text = received.toString();
+            assertTrue(text.indexOf("read book") < text.indexOf("buy milk"), "Responses should come back in order");
+            assertTrue(idle.isConnected(), "An idle connection should not hold up others");
+        } finally {
+            server.stop();
+        }
+        assertEquals(2, Files.readAllLines(data).size(), "bye should save the task list");
+    }
+
+    @Test
+    public void testLinesKeptWhileTooManyCommandsWait() throws Exception {
+        Path data = Files.createTempDirectory("talkie").resolve("tasks.txt");
+        LineServer server = new LineServer(new Talkie(data.toString()), 0);
+        server.start();
+
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            StringBuilder lines = new StringBuilder();
+            for (int i = 1; i <= 100; i++) {
+                lines.append("todo task ").append(i).append('\n');
+            }
+            lines.append("bye\n");
+            OutputStream out = socket.getOutputStream();
+            out.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.UTF_8));
+            while (in.readLine() != null) {
+                // Read every response until bye closes the connection
+            }
+        } finally {
+            server.stop();
+        }
+        assertEquals(100, Files.readAllLines(data).size(), "Lines held back while commands wait should still run");
+    }
+
+    @Test
+    public void testChangesSavedWithoutBye() throws Exception {
+        Path directory = Files.createTempDirectory("talkie");
+        Path data = directory.resolve("tasks.txt");
+        Path alice = directory.resolve("users").resolve("alice.txt");
+        LineServer server = new LineServer(new Talkie(data.toString()),
+                new SessionManager(directory.resolve("users"), 100), 0);
+        server.start();
+
+        try (Socket shared = new Socket("localhost", server.getPort())) {
+            try (Socket user = new Socket("localhost", server.getPort())) {
+                send(user, "user alice\ntodo read book\n");
+                readResponses(reader(user), 2);
+            }
+            for (int i = 0; i < 100 && !(Files.exists(alice) && Files.size(alice) > 0); i++) {
+                Thread.sleep(50);
+            }
+            assertEquals(1, Files.readAllLines(alice).size(), "A user's changes should be saved when they leave");
+
+            send(shared, "todo buy milk\n");
+            readResponses(reader(shared), 1);
+        } finally {
+            server.stop();
+        }
+        assertEquals(1, Files.readAllLines(data).size(), "The shared tasks should be saved when the server stops");
+    }
+
+    @Test
+    public void testPagingKeptForEachConnection() throws Exception {
+        Path data = Files.createTempDirectory("talkie").resolve("tasks.txt");
+        LineServer server = new LineServer(new Talkie(data.toString()), 0);
+        server.start();
+
+        try (Socket first = new Socket("localhost", server.getPort());
+                Socket second = new Socket("localhost", server.getPort())) {
+            BufferedReader firstIn = reader(first);
+            BufferedReader secondIn = reader(second);
+            send(first, "todo read book\ntodo buy milk\nlist /page 1 /size 1\n");
+            assertTrue(readResponses(firstIn, 3).contains("read book"));
+
+            send(second, "more\n");
+            assertTrue(readResponses(secondIn, 1).contains("There are no more tasks to show!"),
+                    "Another connection's page should not be continued");
+
+            send(first, "more\n");
+            assertTrue(readResponses(firstIn, 1).contains("buy milk"));
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static void send(Socket socket, String lines) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(lines.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads responses, each of which ends with a blank line.
+     */
+    private static String readResponses(BufferedReader in, int count) throws IOException {
+        StringBuilder received = new StringBuilder();
+        int read = 0;
+        while (read < count) {
+            String line = in.readLine();
+            read += line.isEmpty() ? 1 : 0;
+            received.append(line).append('\n');
+        }
+        return received.toString();
+    }
+}
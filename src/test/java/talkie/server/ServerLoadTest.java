@@ -0,0 +1,98 @@
+package talkie.server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import talkie.Talkie;
+
+/**
+ * Measures how many requests per second a {@link TalkieServer} answers when many clients use it at once.
+ * <p>
+ * A server is started on a free port with a fresh data file holding {@value #TASKS} tasks. Then {@value #CLIENTS}
+ * clients, each on one kept-alive connection, send a mix of finds, short lists and marks for {@value #SECONDS}
+ * seconds.
+ * </p>
+ * <p>
+ * Run with <code>java -cp build/classes/java/main:build/classes/java/test talkie.server.ServerLoadTest</code>.
+ * </p>
+ */
+public class ServerLoadTest {
+
+    private static final int TASKS = 1_000;
+    private static final int CLIENTS = 32;
+    private static final int SECONDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        Path data = Files.createTempDirectory("talkie").resolve("tasks.txt");
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= TASKS; i++) {
+            lines.add("T | 0 | task " + i + (i % 10 == 0 ? " report" : " chore") + " | id:" + i);
+        }
+        Files.write(data, lines);
+
+        TalkieServer server = new TalkieServer(new Talkie(data.toString()), 0);
+        server.start();
+        String base = "http://localhost:" + server.getPort() + "/tasks";
+        AtomicInteger requests = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        long end = System.nanoTime() + SECONDS * 1_000_000_000L;
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> running = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            int client = c;
+            running.add(clients.submit(() -> {
+                HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                for (int i = 0; System.nanoTime() < end; i++) {
+                    if (!send(http, request(base, client, i))) {
+                        failures.incrementAndGet();
+                    }
+                    requests.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> client : running) {
+            client.get();
+        }
+        clients.shutdown();
+        server.stop();
+
+        System.out.printf("%,d requests, %,d failed, %,.0f requests/s%n", requests.get(), failures.get(),
+                requests.get() / (double) SECONDS);
+    }
+
+    private static HttpRequest request(String base, int client, int i) {
+        switch (i % 4) {
+        case 0:
+            return HttpRequest.newBuilder(URI.create(base + "?q=report")).build();
+        case 1:
+            return HttpRequest.newBuilder(URI.create(base + "?q=done%3Afalse+report")).build();
+        case 2:
+            return HttpRequest.newBuilder(URI.create(base + "/" + (1 + (client * 31 + i) % TASKS) + "/mark"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+        default:
+            return HttpRequest.newBuilder(URI.create(base + "?q=task+" + (1 + (client * 31 + i) % TASKS)))
+                    .build();
+        }
+    }
+
+    private static boolean send(HttpClient http, HttpRequest request) throws InterruptedException {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofString()).statusCode() < 500;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package talkie.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import talkie.Talkie;
+import talkie.exception.TalkieInvalidArgumentException;
+
+public class SessionManagerTest {
+
+    @Test
+    public void testLeastRecentlyUsedUserSavedAndForgotten() throws Exception {
+        Path directory = Files.createTempDirectory("talkie");
+        SessionManager sessions = new SessionManager(directory, 2);
+
+        Talkie alice = sessions.get("alice");
+        alice.getResponse("todo read book");
+        alice.getResponse("todo buy milk");
+        Talkie bob = sessions.get("bob");
+        bob.getResponse("todo walk dog");
+        sessions.get("carol");
+
+        assertEquals(2, Files.readAllLines(directory.resolve("alice.txt")).size(), "Changes should be saved");
+        assertSame(bob, sessions.get("bob"), "Users within the budget should be kept");
+        Talkie reloaded = sessions.get("alice");
+        assertNotSame(alice, reloaded);
+        assertEquals(2, reloaded.getTasks().size());
+    }
+
+    @Test
+    public void testChangedSessionsSaved() throws Exception {
+        Path directory = Files.createTempDirectory("talkie");
+        SessionManager sessions = new SessionManager(directory, 100);
+
+        sessions.get("alice").getResponse("todo read book");
+        sessions.get("bob").getResponse("todo walk dog");
+        assertEquals(0, Files.size(directory.resolve("alice.txt")), "Changes should not be saved by the command alone");
+
+        sessions.save("bob");
+        assertEquals(1, Files.readAllLines(directory.resolve("bob.txt")).size());
+        assertEquals(0, Files.size(directory.resolve("alice.txt")), "Only the named user should be saved");
+
+        sessions.saveAll();
+        assertEquals(1, Files.readAllLines(directory.resolve("alice.txt")).size(),
+                "A user's changes should be saved while they are still in memory");
+    }
+
+    @Test
+    public void testConcurrentLoadsShared() throws Exception {
+        SessionManager sessions = new SessionManager(Files.createTempDirectory("talkie"), 100);
+        CompletableFuture<Talkie> first = CompletableFuture.supplyAsync(() -> load(sessions));
+        CompletableFuture<Talkie> second = CompletableFuture.supplyAsync(() -> load(sessions));
+        assertSame(first.get(), second.get());
+        assertEquals(1, sessions.size());
+    }
+
+    @Test
+    public void testInvalidUserRejected() throws Exception {
+        SessionManager sessions = new SessionManager(Files.createTempDirectory("talkie"), 100);
+        assertThrows(TalkieInvalidArgumentException.class, () -> sessions.get("../alice"));
+    }
+
+    private static Talkie load(SessionManager sessions) {
+        try {
+            return sessions.get("alice");
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package talkie.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import talkie.Talkie;
+
+public class TalkieServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void testRequestsRouted() throws Exception {
+        Path data = Files.createTempDirectory("talkie").resolve("tasks.txt");
+        TalkieServer server = new TalkieServer(new Talkie(data.toString()), 0);
+        server.start();
+
+        try {
+            assertEquals(201, this.send(server, "POST", "/tasks", "todo read \"book\"", null).statusCode());
+            assertEquals(201, this.send(server, "POST", "/tasks", "todo buy milk", null).statusCode());
+            assertEquals(409, this.send(server, "POST", "/tasks", "todo buy milk", null).statusCode(),
+                    "A task that is skipped as a duplicate should not be reported as created");
+            assertEquals(400, this.send(server, "POST", "/tasks", "list", null).statusCode());
+            assertEquals(404, this.send(server, "GET", "/nothing", null, null).statusCode());
+
+            String tasks = this.send(server, "GET", "/tasks", null, null).body();
+            assertTrue(tasks.startsWith("[{\"id\":1,") && tasks.contains("{\"id\":2,"), tasks);
+            assertTrue(tasks.contains("\"description\":\"read \\\"book\\\"\""), "Quotes should be escaped: " + tasks);
+
+            String found = this.send(server, "GET", "/tasks?q=buy%20milk", null, null).body();
+            assertTrue(found.contains("\"id\":2") && !found.contains("\"id\":1"), found);
+
+            assertEquals(200, this.send(server, "DELETE", "/tasks/1", null, null).statusCode());
+            assertEquals(404, this.send(server, "POST", "/tasks/1/mark", null, null).statusCode(),
+                    "A deleted task's ID should not refer to another task");
+            assertEquals(200, this.send(server, "POST", "/tasks/2/mark", null, null).statusCode());
+            tasks = this.send(server, "GET", "/tasks", null, null).body();
+            assertTrue(tasks.startsWith("[{\"id\":2,") && tasks.contains("\"done\":true"), tasks);
+        } finally {
+            server.stop();
+        }
+        assertEquals(1, Files.readAllLines(data).size(), "Changes should be saved");
+    }
+
+    @Test
+    public void testUserHeaderUsesOwnList() throws Exception {
+        Path directory = Files.createTempDirectory("talkie");
+        Path users = directory.resolve("users");
+        TalkieServer server = new TalkieServer(new Talkie(directory.resolve("tasks.txt").toString()),
+                new SessionManager(users, 100), 0);
+        server.start();
+
+        try {
+            assertEquals(201, this.send(server, "POST", "/tasks", "todo read book", "alice").statusCode());
+            assertTrue(this.send(server, "GET", "/tasks", null, "alice").body().contains("read book"));
+            assertEquals("[]", this.send(server, "GET", "/tasks", null, null).body(),
+                    "The shared list should not see a user's tasks");
+            assertEquals("[]", this.send(server, "GET", "/tasks", null, "bob").body());
+        } finally {
+            server.stop();
+        }
+        assertEquals(1, Files.readAllLines(users.resolve("alice.txt")).size());
+    }
+
+    private HttpResponse<String> send(TalkieServer server, String method, String path, String body, String user)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (user != null) {
+            request.header(TalkieServer.USER_HEADER, user);
+        }
+        return this.client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
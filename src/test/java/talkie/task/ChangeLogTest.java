@@ -0,0 +1,59 @@
+package talkie.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ChangeLogTest {
+
+    @Test
+    public void testRepeatedUpdatesLeftOut() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("read book"));
+        ChangeLog log = new ChangeLog(taskList, 16, 1000);
+        long sequence = log.getSequence();
+
+        Task task = taskList.getTask(1);
+        taskList.markTask(task);
+        taskList.tagTask(task, "school");
+        taskList.addTask(new ToDo("buy milk"));
+        taskList.markTask(taskList.getTask(2));
+
+        List<TaskChange> changes = log.since(sequence);
+        assertEquals(2, changes.size(), "Only the last update, and no update of an added task, should be sent");
+        assertEquals(TaskChange.Kind.UPDATED, changes.get(0).getKind());
+        assertEquals(TaskChange.Kind.ADDED, changes.get(1).getKind());
+        assertEquals(List.of(), log.since(log.getSequence()));
+    }
+
+    @Test
+    public void testWholeListNeededWhenChangesDropped() {
+        TaskList taskList = new TaskList();
+        ChangeLog log = new ChangeLog(taskList, 2, 1000);
+        long sequence = log.getSequence();
+
+        taskList.addTask(new ToDo("a"));
+        assertEquals(1, log.since(sequence).size());
+        taskList.addTask(new ToDo("b"));
+        taskList.addTask(new ToDo("c"));
+
+        assertNull(log.since(sequence), "Changes no longer in the log cannot be sent");
+        assertEquals(1, log.since(sequence + 2).size());
+        assertNull(log.since(500), "A sequence number from before the log started cannot be trusted");
+    }
+
+    @Test
+    public void testWholeListNeededAfterSort() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("b"));
+        taskList.addTask(new ToDo("a"));
+        ChangeLog log = new ChangeLog(taskList, 16, 1000);
+        long sequence = log.getSequence();
+
+        taskList.sortByDescription();
+        assertNull(log.since(sequence));
+    }
+}
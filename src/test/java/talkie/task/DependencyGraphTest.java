@@ -0,0 +1,97 @@
+package talkie.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DependencyGraphTest {
+
+    private TaskList taskList;
+    private Task a;
+    private Task b;
+    private Task c;
+
+    @BeforeEach
+    public void setUp() {
+        this.taskList = new TaskList();
+        this.a = new ToDo("a");
+        this.b = new ToDo("b");
+        this.c = new ToDo("c");
+        this.taskList.addTask(this.a);
+        this.taskList.addTask(this.b);
+        this.taskList.addTask(this.c);
+    }
+
+    @Test
+    public void testBlockRejectsCycles() {
+        // c is blocked by b, which is blocked by a, against the order the tasks were added in
+        assertTrue(this.taskList.blockTask(this.b, this.c));
+        assertTrue(this.taskList.blockTask(this.a, this.b));
+
+        assertFalse(this.taskList.blockTask(this.c, this.a), "An edge closing a cycle should be rejected");
+        assertFalse(this.taskList.blockTask(this.a, this.a), "A task should not block itself");
+        assertTrue(this.taskList.blockTask(this.a, this.c), "An edge that agrees with the order should be added");
+    }
+
+    @Test
+    public void testReadyTasksFollowCompletion() {
+        this.taskList.blockTask(this.b, this.a);
+        this.taskList.blockTask(this.c, this.b);
+        this.taskList.setPriority(this.c, Priority.HIGH);
+        assertEquals(List.of(this.a), this.taskList.getReadyTasks(5));
+
+        this.taskList.markTask(this.a);
+        assertEquals(List.of(this.b), this.taskList.getReadyTasks(5));
+
+        this.taskList.markTask(this.b);
+        assertEquals(List.of(this.c), this.taskList.getReadyTasks(5),
+                "A task becomes ready once its blockers are done");
+
+        this.taskList.unmarkTask(this.a);
+        assertEquals(List.of(this.c, this.a), this.taskList.getReadyTasks(5),
+                "Ready tasks should be ordered by priority");
+    }
+
+    @Test
+    public void testDeleteRemovesBlocker() {
+        this.taskList.blockTask(this.b, this.a);
+        this.taskList.deleteTask(1);
+
+        assertTrue(this.b.getBlockerIds().isEmpty(), "A deleted task should no longer block other tasks");
+        assertEquals(List.of(this.b, this.c), this.taskList.getReadyTasks(5));
+    }
+
+    @Test
+    public void testReadyHeapStaysBounded() {
+        DependencyGraph graph = new DependencyGraph();
+        Task first = null;
+        for (int id = 1; id <= 1000; id++) {
+            Task task = new ToDo("task " + id);
+            task.setId(id);
+            graph.add(task);
+            first = id == 1 ? task : first;
+        }
+
+        for (int i = 0; i < 20_000; i++) {
+            first.markAsDone();
+            graph.updateStatus(first);
+            first.markAsNotDone();
+            graph.updateStatus(first);
+        }
+        assertEquals(1000, graph.readyHeapSize(), "Marking a task again and again should not add heap entries");
+
+        for (int id = 1001; id <= 11_000; id++) {
+            Task task = new ToDo("task " + id);
+            task.setId(id);
+            graph.add(task);
+            graph.remove(task);
+        }
+        assertTrue(graph.readyHeapSize() <= 2 * 1000 + 1, "Deleted tasks should not stay in the heap");
+        assertEquals(List.of(first), graph.ready(1));
+    }
+}
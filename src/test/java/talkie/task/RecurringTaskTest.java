@@ -0,0 +1,53 @@
+package talkie.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.Test;
+
+public class RecurringTaskTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 31, 9, 0);
+
+    @Test
+    public void testOccurrencesBetween() {
+        RecurringTask gym = new RecurringTask("gym", START,
+                new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, null, RecurrenceRule.UNBOUNDED));
+        Iterator<LocalDateTime> occurrences = gym.occurrencesBetween(
+                LocalDateTime.of(2030, 1, 1, 0, 0), LocalDateTime.of(2030, 1, 14, 23, 59));
+
+        assertEquals(LocalDateTime.of(2030, 1, 2, 9, 0), occurrences.next(),
+                "An unbounded rule should jump straight to the first occurrence in the period");
+        assertEquals(LocalDateTime.of(2030, 1, 9, 9, 0), occurrences.next());
+        assertFalse(occurrences.hasNext(), "Occurrences after the period should not be generated");
+    }
+
+    @Test
+    public void testMonthlyOccurrencesDoNotDrift() {
+        RecurringTask rent = new RecurringTask("rent", START,
+                new RecurrenceRule(RecurrenceRule.Frequency.MONTHLY, null, 3));
+        Iterator<LocalDateTime> occurrences = rent.occurrences();
+
+        assertEquals(START, occurrences.next());
+        assertEquals(LocalDateTime.of(2024, 2, 29, 9, 0), occurrences.next());
+        assertEquals(LocalDateTime.of(2024, 3, 31, 9, 0), occurrences.next(),
+                "Monthly occurrences should be computed from the start date");
+        assertFalse(occurrences.hasNext(), "A rule with a count should stop after that many occurrences");
+    }
+
+    @Test
+    public void testStringifyTask() {
+        RecurringTask standup = new RecurringTask("standup", START,
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, LocalDateTime.of(2024, 2, 2, 9, 0), 0));
+
+        assertEquals("R | 0 | standup | Jan 31 2024 09:00 | FREQ=DAILY;UNTIL=2024-02-02T09:00",
+                standup.stringifyTask(),
+                "Stringify a recurring task with an until bound");
+        assertEquals("FREQ=DAILY;UNTIL=2024-02-02T09:00",
+                RecurrenceRule.parse("FREQ=DAILY;UNTIL=2024-02-02T09:00").toString(),
+                "A stored rule should parse back to the same rule");
+    }
+}
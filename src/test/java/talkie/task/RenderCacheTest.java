@@ -0,0 +1,38 @@
+package talkie.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class RenderCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedStringsDropped() {
+        RenderCache cache = new RenderCache(2);
+        ToDo first = new ToDo("first");
+        ToDo second = new ToDo("second");
+        ToDo third = new ToDo("third");
+        for (ToDo task : new ToDo[] {first, second, third}) {
+            task.attachRenderCache(cache);
+            task.cacheStorageLine("T | 0 | " + task.getDesc());
+        }
+
+        assertEquals(2, cache.size());
+        assertNull(first.getCachedStorageLine(), "The strings of the least recently used task should be dropped");
+        assertEquals("T | 0 | second", second.getCachedStorageLine());
+    }
+
+    @Test
+    public void testReleasedTaskForgotten() {
+        RenderCache cache = new RenderCache(2);
+        ToDo task = new ToDo("read book");
+        task.attachRenderCache(cache);
+        task.toString();
+        assertEquals(1, cache.size());
+
+        task.releaseCachedStrings();
+        task.toString();
+        assertEquals(0, cache.size(), "A task no longer in the list should not be kept by its cache");
+    }
+}
@@ -1,8 +1,13 @@
 package talkie.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 public class TaskListTest {
@@ -33,4 +38,99 @@ public class TaskListTest {
         TaskList taskList = new TaskList();
         assertTrue(taskList.isEmpty(), "`isEmpty` should return true if the list is empty");
     }
+
+    @Test
+    public void testContainsDuplicate() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("Read  Book"));
+        taskList.addTask(new Deadline("report", LocalDateTime.of(2024, 3, 1, 18, 0)));
+
+        assertTrue(taskList.containsDuplicate(new ToDo("read book")),
+                "Descriptions differing only in case and whitespace should be duplicates");
+        assertFalse(taskList.containsDuplicate(new Deadline("report", LocalDateTime.of(2024, 3, 2, 18, 0))),
+                "Tasks with different dates should not be duplicates");
+
+        taskList.deleteTask(1);
+        assertFalse(taskList.containsDuplicate(new ToDo("read book")),
+                "A deleted task should no longer be a duplicate");
+    }
+
+    @Test
+    public void testRemoveDuplicates() {
+        TaskList taskList = new TaskList();
+        ToDo first = new ToDo("test");
+        taskList.addTask(first);
+        taskList.addTask(new ToDo("test2"));
+        taskList.addTask(new ToDo("TEST"));
+
+        assertEquals(1, taskList.removeDuplicates().size(), "`removeDuplicates` should return the removed tasks");
+        assertEquals(2, taskList.size());
+        assertEquals(first, taskList.getTask(1), "The first of the duplicates should be kept");
+    }
+
+    @Test
+    public void testRollbackTransaction() {
+        TaskList taskList = new TaskList();
+        ToDo first = new ToDo("first");
+        ToDo second = new ToDo("second");
+        taskList.addTask(first);
+        taskList.addTask(second);
+        taskList.blockTask(second, first);
+
+        taskList.beginTransaction();
+        taskList.markTask(first);
+        taskList.setPriority(second, Priority.HIGH);
+        taskList.deleteTask(1);
+        taskList.addTask(new ToDo("third"));
+        taskList.sortByDescription();
+        taskList.rollbackTransaction();
+
+        assertEquals(2, taskList.size(), "Rolling back should undo every change of the transaction");
+        assertEquals(first, taskList.getTask(1));
+        assertFalse(first.getStatus());
+        assertEquals(Priority.NONE, second.getPriority());
+        assertTrue(second.getBlockerIds().contains(first.getId()), "A restored task should still block its dependents");
+        assertEquals(first, taskList.getReadyTasks(5).get(0));
+        assertEquals(1, taskList.getReadyTasks(5).size(), "The blocked task should not be ready again");
+    }
+
+    @Test
+    public void testListenersToldInBatches() {
+        TaskList taskList = new TaskList();
+        List<List<TaskChange>> batches = new ArrayList<>();
+        taskList.addListener(batches::add);
+
+        taskList.addTask(new ToDo("test"));
+        taskList.addTask(new ToDo("TEST"));
+        taskList.beginTransaction();
+        taskList.addTask(new ToDo("test2"));
+        taskList.markTask(taskList.getTask(3));
+        assertEquals(2, batches.size(), "Changes in an open transaction should not be told yet");
+        taskList.commitTransaction();
+        taskList.removeDuplicates();
+
+        assertEquals(4, batches.size());
+        assertEquals(2, batches.get(2).size(), "A transaction should be told as one batch");
+        TaskChange removed = batches.get(3).get(0);
+        assertEquals(TaskChange.Kind.REMOVED, removed.getKind());
+        assertEquals(2, removed.getIndex());
+        assertEquals(taskList.getVersion(), removed.getSequence());
+    }
+
+    @Test
+    public void testExecutorListenerBatchesJoined() {
+        TaskList taskList = new TaskList();
+        List<Runnable> scheduled = new ArrayList<>();
+        List<List<TaskChange>> batches = new ArrayList<>();
+        taskList.addListener(batches::add, scheduled::add);
+
+        taskList.addTask(new ToDo("test"));
+        taskList.addTask(new ToDo("test2"));
+        taskList.sortByDescription();
+        assertEquals(1, scheduled.size(), "A listener that is already scheduled should not be scheduled again");
+        scheduled.get(0).run();
+
+        assertEquals(1, batches.size());
+        assertEquals(List.of(1L, 2L, 3L), batches.get(0).stream().map(TaskChange::getSequence).toList());
+    }
 }
@@ -1,6 +1,9 @@
 package talkie.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
 
 import org.junit.jupiter.api.Test;
 
@@ -35,4 +38,40 @@ public class ToDoTest {
                 test2.toString(),
                 "String of a completed ToDo Task");
     }
+
+    @Test
+    public void testAppendTo() throws IOException {
+        TaskList taskList = new TaskList();
+        ToDo test1 = new ToDo("CS2103T Assignment");
+        taskList.addTask(test1);
+        taskList.tagTask(test1, "school");
+        taskList.setPriority(test1, Priority.HIGH);
+
+        StringBuilder out = new StringBuilder("1. ");
+        test1.appendTo(out);
+        assertEquals("1. [T][ ] CS2103T Assignment #school !high", out.toString(),
+                "`appendTo` should write the same text as `toString` after the existing output");
+        assertEquals(test1.toString(), out.substring(3));
+
+        test1.markAsDone();
+        out.setLength(0);
+        test1.appendTo(out);
+        assertEquals("[T][X] CS2103T Assignment #school !high", out.toString(),
+                "`appendTo` should write the fields of a task whose string is not cached");
+    }
+
+    @Test
+    public void testCachedStringsChangeWithTask() {
+        ToDo test1 = new ToDo("CS2103T Assignment");
+        assertEquals("[T][ ] CS2103T Assignment", test1.toString());
+
+        test1.markAsDone();
+        test1.addTag("school");
+        assertEquals("[T][X] CS2103T Assignment #school", test1.toString(),
+                "The cached string should be rebuilt after the task changes");
+
+        test1.cacheStorageLine("T | 1 | CS2103T Assignment");
+        test1.setPriority(Priority.LOW);
+        assertNull(test1.getCachedStorageLine(), "The cached line should be dropped after the task changes");
+    }
 }